@@ -0,0 +1,15 @@
+package com.example.apigateway.aggregation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * Données d'une page produit : le produit, ses médias et son vendeur, tels que renvoyés par chaque service.
+ * Une partie indisponible vaut {@code null} et sa cause figure dans {@code errors}
+ * (ex. {@code "media": "timeout"}) ; le frontend affiche la page sans elle.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ProductPage(JsonNode product, JsonNode media, JsonNode seller, Map<String, String> errors) {
+}
@@ -0,0 +1,139 @@
+package com.example.apigateway.aggregation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Compose une {@link ProductPage} en un seul aller-retour navigateur.
+ * Produit et médias sont demandés en parallèle ; le vendeur dépend du {@code userId} du produit
+ * et part dès que celui-ci est reçu, pendant que les médias sont encore en cours.
+ * <p>
+ * Chaque appel est borné par {@code timeout} et chronométré dans {@code gateway.aggregation.leg}
+ * (tags {@code leg}, {@code outcome}).
+ */
+@Slf4j
+@Component
+public class ProductPageAggregator {
+
+    static final String LEG_TIMER = "gateway.aggregation.leg";
+    public static final String PRODUCT_LEG = "product";
+    static final String MEDIA_LEG = "media";
+    static final String SELLER_LEG = "seller";
+    public static final String NOT_FOUND = "not_found";
+    static final String TIMEOUT = "timeout";
+    static final String UNAVAILABLE = "unavailable";
+
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ProductPageAggregator(WebClient.Builder webClientBuilder,
+                                 LoadBalancedExchangeFilterFunction loadBalancer,
+                                 @Value("${application.gateway.aggregation.timeout:2s}") Duration timeout,
+                                 MeterRegistry meterRegistry) {
+        this(webClientBuilder.filter(loadBalancer).build(), timeout, meterRegistry);
+    }
+
+    ProductPageAggregator(WebClient webClient, Duration timeout, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param headers en-têtes transmis aux services (token, identité posée par la gateway)
+     * @return la page ; {@code product} est {@code null} si le produit n'a pas pu être lu,
+     * et {@code errors.product} en donne la raison
+     */
+    public Mono<ProductPage> aggregate(String productId, HttpHeaders headers) {
+        Mono<Leg> product = fetch(PRODUCT_LEG, "http://product-service/api/v1/products/{id}", productId, headers)
+                .cache();
+        Mono<Leg> media = fetch(MEDIA_LEG, "http://media-service/api/v1/media/product/{id}", productId, headers);
+        Mono<Leg> seller = product.flatMap(leg -> {
+            String sellerId = leg.body() != null ? leg.body().path("userId").asText(null) : null;
+            return sellerId != null
+                    ? fetch(SELLER_LEG, "http://user-service/api/v1/users/{id}", sellerId, headers)
+                    : Mono.just(Leg.SKIPPED);
+        });
+
+        return Mono.zip(product, media, seller).map(legs -> {
+            Map<String, String> errors = new LinkedHashMap<>();
+            legs.getT1().addErrorTo(PRODUCT_LEG, errors);
+            legs.getT2().addErrorTo(MEDIA_LEG, errors);
+            legs.getT3().addErrorTo(SELLER_LEG, errors);
+            return new ProductPage(
+                    legs.getT1().body(),
+                    unwrap(legs.getT2().body(), "media"),
+                    unwrap(legs.getT3().body(), "user"),
+                    errors);
+        });
+    }
+
+    /**
+     * media-service et user-service enveloppent leur résultat ({@code {"message": ..., "media": [...]}}).
+     */
+    private static JsonNode unwrap(JsonNode body, String field) {
+        return body != null && body.has(field) ? body.get(field) : body;
+    }
+
+    private Mono<Leg> fetch(String leg, String uri, String id, HttpHeaders headers) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return webClient.get()
+                    .uri(uri, id)
+                    .headers(requestHeaders -> requestHeaders.addAll(headers))
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchangeToMono(response -> {
+                        if (response.statusCode().is2xxSuccessful()) {
+                            return response.bodyToMono(JsonNode.class).map(Leg::ok);
+                        }
+                        String error = response.statusCode() == HttpStatus.NOT_FOUND
+                                ? NOT_FOUND : "status_" + response.statusCode().value();
+                        return response.releaseBody().thenReturn(Leg.failed(error));
+                    })
+                    .timeout(timeout)
+                    .onErrorResume(TimeoutException.class, e -> Mono.just(Leg.failed(TIMEOUT)))
+                    .onErrorResume(e -> {
+                        log.warn("Aggregation leg {} failed for {}: {}", leg, id, e.toString());
+                        return Mono.just(Leg.failed(UNAVAILABLE));
+                    })
+                    .doOnNext(result -> sample.stop(meterRegistry.timer(LEG_TIMER,
+                            "leg", leg, "outcome", result.error() == null ? "success" : result.error())));
+        });
+    }
+
+    private record Leg(JsonNode body, String error) {
+        static final Leg SKIPPED = new Leg(null, null);
+
+        static Leg ok(JsonNode body) {
+            return new Leg(body, null);
+        }
+
+        static Leg failed(String error) {
+            return new Leg(null, error);
+        }
+
+        void addErrorTo(String leg, Map<String, String> errors) {
+            if (error != null) {
+                errors.put(leg, error);
+            }
+        }
+    }
+}
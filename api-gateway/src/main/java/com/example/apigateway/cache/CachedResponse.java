@@ -0,0 +1,16 @@
+package com.example.apigateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.time.Instant;
+
+/**
+ * Réponse amont mise en cache : en-têtes sans ceux propres à la requête d'origine (CORS, cookies...).
+ */
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, Instant expiresAt) {
+
+    public String etag() {
+        return headers.getETag();
+    }
+}
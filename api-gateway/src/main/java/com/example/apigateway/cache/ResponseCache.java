@@ -0,0 +1,114 @@
+package com.example.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache des réponses GET de la gateway, borné en octets, et registre des appels amont en cours :
+ * les requêtes identiques arrivées pendant un appel attendent son résultat au lieu d'en lancer un autre.
+ * <p>
+ * Le cache est propre à chaque instance de gateway ; la fraîcheur est bornée par le TTL de la route.
+ */
+@Component
+public class ResponseCache {
+
+    static final String RESULT_COUNTER = "gateway.response.cache";
+
+    private final Cache<String, CachedResponse> entries;
+    private final ConcurrentMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final long maximumEntrySize;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCache(@Value("${application.gateway.response-cache.maximum-size:64MB}") DataSize maximumSize,
+                         @Value("${application.gateway.response-cache.maximum-entry-size:512KB}") DataSize maximumEntrySize,
+                         MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .<String, CachedResponse>weigher((key, response) -> key.length() + response.body().length)
+                .expireAfter(new ExpireAtResponseExpiration())
+                .build();
+        this.maximumEntrySize = maximumEntrySize.toBytes();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Taille au-delà de laquelle une réponse n'est pas mise en cache, ni donc en mémoire.
+     */
+    public long maximumEntrySize() {
+        return maximumEntrySize;
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    /**
+     * Enregistre la réponse si elle n'est pas trop grosse et la transmet aux requêtes en attente.
+     */
+    public void put(String key, CachedResponse response) {
+        if (response.body().length <= maximumEntrySize) {
+            entries.put(key, response);
+        }
+        Sinks.One<CachedResponse> waiting = inFlight.get(key);
+        if (waiting != null) {
+            waiting.tryEmitValue(response);
+        }
+    }
+
+    /**
+     * @return {@code null} si l'appelant doit faire l'appel amont (il devra appeler {@link #complete}),
+     * sinon l'appel déjà en cours pour cette clé
+     */
+    public Sinks.One<CachedResponse> joinInFlight(String key, Sinks.One<CachedResponse> leader) {
+        return inFlight.putIfAbsent(key, leader);
+    }
+
+    /**
+     * Fin de l'appel amont : les requêtes en attente sans résultat (réponse non cachable, erreur,
+     * annulation) refont leur propre appel.
+     */
+    public void complete(String key, Sinks.One<CachedResponse> leader) {
+        inFlight.remove(key, leader);
+        leader.tryEmitEmpty();
+    }
+
+    /**
+     * Après une écriture sur une route, ses réponses en cache ne sont plus fiables.
+     */
+    public void invalidateRoute(String routeId) {
+        String prefix = routeId + ' ';
+        entries.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public void record(String result) {
+        meterRegistry.counter(RESULT_COUNTER, "result", result).increment();
+    }
+
+    private static final class ExpireAtResponseExpiration implements Expiry<String, CachedResponse> {
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), response.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, response, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
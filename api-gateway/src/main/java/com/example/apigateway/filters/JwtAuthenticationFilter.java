@@ -0,0 +1,78 @@
+package com.example.apigateway.filters;
+
+import com.example.apigateway.security.JwtValidator;
+import com.example.apigateway.security.TokenClaims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Valide le JWT une seule fois en bordure : un token valide est propagé sous forme
+ * d'en-têtes {@code X-User-Id} / {@code X-User-Role}.
+ * Un token invalide ou expiré (ex. {@code Bearer null} envoyé par un visiteur déconnecté) est retiré
+ * de la requête, qui continue comme une requête anonyme : chaque service décide de ses endpoints
+ * publics et rejette lui-même les appels anonymes sur ses endpoints protégés.
+ * <p>
+ * La gateway ne vérifie que la signature et l'expiration : un token révoqué par user-service
+ * ({@code token_revocations}) reste accepté ici jusqu'à son expiration. {@code X-User-Id} et
+ * {@code X-User-Role} ne sont donc qu'une indication ; un service ne doit pas s'en servir seul pour
+ * autoriser un appel, mais authentifier le token transmis dans {@code Authorization} en tenant compte
+ * des révocations, comme le fait user-service.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+    static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtValidator jwtValidator;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        // Les en-têtes d'identité ne peuvent venir que de la gateway
+        ServerHttpRequest.Builder request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(USER_ID_HEADER);
+                    headers.remove(USER_ROLE_HEADER);
+                });
+
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            TokenClaims claims;
+            try {
+                claims = jwtValidator.validate(header.substring(BEARER_PREFIX.length()));
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Dropped invalid token on {}: {}", exchange.getRequest().getPath(), e.getMessage());
+                request.headers(headers -> headers.remove(HttpHeaders.AUTHORIZATION));
+                return chain.filter(exchange.mutate().request(request.build()).build());
+            }
+            request.headers(headers -> {
+                if (claims.userId() != null) {
+                    headers.set(USER_ID_HEADER, claims.userId());
+                }
+                if (claims.role() != null) {
+                    headers.set(USER_ROLE_HEADER, claims.role());
+                }
+            });
+        }
+
+        return chain.filter(exchange.mutate().request(request.build()).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.apigateway.filters;
+
+import com.example.apigateway.aggregation.ProductPage;
+import com.example.apigateway.aggregation.ProductPageAggregator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * {@code ProductPage} : répond à la place d'un service avec la {@link ProductPage} du produit {@code {id}}
+ * de la route. Les filtres globaux (JWT, CORS) et ceux de la route s'appliquent comme pour un routage classique.
+ * <p>
+ * 404 si le produit n'existe pas, 502 si product-service n'a pas répondu ; médias et vendeur sont facultatifs.
+ */
+@Component
+public class ProductPageGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    static final String PRODUCT_ID_VARIABLE = "id";
+
+    /**
+     * En-têtes de la requête d'origine transmis aux services.
+     */
+    private static final List<String> FORWARDED_HEADERS = List.of(
+            HttpHeaders.AUTHORIZATION,
+            JwtAuthenticationFilter.USER_ID_HEADER,
+            JwtAuthenticationFilter.USER_ROLE_HEADER);
+
+    private final ProductPageAggregator aggregator;
+    private final ObjectMapper objectMapper;
+
+    public ProductPageGatewayFilterFactory(ProductPageAggregator aggregator, ObjectMapper objectMapper) {
+        super(Object.class);
+        this.aggregator = aggregator;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return (exchange, chain) -> {
+            String productId = ServerWebExchangeUtils.getUriTemplateVariables(exchange).get(PRODUCT_ID_VARIABLE);
+            if (productId == null) {
+                exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+                return exchange.getResponse().setComplete();
+            }
+            return aggregator.aggregate(productId, forwardedHeaders(exchange))
+                    .flatMap(page -> write(exchange.getResponse(), page));
+        };
+    }
+
+    private static HttpHeaders forwardedHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = new HttpHeaders();
+        FORWARDED_HEADERS.forEach(name -> {
+            List<String> values = exchange.getRequest().getHeaders().get(name);
+            if (values != null) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, ProductPage page) {
+        String productError = page.errors().get(ProductPageAggregator.PRODUCT_LEG);
+        if (page.product() == null) {
+            response.setStatusCode(ProductPageAggregator.NOT_FOUND.equals(productError) ? HttpStatus.NOT_FOUND : HttpStatus.BAD_GATEWAY);
+        } else {
+            response.setStatusCode(HttpStatus.OK);
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
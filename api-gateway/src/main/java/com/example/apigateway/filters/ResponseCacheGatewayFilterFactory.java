@@ -0,0 +1,296 @@
+package com.example.apigateway.filters;
+
+import com.example.apigateway.cache.CachedResponse;
+import com.example.apigateway.cache.ResponseCache;
+import lombok.Getter;
+import lombok.Setter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code ResponseCache=30s} : met en cache les réponses JSON 200 des GET de la route, avec un ETag
+ * (celui du service, sinon un hash du corps) et la gestion de {@code If-None-Match}.
+ * Les GET identiques reçus pendant un appel amont partagent son résultat ; une écriture réussie
+ * (POST, PUT, DELETE) sur la route vide son cache.
+ * <p>
+ * Le {@code Cache-Control} du service est respecté : {@code no-store}, {@code private} et {@code no-cache}
+ * excluent la réponse du cache, {@code s-maxage} (sinon {@code max-age}) raccourcit le TTL de la route.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    /**
+     * En-têtes propres à la requête d'origine, jamais rejoués depuis le cache.
+     */
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            HttpHeaders.VARY.toLowerCase(),
+            HttpHeaders.SET_COOKIE.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.DATE.toLowerCase(),
+            CACHE_HEADER.toLowerCase());
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache responseCache) {
+        super(Config.class);
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    /**
+     * Placé avant {@link NettyWriteResponseFilter} pour que la réponse décorée soit celle où le corps est écrit.
+     */
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter(
+                (exchange, chain) -> Mono.defer(() -> filter(exchange, chain, config.getTtl())),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Duration ttl) {
+        ServerHttpRequest request = exchange.getRequest();
+        String routeId = routeId(exchange);
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+                if (request.getMethod() != HttpMethod.HEAD && request.getMethod() != HttpMethod.OPTIONS
+                        && isSuccessful(exchange.getResponse())) {
+                    responseCache.invalidateRoute(routeId);
+                }
+            }));
+        }
+
+        String key = routeId + ' ' + request.getURI().getRawPath()
+                + (request.getURI().getRawQuery() != null ? '?' + request.getURI().getRawQuery() : "");
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            responseCache.record("hit");
+            return write(exchange, cached, "HIT");
+        }
+
+        Sinks.One<CachedResponse> leader = Sinks.one();
+        Sinks.One<CachedResponse> inFlight = responseCache.joinInFlight(key, leader);
+        if (inFlight != null) {
+            // Sans résultat partageable, la requête fait son propre appel
+            return inFlight.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> {
+                        if (shared.isPresent()) {
+                            responseCache.record("coalesced");
+                            return write(exchange, shared.get(), "HIT");
+                        }
+                        return chain.filter(exchange);
+                    });
+        }
+
+        responseCache.record("miss");
+        exchange.getResponse().getHeaders().set(CACHE_HEADER, "MISS");
+        CachingResponse response = new CachingResponse(exchange, key, ttl);
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> responseCache.complete(key, leader));
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "";
+    }
+
+    private static boolean isSuccessful(ServerHttpResponse response) {
+        return response.getStatusCode() == null || response.getStatusCode().is2xxSuccessful();
+    }
+
+    private static Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String cacheResult) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().addAll(cached.headers());
+        response.getHeaders().set(CACHE_HEADER, cacheResult);
+        if (matchesIfNoneMatch(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        response.getHeaders().setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    static boolean matchesIfNoneMatch(ServerHttpRequest request, String etag) {
+        if (etag == null) {
+            return false;
+        }
+        String strong = stripWeak(etag);
+        return request.getHeaders().getIfNoneMatch().stream()
+                .anyMatch(candidate -> "*".equals(candidate) || stripWeak(candidate).equals(strong));
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Durée de conservation autorisée par le {@code Cache-Control} du service, au plus {@code ttl} ;
+     * {@link Duration#ZERO} si la réponse ne doit pas être partagée.
+     */
+    static Duration cacheableFor(HttpHeaders headers, Duration ttl) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return ttl;
+        }
+        Long maxAge = null;
+        Long sharedMaxAge = null;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String name = directive.trim();
+            String value = null;
+            int equals = name.indexOf('=');
+            if (equals >= 0) {
+                value = name.substring(equals + 1).trim().replace("\"", "");
+                name = name.substring(0, equals).trim();
+            }
+            switch (name) {
+                case "no-store", "private", "no-cache" -> {
+                    return Duration.ZERO;
+                }
+                case "max-age" -> maxAge = parseSeconds(value);
+                case "s-maxage" -> sharedMaxAge = parseSeconds(value);
+                default -> {
+                }
+            }
+        }
+        Long seconds = sharedMaxAge != null ? sharedMaxAge : maxAge;
+        if (seconds == null) {
+            return ttl;
+        }
+        Duration allowed = Duration.ofSeconds(Math.max(0, seconds));
+        return allowed.compareTo(ttl) < 0 ? allowed : ttl;
+    }
+
+    private static Long parseSeconds(String value) {
+        try {
+            return value != null ? Long.parseLong(value) : null;
+        } catch (NumberFormatException e) {
+            // Directive mal formée : traitée comme une réponse déjà périmée
+            return 0L;
+        }
+    }
+
+    private static HttpHeaders cacheableHeaders(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lower = name.toLowerCase();
+            if (!EXCLUDED_HEADERS.contains(lower) && !lower.startsWith("access-control-")) {
+                copy.addAll(name, values);
+            }
+        });
+        return HttpHeaders.readOnlyHttpHeaders(copy);
+    }
+
+    /**
+     * Capture le corps d'une réponse JSON 200 pour le mettre en cache, puis l'écrit (ou répond 304).
+     * Les autres réponses, dont les flux NDJSON, passent sans être mises en mémoire, de même que celles
+     * que le {@code Cache-Control} du service exclut ; dès que le corps dépasse la taille maximale d'une
+     * entrée, ce qui a été lu est écrit et la suite est transmise en flux.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final Duration ttl;
+
+        CachingResponse(ServerWebExchange exchange, String key, Duration ttl) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.ttl = ttl;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            MediaType contentType = getHeaders().getContentType();
+            if (getStatusCode() != HttpStatus.OK || contentType == null
+                    || !MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+                return super.writeWith(body);
+            }
+            Duration allowed = cacheableFor(getHeaders(), ttl);
+            long maximumEntrySize = responseCache.maximumEntrySize();
+            if (allowed.isZero() || getHeaders().getContentLength() > maximumEntrySize) {
+                return super.writeWith(body);
+            }
+
+            // Les morceaux sont regroupés tant que le total tient dans une entrée ; ensuite un par un
+            AtomicLong size = new AtomicLong();
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maximumEntrySize)
+                    .switchOnFirst((first, chunks) -> {
+                        Flux<DataBuffer> buffers = chunks.concatMapIterable(chunk -> chunk);
+                        boolean tooLarge = first.hasValue() && first.get().stream()
+                                .mapToLong(DataBuffer::readableByteCount).sum() > maximumEntrySize;
+                        return tooLarge ? getDelegate().writeWith(buffers) : cacheAndWrite(buffers, allowed);
+                    })
+                    .then();
+        }
+
+        private Mono<Void> cacheAndWrite(Flux<DataBuffer> body, Duration allowed) {
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                if (getHeaders().getETag() == null) {
+                    getHeaders().setETag('"' + DigestUtils.md5DigestAsHex(bytes) + '"');
+                }
+                responseCache.put(key, new CachedResponse(HttpStatus.OK, cacheableHeaders(getHeaders()), bytes,
+                        Instant.now().plus(allowed)));
+
+                if (matchesIfNoneMatch(exchange.getRequest(), getHeaders().getETag())) {
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                    return getDelegate().setComplete();
+                }
+                getHeaders().setContentLength(bytes.length);
+                return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+}
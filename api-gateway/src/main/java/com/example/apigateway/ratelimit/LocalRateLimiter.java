@@ -0,0 +1,139 @@
+package com.example.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket en mémoire pour le filtre {@code RequestRateLimiter}, sans Redis : chaque clé
+ * (route + utilisateur ou IP) a un seau mis à jour par compare-and-set, sans verrou.
+ * <p>
+ * Les limites sont propres à chaque instance de gateway : avec N instances derrière un load balancer,
+ * un client peut obtenir jusqu'à N fois la limite de la route.
+ * Un seau inutilisé pendant {@code idle-timeout} est oublié ; il serait de toute façon plein.
+ */
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+    static final String RESULT_COUNTER = "gateway.rate.limit";
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Config defaultConfig;
+    private final Cache<String, AtomicReference<Bucket>> buckets;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LocalRateLimiter(@Value("${application.gateway.rate-limit.replenish-rate:20}") int replenishRate,
+                            @Value("${application.gateway.rate-limit.burst-capacity:40}") int burstCapacity,
+                            @Value("${application.gateway.rate-limit.maximum-keys:100000}") long maximumKeys,
+                            @Value("${application.gateway.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                            ConfigurationService configurationService,
+                            MeterRegistry meterRegistry) {
+        this(Config.of(replenishRate, burstCapacity), maximumKeys, idleTimeout,
+                configurationService, meterRegistry, System::nanoTime);
+    }
+
+    LocalRateLimiter(Config defaultConfig, long maximumKeys, Duration idleTimeout,
+                     ConfigurationService configurationService, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = defaultConfig;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        return Mono.fromSupplier(() -> consume(routeId, id, config));
+    }
+
+    private Response consume(String routeId, String id, Config config) {
+        int requested = config.getRequestedTokens();
+        long now = nanoClock.getAsLong();
+        AtomicReference<Bucket> bucket = buckets.get(routeId + ' ' + id,
+                key -> new AtomicReference<>(new Bucket(config.getBurstCapacity(), now)));
+
+        while (true) {
+            Bucket current = bucket.get();
+            double elapsedSeconds = Math.max(0, now - current.refilledAt()) / NANOS_PER_SECOND;
+            double available = Math.min(config.getBurstCapacity(),
+                    current.tokens() + elapsedSeconds * config.getReplenishRate());
+            boolean allowed = available >= requested;
+            Bucket next = new Bucket(allowed ? available - requested : available, Math.max(now, current.refilledAt()));
+            if (bucket.compareAndSet(current, next)) {
+                meterRegistry.counter(RESULT_COUNTER, "route", routeId, "result", allowed ? "allowed" : "rejected")
+                        .increment();
+                return new Response(allowed, headers(config, next.tokens(), allowed ? 0 : requested - available));
+            }
+        }
+    }
+
+    private static Map<String, String> headers(Config config, double remaining, double missingTokens) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(REMAINING_HEADER, String.valueOf((long) Math.floor(remaining)));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        headers.put(REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+        if (missingTokens > 0) {
+            long retryAfterSeconds = (long) Math.ceil(missingTokens / config.getReplenishRate());
+            headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+        }
+        return headers;
+    }
+
+    /**
+     * État immuable d'un seau : jetons disponibles au moment {@code refilledAt} (nanoTime).
+     */
+    private record Bucket(double tokens, long refilledAt) {
+    }
+
+    /**
+     * Limites d'une route, renseignées dans ses arguments {@code local-rate-limiter.*}.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class Config {
+        /** Jetons ajoutés par seconde, soit le débit soutenu autorisé. */
+        private int replenishRate;
+        /** Taille du seau, soit la rafale maximale. */
+        private int burstCapacity;
+        /** Jetons consommés par requête. */
+        private int requestedTokens = 1;
+
+        public static Config of(int replenishRate, int burstCapacity) {
+            Config config = new Config();
+            config.setReplenishRate(replenishRate);
+            config.setBurstCapacity(burstCapacity);
+            return config;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.apigateway.ratelimit;
+
+import com.example.apigateway.filters.JwtAuthenticationFilter;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Clé de limitation : l'utilisateur du JWT (en-tête posé par {@link JwtAuthenticationFilter},
+ * qui retire celui envoyé par le client), sinon l'adresse IP de la connexion.
+ */
+@Component
+public class UserOrIpKeyResolver implements KeyResolver {
+
+    static final String UNKNOWN_CLIENT = "ip:unknown";
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        String userId = exchange.getRequest().getHeaders().getFirst(JwtAuthenticationFilter.USER_ID_HEADER);
+        if (userId != null && !userId.isBlank()) {
+            return Mono.just("user:" + userId);
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return Mono.just(UNKNOWN_CLIENT);
+        }
+        return Mono.just("ip:" + remoteAddress.getAddress().getHostAddress());
+    }
+}
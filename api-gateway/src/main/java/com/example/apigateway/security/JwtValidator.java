@@ -0,0 +1,92 @@
+package com.example.apigateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Vérifie les JWT émis par user-service. Les claims d'un token valide sont gardés en cache,
+ * indexés par le SHA-256 du token, jusqu'à l'expiration du token.
+ * Les révocations de user-service ne sont pas consultées (voir {@code JwtAuthenticationFilter}).
+ */
+@Component
+public class JwtValidator {
+
+    private final SecretKey signingKey;
+    private final Cache<String, TokenClaims> claimsCache;
+
+    public JwtValidator(@Value("${application.security.jwt.secret}") String secret,
+                        @Value("${application.security.jwt.claims-cache.maximum-size:10000}") long maximumSize) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .build();
+    }
+
+    /**
+     * @throws io.jsonwebtoken.JwtException si le token est invalide, expiré ou mal signé
+     * @throws IllegalArgumentException si le token est vide
+     */
+    public TokenClaims validate(String token) {
+        String key = hash(token);
+        TokenClaims cached = claimsCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = Jwts.parser()
+                .verifyWith(signingKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        TokenClaims tokenClaims = new TokenClaims(
+                claims.get("userId", String.class),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+        if (tokenClaims.expiresAt() != null) {
+            claimsCache.put(key, tokenClaims);
+        }
+        return tokenClaims;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 non disponible", e);
+        }
+    }
+
+    private static final class ExpireAtTokenExpiration implements Expiry<String, TokenClaims> {
+        @Override
+        public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.apigateway.security;
+
+import java.time.Instant;
+
+/**
+ * Claims d'un JWT dont la signature a déjà été vérifiée par la gateway.
+ */
+public record TokenClaims(String userId, String email, String role, Instant expiresAt) {
+}
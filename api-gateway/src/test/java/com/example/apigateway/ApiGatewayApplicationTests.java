@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import com.example.apigateway.ratelimit.LocalRateLimiter;
+import org.springframework.cloud.gateway.route.Route;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.context.ApplicationContext;
 
@@ -31,6 +33,16 @@ ApiGatewayApplicationTests {
         assertThat(routeLocator).isNotNull();
     }
 
+    @Test
+    void testRoutesLoad_RateLimitsBoundPerRoute() {
+        // Les arguments des filtres sont liés au chargement des routes
+        assertThat(routeLocator.getRoutes().map(Route::getId).collectList().block())
+                .contains("user-service", "user-service-auth", "product-service", "media-service", "product-page");
+        LocalRateLimiter rateLimiter = applicationContext.getBean(LocalRateLimiter.class);
+        assertThat(rateLimiter.getConfig().get("user-service-auth").getReplenishRate()).isEqualTo(1);
+        assertThat(rateLimiter.getConfig().get("product-service").getBurstCapacity()).isEqualTo(100);
+    }
+
     @Test
     void testApplicationContextContainsRequiredBeans() {
         // Verify essential beans are loaded
@@ -0,0 +1,173 @@
+package com.example.apigateway.aggregation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductPageAggregatorTest {
+
+    private static final String PRODUCT = "{\"id\":\"p1\",\"name\":\"Lamp\",\"userId\":\"u1\"}";
+    private static final String MEDIA = "{\"message\":\"Media found\",\"media\":[{\"id\":\"m1\"}]}";
+    private static final String SELLER = "{\"message\":\"User found\",\"user\":{\"id\":\"u1\",\"name\":\"Ada\"}}";
+
+    private final Map<String, Function<ClientRequest, Mono<ClientResponse>>> responses = new ConcurrentHashMap<>();
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private ProductPageAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return responses.getOrDefault(request.url().getPath(),
+                            r -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build())).apply(request);
+                })
+                .build();
+        aggregator = new ProductPageAggregator(webClient, Duration.ofMillis(200), meterRegistry);
+    }
+
+    private static Mono<ClientResponse> json(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    private void respond(String path, String body) {
+        responses.put(path, request -> json(body));
+    }
+
+    private List<String> requestedPaths() {
+        return requests.stream().map(request -> request.url().getPath()).toList();
+    }
+
+    @Test
+    void testAggregate_AllLegsSucceed_ComposesPage() {
+        // Given
+        respond("/api/v1/products/p1", PRODUCT);
+        respond("/api/v1/media/product/p1", MEDIA);
+        respond("/api/v1/users/u1", SELLER);
+
+        // When & Then
+        StepVerifier.create(aggregator.aggregate("p1", new HttpHeaders()))
+                .assertNext(page -> {
+                    assertThat(page.product().get("name").asText()).isEqualTo("Lamp");
+                    assertThat(page.media().get(0).get("id").asText()).isEqualTo("m1");
+                    assertThat(page.seller().get("name").asText()).isEqualTo("Ada");
+                    assertThat(page.errors()).isEmpty();
+                })
+                .verifyComplete();
+        assertThat(requests.stream().filter(r -> r.url().getPath().startsWith("/api/v1/products"))).hasSize(1);
+        assertThat(meterRegistry.timer("gateway.aggregation.leg", "leg", "seller", "outcome", "success").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testAggregate_MediaRequestedWithoutWaitingForProduct() {
+        // Given
+        Sinks.One<ClientResponse> product = Sinks.one();
+        responses.put("/api/v1/products/p1", request -> product.asMono());
+        respond("/api/v1/media/product/p1", MEDIA);
+        respond("/api/v1/users/u1", SELLER);
+
+        // When & Then
+        StepVerifier.create(aggregator.aggregate("p1", new HttpHeaders()))
+                .then(() -> {
+                    assertThat(requestedPaths()).containsExactlyInAnyOrder(
+                            "/api/v1/products/p1", "/api/v1/media/product/p1");
+                    product.tryEmitValue(json(PRODUCT).block());
+                })
+                .assertNext(page -> assertThat(page.seller()).isNotNull())
+                .verifyComplete();
+        assertThat(requestedPaths()).contains("/api/v1/users/u1");
+    }
+
+    @Test
+    void testAggregate_SlowMedia_ReturnsPageWithoutMedia() {
+        // Given
+        respond("/api/v1/products/p1", PRODUCT);
+        responses.put("/api/v1/media/product/p1", request -> Mono.never());
+        respond("/api/v1/users/u1", SELLER);
+
+        // When & Then
+        StepVerifier.create(aggregator.aggregate("p1", new HttpHeaders()))
+                .assertNext(page -> {
+                    assertThat(page.product()).isNotNull();
+                    assertThat(page.seller()).isNotNull();
+                    assertThat(page.media()).isNull();
+                    assertThat(page.errors()).containsExactly(Map.entry("media", "timeout"));
+                })
+                .verifyComplete();
+        assertThat(meterRegistry.timer("gateway.aggregation.leg", "leg", "media", "outcome", "timeout").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testAggregate_SellerError_ReturnsPageWithoutSeller() {
+        // Given
+        respond("/api/v1/products/p1", PRODUCT);
+        respond("/api/v1/media/product/p1", MEDIA);
+        responses.put("/api/v1/users/u1",
+                request -> Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+
+        // When & Then
+        StepVerifier.create(aggregator.aggregate("p1", new HttpHeaders()))
+                .assertNext(page -> {
+                    assertThat(page.seller()).isNull();
+                    assertThat(page.errors()).containsExactly(Map.entry("seller", "status_500"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testAggregate_ProductNotFound_SkipsSeller() {
+        // Given
+        respond("/api/v1/media/product/p1", MEDIA);
+
+        // When & Then
+        StepVerifier.create(aggregator.aggregate("p1", new HttpHeaders()))
+                .assertNext(page -> {
+                    assertThat(page.product()).isNull();
+                    assertThat(page.errors()).containsEntry("product", "not_found");
+                })
+                .verifyComplete();
+        assertThat(requestedPaths()).noneMatch(path -> path.startsWith("/api/v1/users"));
+    }
+
+    @Test
+    void testAggregate_ForwardsHeadersToEveryLeg() {
+        // Given
+        respond("/api/v1/products/p1", PRODUCT);
+        respond("/api/v1/media/product/p1", MEDIA);
+        respond("/api/v1/users/u1", SELLER);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+
+        // When
+        aggregator.aggregate("p1", headers).block();
+
+        // Then
+        assertThat(requests).hasSize(3)
+                .allMatch(request -> "Bearer token".equals(request.headers().getFirst(HttpHeaders.AUTHORIZATION)));
+    }
+}
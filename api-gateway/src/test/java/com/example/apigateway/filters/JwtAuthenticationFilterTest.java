@@ -0,0 +1,174 @@
+package com.example.apigateway.filters;
+
+import com.example.apigateway.security.JwtValidator;
+import com.example.apigateway.security.TokenClaims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtValidator jwtValidator;
+
+    @Mock
+    private GatewayFilterChain chain;
+
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(jwtValidator);
+    }
+
+    private ServerHttpRequest forwardedRequest() {
+        ArgumentCaptor<ServerWebExchange> captor = ArgumentCaptor.forClass(ServerWebExchange.class);
+        verify(chain).filter(captor.capture());
+        return captor.getValue().getRequest();
+    }
+
+    @Test
+    void testFilter_ValidToken_ForwardsIdentityHeaders() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer good.token"));
+        when(jwtValidator.validate("good.token"))
+                .thenReturn(new TokenClaims("user-123", "test@example.com", "SELLER", Instant.now().plusSeconds(60)));
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        HttpHeaders headers = forwardedRequest().getHeaders();
+        assertThat(headers.getFirst(JwtAuthenticationFilter.USER_ID_HEADER)).isEqualTo("user-123");
+        assertThat(headers.getFirst(JwtAuthenticationFilter.USER_ROLE_HEADER)).isEqualTo("SELLER");
+        assertThat(headers.getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer good.token");
+    }
+
+    @Test
+    void testFilter_InvalidToken_ForwardedAsAnonymous() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer bad.token")
+                .header(JwtAuthenticationFilter.USER_ID_HEADER, "someone-else"));
+        when(jwtValidator.validate("bad.token")).thenThrow(new MalformedJwtException("bad"));
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then - Le service décide : endpoint public servi, endpoint protégé rejeté comme pour un anonyme
+        HttpHeaders headers = forwardedRequest().getHeaders();
+        assertThat(headers.containsKey(HttpHeaders.AUTHORIZATION)).isFalse();
+        assertThat(headers.containsKey(JwtAuthenticationFilter.USER_ID_HEADER)).isFalse();
+        assertThat(headers.containsKey(JwtAuthenticationFilter.USER_ROLE_HEADER)).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void testFilter_ExpiredTokenOnLogin_ReachesUserService() {
+        // Given - Un utilisateur dont le token a expiré doit pouvoir se reconnecter
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/auth/login")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer expired.token"));
+        when(jwtValidator.validate("expired.token")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        ServerHttpRequest forwarded = forwardedRequest();
+        assertThat(forwarded.getPath().value()).isEqualTo("/api/v1/auth/login");
+        assertThat(forwarded.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void testFilter_BearerNullOnPublicGet_ReachesMediaService() {
+        // Given - Visiteur déconnecté : le frontend envoie le token absent du localStorage
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/media/product/p1")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer null"));
+        when(jwtValidator.validate("null")).thenThrow(new MalformedJwtException("not a JWT"));
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(forwardedRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION)).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void testFilter_EmptyBearerToken_ForwardedAsAnonymous() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer "));
+        when(jwtValidator.validate("")).thenThrow(new IllegalArgumentException("empty"));
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(forwardedRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION)).isFalse();
+    }
+
+    @Test
+    void testFilter_NoToken_PassesThroughWithoutIdentity() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products"));
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(forwardedRequest().getHeaders().containsKey(JwtAuthenticationFilter.USER_ID_HEADER)).isFalse();
+        verifyNoInteractions(jwtValidator);
+    }
+
+    @Test
+    void testFilter_SpoofedIdentityHeaders_AreStripped() {
+        // Given - A client cannot impersonate another user by sending the headers itself
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.delete("/api/v1/products/1")
+                .header(JwtAuthenticationFilter.USER_ID_HEADER, "someone-else")
+                .header(JwtAuthenticationFilter.USER_ROLE_HEADER, "SELLER"));
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        HttpHeaders headers = forwardedRequest().getHeaders();
+        assertThat(headers.containsKey(JwtAuthenticationFilter.USER_ID_HEADER)).isFalse();
+        assertThat(headers.containsKey(JwtAuthenticationFilter.USER_ROLE_HEADER)).isFalse();
+    }
+
+    @Test
+    void testGetOrder_RunsFirst() {
+        assertThat(filter.getOrder()).isEqualTo(org.springframework.core.Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.apigateway.filters;
+
+import com.example.apigateway.aggregation.ProductPage;
+import com.example.apigateway.aggregation.ProductPageAggregator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPageGatewayFilterFactoryTest {
+
+    @Mock
+    private ProductPageAggregator aggregator;
+
+    @Mock
+    private GatewayFilterChain chain;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ProductPageGatewayFilterFactory(aggregator, objectMapper).apply(new Object());
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        ServerWebExchangeUtils.putUriTemplateVariables(exchange, Map.of("id", "p1"));
+        return exchange;
+    }
+
+    @Test
+    void testFilter_ProductFound_WritesPageWithoutCallingService() throws Exception {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/pages/products/p1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .header(HttpHeaders.COOKIE, "session=1"));
+        ProductPage page = new ProductPage(objectMapper.readTree("{\"id\":\"p1\"}"), null, null,
+                Map.of("media", "timeout"));
+        when(aggregator.aggregate(eq("p1"), any())).thenReturn(Mono.just(page));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(exchange.getResponse().getBodyAsString().block())
+                .isEqualTo("{\"product\":{\"id\":\"p1\"},\"errors\":{\"media\":\"timeout\"}}");
+        ArgumentCaptor<HttpHeaders> headers = ArgumentCaptor.forClass(HttpHeaders.class);
+        verify(aggregator).aggregate(eq("p1"), headers.capture());
+        assertThat(headers.getValue().getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer token");
+        assertThat(headers.getValue().containsKey(HttpHeaders.COOKIE)).isFalse();
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void testFilter_ProductNotFound_Returns404() {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/pages/products/p1"));
+        when(aggregator.aggregate(eq("p1"), any()))
+                .thenReturn(Mono.just(new ProductPage(null, null, null, Map.of("product", "not_found"))));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void testFilter_ProductServiceDown_Returns502() {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/pages/products/p1"));
+        when(aggregator.aggregate(eq("p1"), any()))
+                .thenReturn(Mono.just(new ProductPage(null, null, null, Map.of("product", "timeout"))));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.apigateway.filters;
+
+import com.example.apigateway.cache.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String BODY = "{\"id\":\"1\"}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCache responseCache;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new ResponseCache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), meterRegistry);
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setTtl(Duration.ofMinutes(1));
+        filter = new ResponseCacheGatewayFilterFactory(responseCache).apply(config);
+        upstreamCalls = new AtomicInteger();
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async().id("product-service").uri("lb://product-service").predicate(e -> true).build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private GatewayFilterChain upstream(HttpStatus status, MediaType contentType, Duration delay) {
+        return exchange -> Mono.delay(delay).then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(status);
+            response.getHeaders().setContentType(contentType);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+
+    private GatewayFilterChain upstream(Consumer<HttpHeaders> headers, String... chunks) {
+        return exchange -> Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            headers.accept(response.getHeaders());
+            return response.writeWith(Flux.fromArray(chunks)
+                    .map(chunk -> response.bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        });
+    }
+
+    private GatewayFilterChain upstream() {
+        return upstream(HttpStatus.OK, MediaType.APPLICATION_JSON, Duration.ZERO);
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("gateway.response.cache", "result", result).count();
+    }
+
+    @Test
+    void testFilter_SecondGet_ServedFromCacheWithEtag() {
+        // Given
+        GatewayFilterChain chain = upstream();
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/v1/products/1"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/v1/products/1"));
+
+        // When
+        StepVerifier.create(filter.filter(first, chain)).verifyComplete();
+        StepVerifier.create(filter.filter(second, chain)).verifyComplete();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(second.getResponse().getHeaders().getETag()).isEqualTo(first.getResponse().getHeaders().getETag())
+                .isNotNull();
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_HEADER))
+                .isEqualTo("HIT");
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void testFilter_DifferentQuery_IsADifferentEntry() {
+        // Given
+        GatewayFilterChain chain = upstream();
+
+        // When
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products?size=10")), chain))
+                .verifyComplete();
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products?size=20")), chain))
+                .verifyComplete();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void testFilter_IfNoneMatchOnCachedEntry_ReturnsNotModified() {
+        // Given
+        GatewayFilterChain chain = upstream();
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/v1/products/1"));
+        StepVerifier.create(filter.filter(first, chain)).verifyComplete();
+        String etag = first.getResponse().getHeaders().getETag();
+        MockServerWebExchange revalidation = exchange(MockServerHttpRequest.get("/api/v1/products/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/" + etag));
+
+        // When
+        StepVerifier.create(filter.filter(revalidation, chain)).verifyComplete();
+
+        // Then
+        assertThat(revalidation.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(revalidation.getResponse().getBodyAsString().block()).isEmpty();
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void testFilter_IfNoneMatchOnMiss_ReturnsNotModifiedAfterUpstreamCall() {
+        // Given
+        GatewayFilterChain chain = upstream();
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/v1/products/1"));
+        StepVerifier.create(filter.filter(first, chain)).verifyComplete();
+        String etag = first.getResponse().getHeaders().getETag();
+        responseCache.invalidateRoute("product-service");
+        MockServerWebExchange revalidation = exchange(MockServerHttpRequest.get("/api/v1/products/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // When
+        StepVerifier.create(filter.filter(revalidation, chain)).verifyComplete();
+
+        // Then
+        assertThat(revalidation.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void testFilter_ConcurrentIdenticalGets_ShareOneUpstreamCall() {
+        // Given
+        GatewayFilterChain chain = upstream(HttpStatus.OK, MediaType.APPLICATION_JSON, Duration.ofMillis(100));
+        MockServerWebExchange leader = exchange(MockServerHttpRequest.get("/api/v1/products/1"));
+        MockServerWebExchange follower = exchange(MockServerHttpRequest.get("/api/v1/products/1"));
+
+        // When
+        StepVerifier.create(Mono.when(filter.filter(leader, chain), filter.filter(follower, chain)))
+                .verifyComplete();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(count("coalesced")).isEqualTo(1);
+    }
+
+    @Test
+    void testFilter_NonJsonResponse_IsNotCached() {
+        // Given
+        GatewayFilterChain chain = upstream(HttpStatus.OK, MediaType.APPLICATION_NDJSON, Duration.ZERO);
+
+        // When
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/export")), chain))
+                .verifyComplete();
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/export")), chain))
+                .verifyComplete();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void testFilter_ErrorResponse_IsNotCached() {
+        // Given
+        GatewayFilterChain chain = upstream(HttpStatus.NOT_FOUND, MediaType.APPLICATION_JSON, Duration.ZERO);
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/v1/products/404"));
+
+        // When
+        StepVerifier.create(filter.filter(first, chain)).verifyComplete();
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/404")), chain))
+                .verifyComplete();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(first.getResponse().getHeaders().getETag()).isNull();
+    }
+
+    @Test
+    void testFilter_SuccessfulWrite_InvalidatesRoute() {
+        // Given
+        GatewayFilterChain chain = upstream();
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/1")), chain))
+                .verifyComplete();
+
+        // When
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.put("/api/v1/products/1")), chain))
+                .verifyComplete();
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/1")), chain))
+                .verifyComplete();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    @Test
+    void testFilter_NoStoreOrPrivateResponse_IsNotCached() {
+        for (String cacheControl : new String[]{"no-store", "private, max-age=60", "no-cache"}) {
+            // Given
+            upstreamCalls.set(0);
+            GatewayFilterChain chain = upstream(headers -> headers.setCacheControl(cacheControl), BODY);
+
+            // When
+            MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/v1/products/1"));
+            StepVerifier.create(filter.filter(first, chain)).verifyComplete();
+            StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/1")), chain))
+                    .verifyComplete();
+
+            // Then
+            assertThat(upstreamCalls).as(cacheControl).hasValue(2);
+            assertThat(first.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    void testFilter_MaxAgeZero_IsNotCached() {
+        // Given
+        GatewayFilterChain chain = upstream(headers -> headers.setCacheControl("public, max-age=0"), BODY);
+
+        // When
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/1")), chain))
+                .verifyComplete();
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/1")), chain))
+                .verifyComplete();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void testCacheableFor_SharedMaxAge_ShortensRouteTtl() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=300, s-maxage=\"10\"");
+
+        // When & Then
+        assertThat(ResponseCacheGatewayFilterFactory.cacheableFor(headers, Duration.ofMinutes(1)))
+                .isEqualTo(Duration.ofSeconds(10));
+        assertThat(ResponseCacheGatewayFilterFactory.cacheableFor(new HttpHeaders(), Duration.ofMinutes(1)))
+                .isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testFilter_BodyLargerThanEntry_IsStreamedAndNotCached() {
+        // Given - 3 morceaux de 40 Ko, l'entrée est limitée à 64 Ko
+        String chunk = "x".repeat(40 * 1024);
+        GatewayFilterChain chain = upstream(headers -> {
+        }, chunk, chunk, chunk);
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/v1/products/export"));
+
+        // When
+        StepVerifier.create(filter.filter(first, chain)).verifyComplete();
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/export")), chain))
+                .verifyComplete();
+
+        // Then
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo(chunk.repeat(3));
+        assertThat(first.getResponse().getHeaders().getETag()).isNull();
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void testFilter_ContentLengthLargerThanEntry_IsNotBuffered() {
+        // Given
+        GatewayFilterChain chain = upstream(headers -> headers.setContentLength(DataSize.ofKilobytes(65).toBytes()),
+                BODY);
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/v1/products/1"));
+
+        // When
+        StepVerifier.create(filter.filter(first, chain)).verifyComplete();
+
+        // Then
+        assertThat(first.getResponse().getHeaders().getETag()).isNull();
+        assertThat(responseCache.get("product-service /api/v1/products/1")).isNull();
+    }
+}
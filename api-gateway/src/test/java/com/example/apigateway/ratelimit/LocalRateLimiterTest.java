@@ -0,0 +1,137 @@
+package com.example.apigateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.gateway.event.FilterArgsEvent;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTest {
+
+    private AtomicLong nanoTime;
+    private SimpleMeterRegistry meterRegistry;
+    private LocalRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        nanoTime = new AtomicLong();
+        meterRegistry = new SimpleMeterRegistry();
+        ConfigurationService configurationService = new ConfigurationService(new DefaultListableBeanFactory(),
+                DefaultConversionService::new, () -> null);
+        rateLimiter = new LocalRateLimiter(LocalRateLimiter.Config.of(1, 2), 1000, Duration.ofMinutes(10),
+                configurationService, meterRegistry, nanoTime::get);
+    }
+
+    private RateLimiter.Response call(String routeId, String key) {
+        return rateLimiter.isAllowed(routeId, key).block();
+    }
+
+    private double rejected(String routeId) {
+        return meterRegistry.counter("gateway.rate.limit", "route", routeId, "result", "rejected").count();
+    }
+
+    @Test
+    void testIsAllowed_BurstThenRejectedWithRetryAfter() {
+        // When
+        RateLimiter.Response first = call("product-service", "ip:10.0.0.1");
+        RateLimiter.Response second = call("product-service", "ip:10.0.0.1");
+        RateLimiter.Response third = call("product-service", "ip:10.0.0.1");
+
+        // Then
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(first.getHeaders()).containsEntry(LocalRateLimiter.REMAINING_HEADER, "1")
+                .doesNotContainKey(HttpHeaders.RETRY_AFTER);
+        assertThat(second.isAllowed()).isTrue();
+        assertThat(third.isAllowed()).isFalse();
+        assertThat(third.getHeaders()).containsEntry(LocalRateLimiter.REMAINING_HEADER, "0")
+                .containsEntry(HttpHeaders.RETRY_AFTER, "1");
+        assertThat(rejected("product-service")).isEqualTo(1);
+    }
+
+    @Test
+    void testIsAllowed_TokensRefillOverTime() {
+        // Given
+        call("product-service", "user:1");
+        call("product-service", "user:1");
+        assertThat(call("product-service", "user:1").isAllowed()).isFalse();
+
+        // When
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Then
+        assertThat(call("product-service", "user:1").isAllowed()).isTrue();
+        assertThat(call("product-service", "user:1").isAllowed()).isFalse();
+    }
+
+    @Test
+    void testIsAllowed_RefillIsCappedAtBurstCapacity() {
+        // Given
+        call("product-service", "user:1");
+
+        // When
+        nanoTime.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        // Then
+        assertThat(call("product-service", "user:1").getHeaders())
+                .containsEntry(LocalRateLimiter.REMAINING_HEADER, "1");
+    }
+
+    @Test
+    void testIsAllowed_KeysAndRoutesHaveSeparateBuckets() {
+        // Given
+        call("product-service", "user:1");
+        call("product-service", "user:1");
+
+        // When & Then
+        assertThat(call("product-service", "user:1").isAllowed()).isFalse();
+        assertThat(call("product-service", "user:2").isAllowed()).isTrue();
+        assertThat(call("media-service", "user:1").isAllowed()).isTrue();
+    }
+
+    @Test
+    void testOnApplicationEvent_RouteArgsOverrideDefaults() {
+        // Given
+        rateLimiter.onApplicationEvent(new FilterArgsEvent(this, "user-service-auth", Map.of(
+                "local-rate-limiter.replenish-rate", "1",
+                "local-rate-limiter.burst-capacity", "5",
+                "local-rate-limiter.requested-tokens", "5")));
+
+        // When
+        RateLimiter.Response first = call("user-service-auth", "ip:10.0.0.1");
+        RateLimiter.Response second = call("user-service-auth", "ip:10.0.0.1");
+
+        // Then
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(first.getHeaders()).containsEntry(LocalRateLimiter.BURST_CAPACITY_HEADER, "5");
+        assertThat(second.isAllowed()).isFalse();
+        assertThat(second.getHeaders()).containsEntry(HttpHeaders.RETRY_AFTER, "5");
+    }
+
+    @Test
+    void testIsAllowed_ConcurrentCallsNeverExceedCapacity() {
+        // Given
+        LocalRateLimiter.Config config = LocalRateLimiter.Config.of(1, 100);
+        rateLimiter.getConfig().put("product-service", config);
+
+        // When
+        long allowed = IntStream.range(0, 1000).parallel()
+                .filter(i -> call("product-service", "ip:10.0.0.1").isAllowed())
+                .count();
+
+        // Then
+        assertThat(allowed).isEqualTo(100);
+        assertThat(rejected("product-service")).isEqualTo(900);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.apigateway.ratelimit;
+
+import com.example.apigateway.filters.JwtAuthenticationFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+
+class UserOrIpKeyResolverTest {
+
+    private final UserOrIpKeyResolver keyResolver = new UserOrIpKeyResolver();
+
+    @Test
+    void testResolve_AuthenticatedRequest_UsesUserId() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products")
+                .header(JwtAuthenticationFilter.USER_ID_HEADER, "user-123")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 5000)));
+
+        // When & Then
+        StepVerifier.create(keyResolver.resolve(exchange)).expectNext("user:user-123").verifyComplete();
+    }
+
+    @Test
+    void testResolve_AnonymousRequest_UsesClientIp() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 5000)));
+
+        // When & Then
+        StepVerifier.create(keyResolver.resolve(exchange)).expectNext("ip:10.0.0.1").verifyComplete();
+    }
+
+    @Test
+    void testResolve_NoRemoteAddress_UsesSharedKey() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products"));
+
+        // When & Then
+        StepVerifier.create(keyResolver.resolve(exchange)).expectNext(UserOrIpKeyResolver.UNKNOWN_CLIENT)
+                .verifyComplete();
+    }
+}
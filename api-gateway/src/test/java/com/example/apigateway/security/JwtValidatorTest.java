@@ -0,0 +1,85 @@
+package com.example.apigateway.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtValidatorTest {
+
+    static final String SECRET = "test-secret-key-for-testing-only-must-be-at-least-256-bits-long";
+
+    private JwtValidator jwtValidator;
+
+    @BeforeEach
+    void setUp() {
+        jwtValidator = new JwtValidator(SECRET, 100);
+    }
+
+    static String token(String secret, long expiresInMs) {
+        return Jwts.builder()
+                .subject("test@example.com")
+                .claim("role", "SELLER")
+                .claim("userId", "user-123")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + expiresInMs))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Test
+    void testValidate_ValidToken_ReturnsClaims() {
+        // When
+        TokenClaims claims = jwtValidator.validate(token(SECRET, 60_000));
+
+        // Then
+        assertThat(claims.userId()).isEqualTo("user-123");
+        assertThat(claims.email()).isEqualTo("test@example.com");
+        assertThat(claims.role()).isEqualTo("SELLER");
+    }
+
+    @Test
+    void testValidate_SameToken_ServedFromCache() {
+        // Given
+        String token = token(SECRET, 60_000);
+
+        // When
+        TokenClaims first = jwtValidator.validate(token);
+        TokenClaims second = jwtValidator.validate(token);
+
+        // Then
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void testValidate_WrongSignature_Throws() {
+        // Given
+        String token = token("another-secret-key-that-is-also-at-least-256-bits-long", 60_000);
+
+        // When & Then
+        assertThatThrownBy(() -> jwtValidator.validate(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void testValidate_ExpiredToken_Throws() {
+        // Given
+        String token = token(SECRET, -60_000);
+
+        // When & Then
+        assertThatThrownBy(() -> jwtValidator.validate(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void testValidate_Garbage_Throws() {
+        // When & Then
+        assertThatThrownBy(() -> jwtValidator.validate("not-a-jwt")).isInstanceOf(JwtException.class);
+    }
+}
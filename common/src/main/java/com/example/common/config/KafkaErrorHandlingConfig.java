@@ -0,0 +1,91 @@
+package com.example.common.config;
+
+import com.example.common.events.ProcessedEventCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gestion d'erreur commune des {@code @KafkaListener} : relances avec backoff exponentiel borné,
+ * puis envoi du message sur {@code <topic>-dlt}. Un message illisible part directement sur le topic de rejet.
+ * <p>
+ * Les relances se font dans le container : les topics de relance non bloquants de Spring Kafka
+ * ne supportent pas les listeners en lot. La durée totale des relances doit rester sous {@code max.poll.interval.ms}.
+ */
+@AutoConfiguration(after = KafkaAutoConfiguration.class)
+@ConditionalOnClass({KafkaTemplate.class, Caffeine.class})
+@ConditionalOnBean(KafkaTemplate.class)
+public class KafkaErrorHandlingConfig implements DisposableBean {
+
+    static final String DEAD_LETTER_SUFFIX = "-dlt";
+
+    private ProducerFactory<Object, Object> rawProducerFactory;
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProcessedEventCache processedEventCache(
+            @Value("${messaging.dedupe.maximum-size:100000}") long maximumSize,
+            @Value("${messaging.dedupe.ttl:1h}") Duration ttl) {
+        return new ProcessedEventCache(maximumSize, ttl);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CommonErrorHandler.class)
+    public DefaultErrorHandler kafkaErrorHandler(
+            KafkaTemplate<Object, Object> kafkaTemplate,
+            ProducerFactory<Object, Object> producerFactory,
+            @Value("${messaging.retry.max-retries:5}") int maxRetries,
+            @Value("${messaging.retry.initial-interval:1s}") Duration initialInterval,
+            @Value("${messaging.retry.multiplier:2.0}") double multiplier,
+            @Value("${messaging.retry.max-interval:30s}") Duration maxInterval) {
+        // Un message illisible est republié tel quel : il faut un producer qui sérialise des byte[]
+        rawProducerFactory = producerFactory.copyWithConfigurationOverride(
+                Map.of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class));
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, new KafkaTemplate<>(rawProducerFactory));
+        templates.put(Object.class, kafkaTemplate);
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates,
+                KafkaErrorHandlingConfig::deadLetterTopic);
+
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(maxRetries);
+        backOff.setInitialInterval(initialInterval.toMillis());
+        backOff.setMultiplier(multiplier);
+        backOff.setMaxInterval(maxInterval.toMillis());
+        return new DefaultErrorHandler(recoverer, backOff);
+    }
+
+    /**
+     * Partition laissée au partitionneur : le topic de rejet peut avoir moins de partitions que l'original.
+     */
+    static TopicPartition deadLetterTopic(ConsumerRecord<?, ?> record, Exception exception) {
+        return new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, -1);
+    }
+
+    @Override
+    public void destroy() {
+        if (rawProducerFactory != null) {
+            rawProducerFactory.reset();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.common.config;
+
+import com.example.common.events.EventEnvelope;
+import com.example.common.events.EventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Réglages communs des producers : envoi groupé ({@code linger.ms}, {@code batch.size}), compression,
+ * producer idempotent avec {@code acks=all}. Ce sont des valeurs par défaut : une clé définie dans
+ * {@code spring.kafka.producer} reste prioritaire.
+ */
+@AutoConfiguration(after = KafkaAutoConfiguration.class)
+@ConditionalOnClass({KafkaTemplate.class, MeterRegistry.class})
+public class KafkaProducerConfig {
+
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer producerTuningCustomizer(
+            @Value("${messaging.producer.linger:20ms}") Duration linger,
+            @Value("${messaging.producer.batch-size:64KB}") DataSize batchSize,
+            @Value("${messaging.producer.compression-type:lz4}") String compressionType) {
+        return producerFactory -> {
+            Map<String, Object> defaults = new HashMap<>(producerDefaults(linger, batchSize, compressionType));
+            defaults.keySet().removeAll(producerFactory.getConfigurationProperties().keySet());
+            producerFactory.updateConfigs(defaults);
+        };
+    }
+
+    static Map<String, Object> producerDefaults(Duration linger, DataSize batchSize, String compressionType) {
+        return Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, (int) linger.toMillis(),
+                ProducerConfig.BATCH_SIZE_CONFIG, (int) batchSize.toBytes(),
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType,
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+                ProducerConfig.ACKS_CONFIG, "all");
+    }
+
+    @Bean
+    @ConditionalOnBean(KafkaTemplate.class)
+    @ConditionalOnMissingBean
+    public EventPublisher eventPublisher(KafkaTemplate<String, EventEnvelope> kafkaTemplate,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        return new EventPublisher(kafkaTemplate, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
@@ -4,11 +4,14 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 /**
  * Shared S3 configuration for all services that need AWS S3 access.
  * This configuration is only enabled when aws.region property is set.
@@ -26,6 +29,12 @@ public class S3Config {
     @Value("${aws.credentials.secret-key}")
     private String secretKey;
 
+    @Value("${aws.s3.upload.pool-size:8}")
+    private int uploadPoolSize;
+
+    @Value("${aws.s3.upload.queue-capacity:100}")
+    private int uploadQueueCapacity;
+
     @Bean
     public S3Client s3Client() {
         return S3Client.builder()
@@ -35,5 +44,21 @@ public class S3Config {
                 ))
                 .build();
     }
-}
 
+    /**
+     * Executor borné utilisé par {@code S3Service.uploadFileAsync}.
+     * Quand la file est pleine, l'upload s'exécute dans le thread appelant
+     * (back-pressure plutôt que rejet).
+     */
+    @Bean
+    public ThreadPoolTaskExecutor s3UploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(uploadPoolSize);
+        executor.setMaxPoolSize(uploadPoolSize);
+        executor.setQueueCapacity(uploadQueueCapacity);
+        executor.setThreadNamePrefix("s3-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.common.events;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Enveloppe commune des messages Kafka : un type, un identifiant unique, la date de l'événement
+ * (à la milliseconde) et un ou plusieurs ids concernés, pour qu'un seul message porte une suppression en masse.
+ */
+public record EventEnvelope(UUID eventId, EventType type, Instant occurredAt, List<String> ids) {
+
+    public EventEnvelope {
+        Objects.requireNonNull(eventId, "eventId");
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(occurredAt, "occurredAt");
+        ids = List.copyOf(ids);
+    }
+
+    public static EventEnvelope of(EventType type, String id) {
+        return of(type, List.of(id));
+    }
+
+    public static EventEnvelope of(EventType type, Collection<String> ids) {
+        return new EventEnvelope(UUID.randomUUID(), type, Instant.now().truncatedTo(ChronoUnit.MILLIS), List.copyOf(ids));
+    }
+
+    /**
+     * Pour un événement dont le rejeu est sans effet (suppression) : l'id est dérivé du type et des ids,
+     * donc un renvoi du même lot est reconnu comme un doublon par {@link ProcessedEventCache}.
+     */
+    public static EventEnvelope idempotent(EventType type, Collection<String> ids) {
+        List<String> copy = List.copyOf(ids);
+        UUID eventId = UUID.nameUUIDFromBytes((type.name() + '\n' + String.join("\n", copy)).getBytes(StandardCharsets.UTF_8));
+        return new EventEnvelope(eventId, type, Instant.now().truncatedTo(ChronoUnit.MILLIS), copy);
+    }
+
+    /**
+     * Découpe une suppression en masse en messages d'au plus {@code batchSize} ids.
+     */
+    public static List<EventEnvelope> idempotentBatches(EventType type, Collection<String> ids, int batchSize) {
+        List<String> copy = List.copyOf(ids);
+        List<EventEnvelope> batches = new ArrayList<>((copy.size() + batchSize - 1) / batchSize);
+        for (int from = 0; from < copy.size(); from += batchSize) {
+            batches.add(idempotent(type, copy.subList(from, Math.min(from + batchSize, copy.size()))));
+        }
+        return batches;
+    }
+}
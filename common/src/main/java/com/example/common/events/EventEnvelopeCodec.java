@@ -0,0 +1,162 @@
+package com.example.common.events;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Encodage binaire de {@link EventEnvelope}, version 1 :
+ * <pre>
+ * byte    version
+ * byte    type
+ * long    eventId (bits de poids fort) | long eventId (bits de poids faible)
+ * long    occurredAt (epoch millis)
+ * varint  nombre d'ids
+ * id*     byte 0 + 12 octets (ObjectId Mongo)  |  byte 1 + varint longueur + UTF-8
+ * </pre>
+ * Un ObjectId tient sur 13 octets au lieu de 24 caractères. Un message dont le premier octet est
+ * imprimable est un id brut de l'ancien format et est lu comme un événement {@link EventType#LEGACY}.
+ * Les longueurs lues sont bornées par les octets restants : un message corrompu est rejeté avant toute
+ * allocation qu'il dicterait.
+ */
+public final class EventEnvelopeCodec {
+
+    public static final byte VERSION = 1;
+
+    static final byte OBJECT_ID = 0;
+    static final byte UTF8 = 1;
+    private static final int OBJECT_ID_BYTES = 12;
+    private static final int HEADER_BYTES = 2 + 16 + 8;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private EventEnvelopeCodec() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static byte[] encode(EventEnvelope envelope) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_BYTES + 1 + envelope.ids().size() * (1 + OBJECT_ID_BYTES));
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .put(VERSION)
+                .put(envelope.type().code())
+                .putLong(envelope.eventId().getMostSignificantBits())
+                .putLong(envelope.eventId().getLeastSignificantBits())
+                .putLong(envelope.occurredAt().toEpochMilli());
+        out.writeBytes(header.array());
+
+        writeVarint(out, envelope.ids().size());
+        for (String id : envelope.ids()) {
+            if (isObjectId(id)) {
+                out.write(OBJECT_ID);
+                out.writeBytes(HEX.parseHex(id));
+            } else {
+                byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+                out.write(UTF8);
+                writeVarint(out, bytes.length);
+                out.writeBytes(bytes);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static EventEnvelope decode(byte[] data) {
+        if (data.length > 0 && data[0] >= 0x20) {
+            return decodeLegacy(data);
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Version d'événement non supportée: " + version);
+            }
+            EventType type = EventType.fromCode(buffer.get());
+            UUID eventId = new UUID(buffer.getLong(), buffer.getLong());
+            Instant occurredAt = Instant.ofEpochMilli(buffer.getLong());
+
+            int count = readLength(buffer);
+            List<String> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte kind = buffer.get();
+                if (kind == OBJECT_ID) {
+                    byte[] bytes = new byte[OBJECT_ID_BYTES];
+                    buffer.get(bytes);
+                    ids.add(HEX.formatHex(bytes));
+                } else if (kind == UTF8) {
+                    byte[] bytes = new byte[readLength(buffer)];
+                    buffer.get(bytes);
+                    ids.add(new String(bytes, StandardCharsets.UTF_8));
+                } else {
+                    throw new IllegalArgumentException("Type d'id inconnu: " + kind);
+                }
+            }
+            return new EventEnvelope(eventId, type, occurredAt, ids);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Événement tronqué", e);
+        }
+    }
+
+    /**
+     * L'id unique est dérivé du contenu pour qu'une relivraison du même message garde le même id.
+     */
+    private static EventEnvelope decodeLegacy(byte[] data) {
+        return new EventEnvelope(UUID.nameUUIDFromBytes(data), EventType.LEGACY, Instant.now(),
+                List.of(new String(data, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Seule la forme produite par {@code ObjectId.toHexString()} (24 caractères hexadécimaux minuscules)
+     * est compactée, pour que le décodage restitue exactement la même chaîne.
+     */
+    static boolean isObjectId(String id) {
+        if (id.length() != OBJECT_ID_BYTES * 2) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Nombre d'ids ou longueur d'un id : chacun occupe au moins un octet, la valeur ne peut donc pas
+     * dépasser ce qui reste du message.
+     */
+    private static int readLength(ByteBuffer buffer) {
+        int length = readVarint(buffer);
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("Longueur invalide: " + length);
+        }
+        return length;
+    }
+
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Longueur invalide: " + value);
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint trop long");
+    }
+}
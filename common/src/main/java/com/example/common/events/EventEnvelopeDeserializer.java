@@ -0,0 +1,22 @@
+package com.example.common.events;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * {@code spring.kafka.consumer.value-deserializer: com.example.common.events.EventEnvelopeDeserializer}
+ */
+public class EventEnvelopeDeserializer implements Deserializer<EventEnvelope> {
+
+    @Override
+    public EventEnvelope deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return EventEnvelopeCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Événement illisible sur " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.common.events;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * {@code spring.kafka.producer.value-serializer: com.example.common.events.EventEnvelopeSerializer}
+ */
+public class EventEnvelopeSerializer implements Serializer<EventEnvelope> {
+
+    @Override
+    public byte[] serialize(String topic, EventEnvelope envelope) {
+        return envelope == null ? null : EventEnvelopeCodec.encode(envelope);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.common.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Envoi des {@link EventEnvelope} avec mesure de la latence jusqu'à l'accusé de réception du broker
+ * ({@code messaging.publish}, par topic et résultat) et comptage des échecs ({@code messaging.publish.failures}).
+ */
+@Slf4j
+public class EventPublisher {
+
+    static final String PUBLISH_TIMER = "messaging.publish";
+    static final String FAILURE_COUNTER = "messaging.publish.failures";
+
+    private final KafkaTemplate<String, EventEnvelope> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public EventPublisher(KafkaTemplate<String, EventEnvelope> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return complété quand le broker a accusé réception du message, en erreur si l'envoi a échoué
+     */
+    public CompletableFuture<SendResult<String, EventEnvelope>> publish(String topic, EventEnvelope event) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<SendResult<String, EventEnvelope>> sent;
+        try {
+            sent = kafkaTemplate.send(topic, event);
+        } catch (RuntimeException e) {
+            // Échec avant l'envoi (métadonnées du topic indisponibles, buffer plein...)
+            recordFailure(sample, topic, event, e);
+            throw e;
+        }
+        return sent.whenComplete((result, exception) -> {
+            if (exception == null) {
+                sample.stop(timer(topic, "success"));
+            } else {
+                recordFailure(sample, topic, event, exception);
+            }
+        });
+    }
+
+    /**
+     * Envoie tous les messages sans attendre entre deux : le producer les regroupe en batchs.
+     *
+     * @return complété quand tous les messages ont été acquittés, en erreur dès qu'un envoi échoue
+     */
+    public CompletableFuture<Void> publishAll(String topic, List<EventEnvelope> events) {
+        return CompletableFuture.allOf(events.stream()
+                .map(event -> publish(topic, event))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private void recordFailure(Timer.Sample sample, String topic, EventEnvelope event, Throwable exception) {
+        sample.stop(timer(topic, "failure"));
+        Counter.builder(FAILURE_COUNTER)
+                .tag("topic", topic)
+                .tag("type", event.type().name())
+                .register(meterRegistry)
+                .increment();
+        log.warn("Failed to publish {} event {} to {}", event.type(), event.eventId(), topic, exception);
+    }
+
+    private Timer timer(String topic, String result) {
+        return Timer.builder(PUBLISH_TIMER)
+                .tag("topic", topic)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
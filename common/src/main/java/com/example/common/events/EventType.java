@@ -0,0 +1,35 @@
+package com.example.common.events;
+
+/**
+ * Type d'événement échangé entre services. Le code est celui écrit sur le fil :
+ * il ne doit jamais être réattribué.
+ */
+public enum EventType {
+    /**
+     * Message antérieur à l'enveloppe binaire (id brut en texte).
+     */
+    LEGACY(0),
+    USER_DELETED(1),
+    USER_TOKENS_REVOKED(2),
+    PRODUCT_DELETED(3),
+    PRODUCT_CHANGED(4);
+
+    private final byte code;
+
+    EventType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public static EventType fromCode(byte code) {
+        for (EventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Type d'événement inconnu: " + code);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.common.events;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Mémorise les {@link EventEnvelope#eventId()} déjà traités par cette instance, pour qu'un lot rejoué
+ * (relance après erreur, rééquilibrage, renvoi du producer) ne relance pas les mêmes requêtes Mongo.
+ * <p>
+ * Le cache est local : il évite le travail redondant mais ne remplace pas l'idempotence des traitements.
+ */
+@Slf4j
+public class ProcessedEventCache {
+
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(ProcessedEventCache.class);
+
+    private final Cache<UUID, Boolean> processed;
+
+    public ProcessedEventCache(long maximumSize, Duration ttl) {
+        this.processed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Passe au handler les événements du lot pas encore traités (sans doublon), puis les marque comme traités.
+     * <p>
+     * Un message illisible ne bloque pas le reste du lot : il est signalé après le traitement via
+     * {@link BatchListenerFailedException}, ce qui l'envoie au topic de rejet ; les messages qui le suivent
+     * sont relivrés et ignorés ici puisque déjà traités. La cause est la {@link DeserializationException}
+     * du message : le {@code DefaultErrorHandler} classe l'exception d'après cette cause et l'envoie
+     * au topic de rejet sans relance.
+     */
+    public void handleBatch(List<ConsumerRecord<String, EventEnvelope>> records, Consumer<List<EventEnvelope>> handler) {
+        List<EventEnvelope> events = new ArrayList<>(records.size());
+        Set<UUID> batchIds = new HashSet<>();
+        int unreadable = -1;
+        DeserializationException unreadableCause = null;
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, EventEnvelope> record = records.get(i);
+            EventEnvelope event = record.value();
+            if (event == null) {
+                if (unreadable < 0 && record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                    unreadable = i;
+                    unreadableCause = deserializationException(record);
+                }
+            } else if (!isProcessed(event.eventId()) && batchIds.add(event.eventId())) {
+                events.add(event);
+            }
+        }
+
+        if (events.size() < records.size()) {
+            log.debug("Skipping {} already processed or empty messages out of {}", records.size() - events.size(), records.size());
+        }
+        if (!events.isEmpty()) {
+            handler.accept(events);
+            events.forEach(event -> processed.put(event.eventId(), Boolean.TRUE));
+        }
+        if (unreadable >= 0) {
+            throw new BatchListenerFailedException("Message illisible", unreadableCause, unreadable);
+        }
+    }
+
+    // L'en-tête contient l'exception sérialisée par ErrorHandlingDeserializer ; s'il est illisible, une équivalente
+    private static DeserializationException deserializationException(ConsumerRecord<?, ?> record) {
+        DeserializationException exception = SerializationUtils.getExceptionFromHeader(record,
+                SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+        return exception != null ? exception
+                : new DeserializationException("Message illisible", new byte[0], false, null);
+    }
+
+    public boolean isProcessed(UUID eventId) {
+        return processed.getIfPresent(eventId) != null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.common.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vérifie au démarrage que les requêtes "chaudes" d'un service utilisent un index.
+ * Chaque requête est passée à {@code explain()} ; si le plan gagnant contient un
+ * {@code COLLSCAN}, le démarrage échoue avec la liste des requêtes fautives.
+ */
+@Slf4j
+public class MongoIndexVerifier implements ApplicationRunner {
+
+    static final String COLLSCAN = "COLLSCAN";
+
+    private final MongoTemplate mongoTemplate;
+    private final List<HotQuery> hotQueries;
+
+    public MongoIndexVerifier(MongoTemplate mongoTemplate, List<HotQuery> hotQueries) {
+        this.mongoTemplate = mongoTemplate;
+        this.hotQueries = List.copyOf(hotQueries);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> unindexed = findUnindexedQueries();
+        if (!unindexed.isEmpty()) {
+            throw new IllegalStateException("Requêtes sans index (COLLSCAN): " + String.join(", ", unindexed));
+        }
+        log.info("{} requêtes vérifiées, toutes utilisent un index", hotQueries.size());
+    }
+
+    /**
+     * @return le nom des requêtes dont le plan gagnant est un scan complet de collection
+     */
+    public List<String> findUnindexedQueries() {
+        List<String> unindexed = new ArrayList<>();
+        for (HotQuery hotQuery : hotQueries) {
+            String collectionName = mongoTemplate.getCollectionName(hotQuery.entityClass());
+            Document explain = mongoTemplate.getCollection(collectionName)
+                    .find(hotQuery.query().getQueryObject())
+                    .explain();
+
+            Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+            if (containsStage(winningPlan, COLLSCAN)) {
+                log.error("{} sur '{}' fait un COLLSCAN: {}", hotQuery.name(), collectionName, winningPlan);
+                unindexed.add(hotQuery.name());
+            }
+        }
+        return unindexed;
+    }
+
+    /**
+     * Parcourt récursivement le plan (inputStage, inputStages, queryPlan...) à la recherche d'un stage donné.
+     */
+    private static boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Map<?, ?> map) {
+            if (stage.equals(map.get("stage"))) {
+                return true;
+            }
+            return map.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (plan instanceof Collection<?> values) {
+            return values.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+
+    /**
+     * Requête à vérifier, nommée d'après la méthode de repository qu'elle reproduit.
+     */
+    public record HotQuery(String name, Class<?> entityClass, Query query) {
+    }
+}
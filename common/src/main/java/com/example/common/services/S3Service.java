@@ -1,33 +1,102 @@
 package com.example.common.services;
 
 import com.example.common.exceptions.FileUploadException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class S3Service {
 
+    /**
+     * Taille minimale d'une part imposée par S3 (hors dernière part).
+     */
+    static final long MIN_PART_SIZE = DataSize.ofMegabytes(5).toBytes();
+    static final DataSize DEFAULT_MULTIPART_THRESHOLD = DataSize.ofMegabytes(8);
+    static final DataSize DEFAULT_PART_SIZE = DataSize.ofMegabytes(8);
+    /**
+     * Nombre maximal de clés par requête DeleteObjects.
+     */
+    static final int MAX_DELETE_BATCH = 1000;
+
     private final S3Client s3Client;
     private final String bucketName;
     private final String region;
+    private final long multipartThreshold;
+    private final long partSize;
+    private final Executor uploadExecutor;
+    private final boolean contentAddressed;
+
+    /**
+     * Seuils multipart par défaut ; les uploads asynchrones s'exécutent dans le thread appelant.
+     */
+    public S3Service(S3Client s3Client, String bucketName, String region) {
+        this(s3Client, bucketName, region, DEFAULT_MULTIPART_THRESHOLD, DEFAULT_PART_SIZE, Runnable::run, false);
+    }
 
     // Constructor injection (recommandé par Spring)
+    @Autowired
     public S3Service(S3Client s3Client,
                      @Value("${aws.s3.bucket}") String bucketName,
-                     @Value("${aws.region}") String region) {
+                     @Value("${aws.region}") String region,
+                     @Value("${aws.s3.multipart.threshold:8MB}") DataSize multipartThreshold,
+                     @Value("${aws.s3.multipart.part-size:8MB}") DataSize partSize,
+                     @Qualifier("s3UploadExecutor") Executor uploadExecutor,
+                     @Value("${aws.s3.content-addressed:false}") boolean contentAddressed) {
+        if (partSize.toBytes() < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("La taille d'une part doit être d'au moins 5MB");
+        }
         this.s3Client = s3Client;
         this.bucketName = bucketName;
         this.region = region;
+        this.multipartThreshold = multipartThreshold.toBytes();
+        this.partSize = partSize.toBytes();
+        this.uploadExecutor = uploadExecutor;
+        this.contentAddressed = contentAddressed;
     }
 
     /**
      * Upload un fichier vers S3 et retourne l'URL publique du fichier.
+     * Le contenu est lu en streaming depuis {@link MultipartFile#getInputStream()} : au-delà
+     * de {@code aws.s3.multipart.threshold}, l'upload passe en multipart S3 afin que la
+     * mémoire consommée reste bornée quelle que soit la taille du fichier.
+     * <p>
+     * Avec {@code aws.s3.content-addressed}, la clé est le SHA-256 du contenu : un contenu déjà
+     * présent dans le bucket (HeadObject) n'est pas renvoyé et les deux uploads partagent la même URL.
      *
      * @param file le fichier à uploader
      * @return l'URL publique du fichier uploadé
@@ -38,10 +107,20 @@ public class S3Service {
         try {
             validateFile(file);
 
-            String fileName = generateFileName(file);
-            byte[] bytes = file.getBytes();
+            long size = file.getSize();
+            byte[] sha256 = contentAddressed ? sha256(file) : null;
+            String fileName = sha256 != null ? HexFormat.of().formatHex(sha256) : generateFileName(file);
+            if (sha256 != null && exists(fileName)) {
+                return buildFileUrl(fileName);
+            }
 
-            uploadToS3(fileName, bytes, file.getContentType());
+            try (InputStream inputStream = file.getInputStream()) {
+                if (size > multipartThreshold) {
+                    uploadMultipartToS3(fileName, inputStream, size, file.getContentType());
+                } else {
+                    uploadToS3(fileName, inputStream, size, file.getContentType(), sha256);
+                }
+            }
 
             return buildFileUrl(fileName);
 
@@ -54,6 +133,80 @@ public class S3Service {
         }
     }
 
+    /**
+     * Upload un fichier vers S3 sur l'executor borné {@code s3UploadExecutor}.
+     * Permet de lancer plusieurs uploads en parallèle et d'attendre le plus lent
+     * plutôt que leur somme.
+     *
+     * @param file le fichier à uploader
+     * @return un future complété avec l'URL publique du fichier, ou exceptionnellement
+     * avec {@link FileUploadException} / {@link IllegalArgumentException}
+     */
+    public CompletableFuture<String> uploadFileAsync(MultipartFile file) {
+        return CompletableFuture.supplyAsync(() -> uploadFile(file), uploadExecutor);
+    }
+
+    /**
+     * Upload un contenu déjà en mémoire (ex. une image générée) sous le nom donné.
+     *
+     * @param fileName le nom (clé) du fichier dans le bucket
+     * @return l'URL publique du fichier uploadé
+     * @throws FileUploadException en cas d'erreur lors de l'upload
+     */
+    public String uploadBytes(String fileName, byte[] content, String contentType) {
+        try {
+            s3Client.putObject(PutObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(fileName)
+                            .contentType(contentType)
+                            .contentLength((long) content.length)
+                            .build(),
+                    RequestBody.fromBytes(content));
+            return buildFileUrl(fileName);
+        } catch (Exception e) {
+            throw new FileUploadException("Erreur lors de l'upload vers S3: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Ouvre en streaming un fichier du bucket à partir de son URL publique.
+     * Le flux doit être fermé par l'appelant pour libérer la connexion HTTP.
+     *
+     * @param fileUrl l'URL retournée par {@link #uploadFile(MultipartFile)}
+     */
+    public InputStream downloadFile(String fileUrl) {
+        return s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileNameOf(fileUrl))
+                .build());
+    }
+
+    /**
+     * Supprime des fichiers du bucket à partir de leurs URLs publiques, par lots de
+     * {@value #MAX_DELETE_BATCH} clés (une requête DeleteObjects par lot).
+     */
+    public void deleteFiles(Collection<String> fileUrls) {
+        List<ObjectIdentifier> keys = fileUrls.stream()
+                .map(url -> ObjectIdentifier.builder().key(fileNameOf(url)).build())
+                .toList();
+        for (int from = 0; from < keys.size(); from += MAX_DELETE_BATCH) {
+            s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(bucketName)
+                    .delete(Delete.builder()
+                            .objects(keys.subList(from, Math.min(from + MAX_DELETE_BATCH, keys.size())))
+                            .quiet(true)
+                            .build())
+                    .build());
+        }
+    }
+
+    /**
+     * @return le nom (clé) du fichier désigné par une URL publique du bucket
+     */
+    public static String fileNameOf(String fileUrl) {
+        return fileUrl.substring(fileUrl.lastIndexOf('/') + 1);
+    }
+
     /**
      * Valide que le fichier n'est pas null ou vide.
      *
@@ -83,21 +236,116 @@ public class S3Service {
     }
 
     /**
-     * Upload les bytes du fichier vers S3.
+     * Calcule le SHA-256 du fichier en le lisant en streaming. La clé doit être connue avant le PUT :
+     * c'est une lecture préalable du fichier reçu (disque ou mémoire), le contenu n'est jamais chargé en entier.
+     */
+    private static byte[] sha256(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return digest.digest();
+    }
+
+    /**
+     * @return {@code true} si l'objet existe déjà dans le bucket
+     */
+    private boolean exists(String fileName) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder().bucket(bucketName).key(fileName).build());
+            return true;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Upload le contenu du fichier vers S3 en une seule requête PUT.
      *
      * @param fileName le nom du fichier
-     * @param bytes les bytes du fichier
+     * @param inputStream le flux du fichier
+     * @param size la taille du fichier en octets
      * @param contentType le type MIME du fichier
+     * @param sha256 l'empreinte attendue, ou {@code null} ; S3 refuse l'objet si le contenu reçu ne correspond pas
      */
-    private void uploadToS3(String fileName, byte[] bytes, String contentType) {
-        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+    private void uploadToS3(String fileName, InputStream inputStream, long size, String contentType, byte[] sha256) {
+        PutObjectRequest.Builder putObjectRequest = PutObjectRequest.builder()
                 .bucket(bucketName)
                 .key(fileName)
                 .contentType(contentType)
-                .contentLength((long) bytes.length)
-                .build();
+                .contentLength(size);
+        if (sha256 != null) {
+            putObjectRequest.checksumSHA256(Base64.getEncoder().encodeToString(sha256));
+        }
+
+        s3Client.putObject(putObjectRequest.build(), RequestBody.fromInputStream(inputStream, size));
+    }
+
+    /**
+     * Upload le contenu du fichier vers S3 en multipart, une part de {@code partSize} octets
+     * à la fois. L'upload est annulé côté S3 si une part échoue.
+     *
+     * @param fileName le nom du fichier
+     * @param inputStream le flux du fichier
+     * @param size la taille du fichier en octets
+     * @param contentType le type MIME du fichier
+     */
+    private void uploadMultipartToS3(String fileName, InputStream inputStream, long size, String contentType) {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(fileName)
+                        .contentType(contentType)
+                        .build())
+                .uploadId();
+
+        try {
+            List<CompletedPart> completedParts = new ArrayList<>();
+            long remaining = size;
+            int partNumber = 1;
+
+            while (remaining > 0) {
+                long partLength = Math.min(partSize, remaining);
+                UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                        .bucket(bucketName)
+                        .key(fileName)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength(partLength)
+                        .build();
 
-        s3Client.putObject(putObjectRequest, RequestBody.fromBytes(bytes));
+                UploadPartResponse uploadPartResponse = s3Client.uploadPart(uploadPartRequest,
+                        RequestBody.fromInputStream(new BoundedInputStream(inputStream, partLength), partLength));
+
+                completedParts.add(CompletedPart.builder()
+                        .partNumber(partNumber)
+                        .eTag(uploadPartResponse.eTag())
+                        .build());
+                remaining -= partLength;
+                partNumber++;
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileName)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+        } catch (RuntimeException e) {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileName)
+                    .uploadId(uploadId)
+                    .build());
+            throw e;
+        }
     }
 
     /**
@@ -110,5 +358,63 @@ public class S3Service {
         return String.format("https://%s.s3.%s.amazonaws.com/%s",
                 bucketName, region, fileName);
     }
-}
 
+    /**
+     * Vue d'au plus {@code limit} octets sur le flux sous-jacent, sans le fermer,
+     * pour qu'une part multipart ne consomme jamais les octets de la part suivante.
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        private BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // Le flux sous-jacent est fermé par l'appelant une fois toutes les parts envoyées
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.common.config;
+
+import com.example.common.events.ProcessedEventCache;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.CommonErrorHandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KafkaErrorHandlingConfigTest {
+
+    // Conversion "1s" -> Duration, comme dans une SpringApplication
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory().setConversionService(new ApplicationConversionService()))
+            .withConfiguration(AutoConfigurations.of(KafkaAutoConfiguration.class, KafkaErrorHandlingConfig.class));
+
+    @Test
+    void testAutoConfiguration_RegistersErrorHandlerAndDedupeCache() {
+        contextRunner
+                .withPropertyValues("messaging.retry.max-retries=3")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(CommonErrorHandler.class);
+                    assertThat(context).hasSingleBean(ProcessedEventCache.class);
+                    assertThat(context).hasSingleBean(KafkaTemplate.class);
+                });
+    }
+
+    @Test
+    void testDeadLetterTopic_SuffixedTopicAnyPartition() {
+        // Given
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("delete-product-media", 3, 42L, null, "value");
+
+        // When
+        TopicPartition destination = KafkaErrorHandlingConfig.deadLetterTopic(record, new IllegalStateException());
+
+        // Then
+        assertThat(destination.topic()).isEqualTo("delete-product-media-dlt");
+        assertThat(destination.partition()).isNegative();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.common.config;
+
+import com.example.common.events.EventPublisher;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.kafka.core.ProducerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KafkaProducerConfigTest {
+
+    // Conversion "20ms" -> Duration, comme dans une SpringApplication
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory().setConversionService(new ApplicationConversionService()))
+            .withConfiguration(AutoConfigurations.of(KafkaAutoConfiguration.class, KafkaProducerConfig.class));
+
+    @Test
+    void testProducerFactory_AppliesSharedDefaults() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(EventPublisher.class);
+            var configs = context.getBean(ProducerFactory.class).getConfigurationProperties();
+            assertThat(configs)
+                    .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 20)
+                    .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024)
+                    .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4")
+                    .containsEntry(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true)
+                    .containsEntry(ProducerConfig.ACKS_CONFIG, "all");
+        });
+    }
+
+    @Test
+    void testProducerFactory_SpringKafkaPropertiesTakePrecedence() {
+        contextRunner
+                .withPropertyValues("spring.kafka.producer.compression-type=zstd", "messaging.producer.linger=5ms")
+                .run(context -> {
+                    var configs = context.getBean(ProducerFactory.class).getConfigurationProperties();
+                    assertThat(configs)
+                            .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "zstd")
+                            .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 5);
+                });
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.common.events;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventEnvelopeCodecTest {
+
+    private static final String OBJECT_ID = "65a1f0c2e4b0a1b2c3d4e5f6";
+
+    private final EventEnvelopeSerializer serializer = new EventEnvelopeSerializer();
+    private final EventEnvelopeDeserializer deserializer = new EventEnvelopeDeserializer();
+
+    @Test
+    void testRoundTrip_MixedIds_AreRestoredExactly() {
+        // Given - ObjectId, id majuscule (non compacté), UUID et texte non ASCII
+        EventEnvelope event = new EventEnvelope(UUID.randomUUID(), EventType.PRODUCT_DELETED,
+                Instant.ofEpochMilli(1735725600123L),
+                List.of(OBJECT_ID, OBJECT_ID.toUpperCase(), UUID.randomUUID().toString(), "produit-é"));
+
+        // When
+        EventEnvelope decoded = deserializer.deserialize("t", serializer.serialize("t", event));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void testEncode_ObjectId_TakesThirteenBytes() {
+        // Given
+        EventEnvelope event = EventEnvelope.of(EventType.USER_DELETED, OBJECT_ID);
+
+        // When
+        byte[] bytes = EventEnvelopeCodec.encode(event);
+
+        // Then - en-tête 26 octets + nombre d'ids 1 octet + 13 octets par ObjectId
+        assertThat(bytes).hasSize(26 + 1 + 13);
+        assertThat(bytes[0]).isEqualTo(EventEnvelopeCodec.VERSION);
+    }
+
+    @Test
+    void testRoundTrip_ManyIds_VarintCount() {
+        // Given
+        List<String> ids = IntStream.range(0, 300).mapToObj(i -> "user-" + i).toList();
+        EventEnvelope event = EventEnvelope.of(EventType.USER_DELETED, ids);
+
+        // When
+        EventEnvelope decoded = EventEnvelopeCodec.decode(EventEnvelopeCodec.encode(event));
+
+        // Then
+        assertThat(decoded.ids()).isEqualTo(ids);
+    }
+
+    @Test
+    void testDecode_LegacyStringPayload_IsReadAsSingleId() {
+        // Given - Message publié avant l'enveloppe binaire
+        byte[] legacy = OBJECT_ID.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        EventEnvelope first = deserializer.deserialize("t", legacy);
+        EventEnvelope second = deserializer.deserialize("t", legacy);
+
+        // Then - L'id d'événement est stable d'une relivraison à l'autre
+        assertThat(first.type()).isEqualTo(EventType.LEGACY);
+        assertThat(first.ids()).containsExactly(OBJECT_ID);
+        assertThat(first.eventId()).isEqualTo(second.eventId());
+    }
+
+    @Test
+    void testDeserialize_UnknownVersion_ThrowsSerializationException() {
+        // Given
+        byte[] bytes = EventEnvelopeCodec.encode(EventEnvelope.of(EventType.USER_DELETED, "user-1"));
+        bytes[0] = 2;
+
+        // When & Then
+        assertThatThrownBy(() -> deserializer.deserialize("t", bytes))
+                .isInstanceOf(SerializationException.class)
+                .hasRootCauseMessage("Version d'événement non supportée: 2");
+    }
+
+    @Test
+    void testDeserialize_TruncatedPayload_ThrowsSerializationException() {
+        // Given
+        byte[] bytes = EventEnvelopeCodec.encode(EventEnvelope.of(EventType.USER_DELETED, OBJECT_ID));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 4);
+
+        // When & Then
+        assertThatThrownBy(() -> deserializer.deserialize("t", truncated))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void testDeserialize_TruncatedUtf8Id_ThrowsSerializationException() {
+        // Given - la longueur annoncée de l'id dépasse les octets restants
+        byte[] bytes = EventEnvelopeCodec.encode(EventEnvelope.of(EventType.USER_DELETED, "user-123"));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        // When & Then
+        assertThatThrownBy(() -> deserializer.deserialize("t", truncated))
+                .isInstanceOf(SerializationException.class)
+                .hasRootCauseMessage("Longueur invalide: 8");
+    }
+
+    @Test
+    void testDeserialize_OversizedIdCount_ThrowsSerializationExceptionWithoutAllocating() {
+        // Given - nombre d'ids Integer.MAX_VALUE dans un message de quelques octets
+        byte[] header = Arrays.copyOf(EventEnvelopeCodec.encode(EventEnvelope.of(EventType.USER_DELETED, List.of())),
+                26);
+        byte[] bytes = Arrays.copyOf(header, 31);
+        System.arraycopy(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}, 0, bytes, 26, 5);
+
+        // When & Then
+        assertThatThrownBy(() -> deserializer.deserialize("t", bytes))
+                .isInstanceOf(SerializationException.class)
+                .hasRootCauseMessage("Longueur invalide: " + Integer.MAX_VALUE);
+    }
+
+    @Test
+    void testDeserialize_OversizedIdLength_ThrowsSerializationException() {
+        // Given - un id UTF-8 qui annonce 2 Go
+        byte[] bytes = EventEnvelopeCodec.encode(EventEnvelope.of(EventType.USER_DELETED, "user-123"));
+        byte[] corrupted = Arrays.copyOf(bytes, 28 + 5);
+        System.arraycopy(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}, 0, corrupted, 28, 5);
+
+        // When & Then
+        assertThatThrownBy(() -> deserializer.deserialize("t", corrupted))
+                .isInstanceOf(SerializationException.class)
+                .hasRootCauseMessage("Longueur invalide: " + Integer.MAX_VALUE);
+    }
+
+    @Test
+    void testDeserialize_NegativeLength_ThrowsSerializationException() {
+        // Given - varint de 5 octets dont le bit de signe est positionné
+        byte[] bytes = EventEnvelopeCodec.encode(EventEnvelope.of(EventType.USER_DELETED, "user-123"));
+        byte[] corrupted = Arrays.copyOf(bytes, 28 + 5);
+        System.arraycopy(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F}, 0, corrupted, 28, 5);
+
+        // When & Then
+        assertThatThrownBy(() -> deserializer.deserialize("t", corrupted))
+                .isInstanceOf(SerializationException.class)
+                .hasRootCauseMessage("Longueur invalide: -1");
+    }
+
+    @Test
+    void testNullPayload_IsPassedThrough() {
+        // Then
+        assertThat(serializer.serialize("t", null)).isNull();
+        assertThat(deserializer.deserialize("t", null)).isNull();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.common.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, EventEnvelope> kafkaTemplate;
+
+    private SimpleMeterRegistry registry;
+    private EventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        publisher = new EventPublisher(kafkaTemplate, registry);
+    }
+
+    @Test
+    void testPublish_Acknowledged_RecordsSuccessLatency() {
+        // Given
+        EventEnvelope event = EventEnvelope.of(EventType.USER_DELETED, "user-1");
+        when(kafkaTemplate.send("delete-user-products", event)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        CompletableFuture<SendResult<String, EventEnvelope>> result = publisher.publish("delete-user-products", event);
+
+        // Then
+        assertThat(result).isCompleted();
+        assertThat(registry.get(EventPublisher.PUBLISH_TIMER)
+                .tag("topic", "delete-user-products").tag("result", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPublish_BrokerFailure_CountsFailureAndCompletesExceptionally() {
+        // Given
+        EventEnvelope event = EventEnvelope.of(EventType.USER_DELETED, "user-1");
+        when(kafkaTemplate.send("delete-user-products", event))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // When
+        CompletableFuture<SendResult<String, EventEnvelope>> result = publisher.publish("delete-user-products", event);
+
+        // Then
+        assertThat(result).isCompletedExceptionally();
+        assertThat(registry.get(EventPublisher.FAILURE_COUNTER)
+                .tag("topic", "delete-user-products").tag("type", "USER_DELETED").counter().count()).isEqualTo(1);
+        assertThat(registry.get(EventPublisher.PUBLISH_TIMER).tag("result", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPublish_SendThrows_CountsFailureAndRethrows() {
+        // Given
+        EventEnvelope event = EventEnvelope.of(EventType.PRODUCT_CHANGED, "product-1");
+        when(kafkaTemplate.send(anyString(), any(EventEnvelope.class))).thenThrow(new IllegalStateException("no metadata"));
+
+        // When & Then
+        assertThatThrownBy(() -> publisher.publish("product-changed", event))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(registry.get(EventPublisher.FAILURE_COUNTER).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPublishAll_SendsEveryEventBeforeCompleting() {
+        // Given
+        List<EventEnvelope> events = EventEnvelope.idempotentBatches(EventType.USER_DELETED,
+                List.of("user-1", "user-2", "user-3"), 2);
+        CompletableFuture<SendResult<String, EventEnvelope>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq("delete-user-products"), any(EventEnvelope.class)))
+                .thenReturn(CompletableFuture.completedFuture(null), pending);
+
+        // When
+        CompletableFuture<Void> result = publisher.publishAll("delete-user-products", events);
+
+        // Then
+        verify(kafkaTemplate, times(2)).send(eq("delete-user-products"), any(EventEnvelope.class));
+        assertThat(result).isNotDone();
+        pending.complete(null);
+        assertThat(result).isCompleted();
+    }
+
+    @Test
+    void testIdempotentBatches_SplitsIdsBySize() {
+        // When
+        List<EventEnvelope> batches = EventEnvelope.idempotentBatches(EventType.USER_DELETED,
+                List.of("user-1", "user-2", "user-3"), 2);
+
+        // Then
+        assertThat(batches).extracting(EventEnvelope::ids)
+                .containsExactly(List.of("user-1", "user-2"), List.of("user-3"));
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.common.events;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessedEventCacheTest {
+
+    private final ProcessedEventCache cache = new ProcessedEventCache(100, Duration.ofMinutes(1));
+    private final List<List<EventEnvelope>> handled = new ArrayList<>();
+
+    @Test
+    void testHandleBatch_RedeliveredEvents_AreSkipped() {
+        // Given
+        EventEnvelope first = EventEnvelope.of(EventType.USER_DELETED, "user-1");
+        EventEnvelope second = EventEnvelope.of(EventType.USER_DELETED, "user-2");
+        cache.handleBatch(List.of(record(first)), handled::add);
+
+        // When
+        cache.handleBatch(List.of(record(first), record(second)), handled::add);
+
+        // Then
+        assertThat(handled).containsExactly(List.of(first), List.of(second));
+        assertThat(cache.isProcessed(second.eventId())).isTrue();
+    }
+
+    @Test
+    void testHandleBatch_IdempotentEventResent_IsSkipped() {
+        // Given - Le même lot de suppressions renvoyé après un timeout du producer
+        cache.handleBatch(List.of(record(EventEnvelope.idempotent(EventType.PRODUCT_DELETED, List.of("p1", "p2")))),
+                handled::add);
+
+        // When
+        cache.handleBatch(List.of(record(EventEnvelope.idempotent(EventType.PRODUCT_DELETED, List.of("p1", "p2")))),
+                handled::add);
+
+        // Then
+        assertThat(handled).hasSize(1);
+    }
+
+    @Test
+    void testHandleBatch_DuplicateInBatch_HandledOnce() {
+        // Given
+        EventEnvelope event = EventEnvelope.of(EventType.USER_DELETED, "user-1");
+
+        // When
+        cache.handleBatch(List.of(record(event), record(event)), handled::add);
+
+        // Then
+        assertThat(handled).containsExactly(List.of(event));
+    }
+
+    @Test
+    void testHandleBatch_OnlyDuplicates_HandlerNotCalled() {
+        // Given
+        EventEnvelope event = EventEnvelope.of(EventType.USER_DELETED, "user-1");
+        cache.handleBatch(List.of(record(event)), handled::add);
+        handled.clear();
+
+        // When
+        cache.handleBatch(List.of(record(event)), handled::add);
+
+        // Then
+        assertThat(handled).isEmpty();
+    }
+
+    @Test
+    void testHandleBatch_HandlerFails_EventsNotMarked() {
+        // Given
+        EventEnvelope event = EventEnvelope.of(EventType.USER_DELETED, "user-1");
+
+        // When
+        assertThatThrownBy(() -> cache.handleBatch(List.of(record(event)), events -> {
+            throw new IllegalStateException("mongo down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then - Le lot rejoué sera retraité
+        assertThat(cache.isProcessed(event.eventId())).isFalse();
+    }
+
+    @Test
+    void testHandleBatch_UnreadableRecord_ProcessesOthersThenFailsAtIndex() {
+        // Given
+        EventEnvelope before = EventEnvelope.of(EventType.USER_DELETED, "user-1");
+        EventEnvelope after = EventEnvelope.of(EventType.USER_DELETED, "user-2");
+        ConsumerRecord<String, EventEnvelope> unreadable = record(null);
+        unreadable.headers().add(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, new byte[0]);
+
+        // When & Then
+        assertThatThrownBy(() -> cache.handleBatch(List.of(record(before), unreadable, record(after)), handled::add))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isEqualTo(1));
+        assertThat(handled).containsExactly(List.of(before, after));
+        assertThat(cache.isProcessed(after.eventId())).isTrue();
+    }
+
+    @Test
+    void testHandleBatch_UnreadableRecord_CauseIsDeserializationException() {
+        // Given
+        ConsumerRecord<String, EventEnvelope> unreadable = unreadableRecord();
+
+        // When
+        BatchListenerFailedException exception = catchThrowableOfType(BatchListenerFailedException.class,
+                () -> cache.handleBatch(List.of(unreadable), handled::add));
+
+        // Then
+        assertThat(exception.getCause()).isInstanceOf(DeserializationException.class);
+        assertThat(((DeserializationException) exception.getCause()).getData()).isEqualTo("{not json".getBytes());
+    }
+
+    @Test
+    void testHandleBatch_UnreadableRecord_DeadLetteredWithoutRetry() {
+        // Given - même backoff que KafkaErrorHandlingConfig ; le recoverer tient lieu de topic de rejet
+        List<ConsumerRecord<?, ?>> recovered = new ArrayList<>();
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler((record, e) -> recovered.add(record),
+                new ExponentialBackOffWithMaxRetries(5));
+        ConsumerRecord<String, EventEnvelope> unreadable = unreadableRecord();
+        BatchListenerFailedException exception = catchThrowableOfType(BatchListenerFailedException.class,
+                () -> cache.handleBatch(List.of(unreadable), handled::add));
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        when(container.getContainerProperties()).thenReturn(new ContainerProperties("delete-user-products"));
+
+        // When - première livraison en échec
+        errorHandler.handleBatchAndReturnRemaining(exception,
+                new ConsumerRecords<>(Map.of(new TopicPartition("delete-user-products", 0), List.of(unreadable))),
+                mock(Consumer.class), container, () -> { });
+
+        // Then - rejeté tout de suite, sans attendre les relances
+        assertThat(recovered).containsExactly(unreadable);
+    }
+
+    @Test
+    void testHandleBatch_Tombstone_IsIgnored() {
+        // When
+        cache.handleBatch(List.of(record(null)), handled::add);
+
+        // Then
+        assertThat(handled).isEmpty();
+    }
+
+    // Comme ErrorHandlingDeserializer : valeur null et exception sérialisée dans l'en-tête
+    private static ConsumerRecord<String, EventEnvelope> unreadableRecord() {
+        ConsumerRecord<String, EventEnvelope> unreadable = record(null);
+        SerializationUtils.deserializationException(unreadable.headers(), "{not json".getBytes(),
+                new IllegalArgumentException("bad json"), false);
+        return unreadable;
+    }
+
+    private static ConsumerRecord<String, EventEnvelope> record(EventEnvelope event) {
+        return new ConsumerRecord<>("delete-user-products", 0, 0L, null, event);
+    }
+}
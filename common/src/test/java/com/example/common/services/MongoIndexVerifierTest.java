@@ -0,0 +1,89 @@
+package com.example.common.services;
+
+import com.example.common.services.MongoIndexVerifier.HotQuery;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@ExtendWith(MockitoExtension.class)
+class MongoIndexVerifierTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private FindIterable<Document> findIterable;
+
+    private static final HotQuery BY_USER = new HotQuery("findByUserId", Object.class, query(where("userId").is("probe")));
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(Object.class)).thenReturn("products");
+        when(mongoTemplate.getCollection("products")).thenReturn(collection);
+        when(collection.find(any(Document.class))).thenReturn(findIterable);
+    }
+
+    @Test
+    void testRun_IndexScan_Passes() {
+        // Given
+        when(findIterable.explain()).thenReturn(explainOf(
+                new Document("stage", "FETCH").append("inputStage", new Document("stage", "IXSCAN"))));
+        MongoIndexVerifier verifier = new MongoIndexVerifier(mongoTemplate, List.of(BY_USER));
+
+        // When & Then
+        assertThatCode(() -> verifier.run(null)).doesNotThrowAnyException();
+        assertThat(verifier.findUnindexedQueries()).isEmpty();
+    }
+
+    @Test
+    void testRun_CollectionScan_FailsFast() {
+        // Given
+        when(findIterable.explain()).thenReturn(explainOf(new Document("stage", "COLLSCAN")));
+        MongoIndexVerifier verifier = new MongoIndexVerifier(mongoTemplate, List.of(BY_USER));
+
+        // When & Then
+        assertThatThrownBy(() -> verifier.run(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("findByUserId");
+    }
+
+    @Test
+    void testFindUnindexedQueries_NestedCollectionScan_Detected() {
+        // Given - plan SBE (MongoDB 7+) avec un COLLSCAN sous un OR
+        Document plan = new Document("queryPlan", new Document("stage", "OR")
+                .append("inputStages", List.of(
+                        new Document("stage", "IXSCAN"),
+                        new Document("stage", "COLLSCAN"))));
+        when(findIterable.explain()).thenReturn(explainOf(plan));
+        MongoIndexVerifier verifier = new MongoIndexVerifier(mongoTemplate, List.of(BY_USER));
+
+        // When
+        List<String> unindexed = verifier.findUnindexedQueries();
+
+        // Then
+        assertThat(unindexed).containsExactly("findByUserId");
+    }
+
+    private static Document explainOf(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+}
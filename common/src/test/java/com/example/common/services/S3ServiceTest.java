@@ -4,17 +4,43 @@ import com.example.common.exceptions.FileUploadException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -52,7 +78,7 @@ class S3ServiceTest {
 
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn(originalFilename);
-        when(multipartFile.getBytes()).thenReturn(fileContent);
+        stubContent(fileContent);
         when(multipartFile.getContentType()).thenReturn(contentType);
 
         // When
@@ -72,7 +98,7 @@ class S3ServiceTest {
         // Given - Condition: originalFilename == null
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn(null);
-        when(multipartFile.getBytes()).thenReturn("content".getBytes());
+        stubContent("content".getBytes());
         when(multipartFile.getContentType()).thenReturn("text/plain");
 
         // When
@@ -88,7 +114,7 @@ class S3ServiceTest {
         // Given - Condition: originalFilename.isEmpty()
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn("");
-        when(multipartFile.getBytes()).thenReturn("content".getBytes());
+        stubContent("content".getBytes());
         when(multipartFile.getContentType()).thenReturn("text/plain");
 
         // When
@@ -103,7 +129,7 @@ class S3ServiceTest {
         // Given - Test sanitization
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn("test@file#name$.jpg");
-        when(multipartFile.getBytes()).thenReturn("content".getBytes());
+        stubContent("content".getBytes());
         when(multipartFile.getContentType()).thenReturn("image/jpeg");
 
         // When
@@ -122,7 +148,7 @@ class S3ServiceTest {
         // Given
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn("test.jpg");
-        when(multipartFile.getBytes()).thenReturn("content".getBytes());
+        stubContent("content".getBytes());
         when(multipartFile.getContentType()).thenReturn("image/jpeg");
 
         // When
@@ -172,7 +198,7 @@ class S3ServiceTest {
         // Given - Catch IOException
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn("test.jpg");
-        when(multipartFile.getBytes()).thenThrow(new IOException("Test IO error"));
+        when(multipartFile.getInputStream()).thenThrow(new IOException("Test IO error"));
 
         // When & Then
         assertThatThrownBy(() -> s3Service.uploadFile(multipartFile))
@@ -186,7 +212,7 @@ class S3ServiceTest {
         // Given - Catch generic Exception (S3 upload failure)
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn("test.jpg");
-        when(multipartFile.getBytes()).thenReturn("content".getBytes());
+        stubContent("content".getBytes());
         when(multipartFile.getContentType()).thenReturn("image/jpeg");
         when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
                 .thenThrow(new RuntimeException("S3 upload failed"));
@@ -210,7 +236,7 @@ class S3ServiceTest {
 
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn(filename);
-        when(multipartFile.getBytes()).thenReturn(content);
+        stubContent(content);
         when(multipartFile.getContentType()).thenReturn(contentType);
 
         // When
@@ -226,7 +252,7 @@ class S3ServiceTest {
         byte[] fileContent = "test content".getBytes();
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn("test.txt");
-        when(multipartFile.getBytes()).thenReturn(fileContent);
+        stubContent(fileContent);
         when(multipartFile.getContentType()).thenReturn("text/plain");
 
         // When
@@ -247,7 +273,7 @@ class S3ServiceTest {
         // Given
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn("image.png");
-        when(multipartFile.getBytes()).thenReturn("image".getBytes());
+        stubContent("image".getBytes());
         when(multipartFile.getContentType()).thenReturn("image/png");
 
         // When
@@ -268,7 +294,7 @@ class S3ServiceTest {
         long beforeTimestamp = System.currentTimeMillis();
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn("test.jpg");
-        when(multipartFile.getBytes()).thenReturn("content".getBytes());
+        stubContent("content".getBytes());
         when(multipartFile.getContentType()).thenReturn("image/jpeg");
 
         // When
@@ -288,7 +314,7 @@ class S3ServiceTest {
         // Given
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn("test file!@#$%^&*()+=[]{}|;:'\",<>?/\\.jpg");
-        when(multipartFile.getBytes()).thenReturn("content".getBytes());
+        stubContent("content".getBytes());
         when(multipartFile.getContentType()).thenReturn("image/jpeg");
 
         // When
@@ -308,15 +334,18 @@ class S3ServiceTest {
         byte[] largeContent = new byte[10 * 1024 * 1024]; // 10MB
         when(multipartFile.isEmpty()).thenReturn(false);
         when(multipartFile.getOriginalFilename()).thenReturn("large.bin");
-        when(multipartFile.getBytes()).thenReturn(largeContent);
+        stubContent(largeContent);
         when(multipartFile.getContentType()).thenReturn("application/octet-stream");
+        stubMultipartUpload();
 
         // When
         String result = s3Service.uploadFile(multipartFile);
 
-        // Then
+        // Then - 10MB dépasse le seuil par défaut (8MB) : upload multipart en 2 parts
         assertThat(result).isNotNull();
-        verify(s3Client, times(1)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(s3Client, times(2)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client, times(1)).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
     }
 
     @Test
@@ -331,7 +360,7 @@ class S3ServiceTest {
             // Given
             when(multipartFile.isEmpty()).thenReturn(false);
             when(multipartFile.getOriginalFilename()).thenReturn("file.ext");
-            when(multipartFile.getBytes()).thenReturn("content".getBytes());
+            stubContent("content".getBytes());
             when(multipartFile.getContentType()).thenReturn(contentType);
             reset(s3Client);
 
@@ -343,5 +372,315 @@ class S3ServiceTest {
             verify(s3Client, times(1)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
         }
     }
-}
 
+    // ==================== MULTIPART UPLOAD TESTS ====================
+
+    @Test
+    void testUploadFile_AboveThreshold_UploadsPartsOfConfiguredSize() throws IOException {
+        // Given - seuil 1MB, parts de 5MB, fichier de 12MB => 3 parts (5MB, 5MB, 2MB)
+        s3Service = new S3Service(s3Client, TEST_BUCKET, TEST_REGION, DataSize.ofMegabytes(1), DataSize.ofMegabytes(5), Runnable::run, false);
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(multipartFile.getOriginalFilename()).thenReturn("video.mp4");
+        stubContent(new byte[12 * 1024 * 1024]);
+        when(multipartFile.getContentType()).thenReturn("video/mp4");
+        stubMultipartUpload();
+
+        // When
+        s3Service.uploadFile(multipartFile);
+
+        // Then
+        ArgumentCaptor<UploadPartRequest> partCaptor = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3Client, times(3)).uploadPart(partCaptor.capture(), any(RequestBody.class));
+        assertThat(partCaptor.getAllValues())
+                .extracting(UploadPartRequest::partNumber, UploadPartRequest::contentLength)
+                .containsExactly(
+                        tuple(1, 5L * 1024 * 1024),
+                        tuple(2, 5L * 1024 * 1024),
+                        tuple(3, 2L * 1024 * 1024));
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> completeCaptor =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(completeCaptor.capture());
+        assertThat(completeCaptor.getValue().uploadId()).isEqualTo("upload-id");
+        assertThat(completeCaptor.getValue().multipartUpload().parts()).hasSize(3);
+        verify(s3Client, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+    }
+
+    @Test
+    void testUploadFile_BelowThreshold_UsesSinglePut() throws IOException {
+        // Given
+        s3Service = new S3Service(s3Client, TEST_BUCKET, TEST_REGION, DataSize.ofMegabytes(1), DataSize.ofMegabytes(5), Runnable::run, false);
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(multipartFile.getOriginalFilename()).thenReturn("small.jpg");
+        stubContent(new byte[512 * 1024]);
+        when(multipartFile.getContentType()).thenReturn("image/jpeg");
+
+        // When
+        s3Service.uploadFile(multipartFile);
+
+        // Then
+        ArgumentCaptor<PutObjectRequest> putCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(putCaptor.capture(), any(RequestBody.class));
+        assertThat(putCaptor.getValue().contentLength()).isEqualTo(512L * 1024);
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void testUploadFile_PartFailure_AbortsMultipartUpload() throws IOException {
+        // Given
+        s3Service = new S3Service(s3Client, TEST_BUCKET, TEST_REGION, DataSize.ofMegabytes(1), DataSize.ofMegabytes(5), Runnable::run, false);
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(multipartFile.getOriginalFilename()).thenReturn("video.mp4");
+        stubContent(new byte[6 * 1024 * 1024]);
+        when(multipartFile.getContentType()).thenReturn("video/mp4");
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-id").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(new RuntimeException("Part upload failed"));
+
+        // When & Then
+        assertThatThrownBy(() -> s3Service.uploadFile(multipartFile))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("Part upload failed");
+
+        ArgumentCaptor<AbortMultipartUploadRequest> abortCaptor = ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+        verify(s3Client).abortMultipartUpload(abortCaptor.capture());
+        assertThat(abortCaptor.getValue().uploadId()).isEqualTo("upload-id");
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    void testConstructor_PartSizeBelowS3Minimum_Throws() {
+        // When & Then
+        assertThatThrownBy(() -> new S3Service(s3Client, TEST_BUCKET, TEST_REGION,
+                DataSize.ofMegabytes(8), DataSize.ofMegabytes(1), Runnable::run, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("5MB");
+    }
+
+    // ==================== ASYNC UPLOAD TESTS ====================
+
+    @Test
+    void testUploadFileAsync_RunsOnUploadExecutor() throws IOException {
+        // Given
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "s3-upload-test"));
+        s3Service = new S3Service(s3Client, TEST_BUCKET, TEST_REGION,
+                DataSize.ofMegabytes(8), DataSize.ofMegabytes(8), executor, false);
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(multipartFile.getOriginalFilename()).thenReturn("async.jpg");
+        stubContent("content".getBytes());
+        when(multipartFile.getContentType()).thenReturn("image/jpeg");
+        AtomicReference<String> uploadThread = new AtomicReference<>();
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            uploadThread.set(Thread.currentThread().getName());
+            return null;
+        });
+
+        try {
+            // When
+            String url = s3Service.uploadFileAsync(multipartFile).join();
+
+            // Then
+            assertThat(url).endsWith("async.jpg");
+            assertThat(uploadThread.get()).isEqualTo("s3-upload-test");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testUploadFileAsync_FailureCompletesExceptionally() throws IOException {
+        // Given
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(multipartFile.getOriginalFilename()).thenReturn("test.jpg");
+        stubContent("content".getBytes());
+        when(multipartFile.getContentType()).thenReturn("image/jpeg");
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenThrow(new RuntimeException("S3 upload failed"));
+
+        // When
+        CompletableFuture<String> future = s3Service.uploadFileAsync(multipartFile);
+
+        // Then
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(FileUploadException.class);
+    }
+
+    @Test
+    void testUploadFileAsync_EmptyFileCompletesExceptionally() {
+        // Given
+        when(multipartFile.isEmpty()).thenReturn(true);
+
+        // When
+        CompletableFuture<String> future = s3Service.uploadFileAsync(multipartFile);
+
+        // Then
+        assertThatThrownBy(future::join).hasCauseInstanceOf(IllegalArgumentException.class);
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    // ==================== BYTES / DOWNLOAD TESTS ====================
+
+    @Test
+    void testUploadBytes_PutsUnderGivenName() {
+        // Given
+        byte[] content = "thumbnail".getBytes();
+
+        // When
+        String result = s3Service.uploadBytes("123_photo_128.jpg", content, "image/jpeg");
+
+        // Then
+        assertThat(result).isEqualTo("https://test-bucket.s3.eu-north-1.amazonaws.com/123_photo_128.jpg");
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(captor.capture(), any(RequestBody.class));
+        assertThat(captor.getValue().key()).isEqualTo("123_photo_128.jpg");
+        assertThat(captor.getValue().contentLength()).isEqualTo(content.length);
+    }
+
+    @Test
+    void testUploadBytes_S3Error_ThrowsFileUploadException() {
+        // Given
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenThrow(new RuntimeException("S3 down"));
+
+        // When & Then
+        assertThatThrownBy(() -> s3Service.uploadBytes("a.jpg", new byte[1], "image/jpeg"))
+                .isInstanceOf(FileUploadException.class);
+    }
+
+    @Test
+    void testDownloadFile_ReadsKeyFromUrl() {
+        // Given
+        ResponseInputStream<GetObjectResponse> stream = new ResponseInputStream<>(
+                GetObjectResponse.builder().build(), new ByteArrayInputStream(new byte[0]));
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(stream);
+
+        // When
+        s3Service.downloadFile("https://test-bucket.s3.eu-north-1.amazonaws.com/123_photo.png");
+
+        // Then
+        ArgumentCaptor<GetObjectRequest> captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client).getObject(captor.capture());
+        assertThat(captor.getValue().key()).isEqualTo("123_photo.png");
+        assertThat(captor.getValue().bucket()).isEqualTo(TEST_BUCKET);
+    }
+
+    // ==================== CONTENT-ADDRESSED TESTS ====================
+
+    // SHA-256 de "hello"
+    private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @Test
+    void testUploadFile_ContentAddressed_NewContent_UsesHashAsKey() throws IOException {
+        // Given
+        s3Service = contentAddressedService();
+        stubReopenableContent("hello".getBytes());
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().statusCode(404).build());
+
+        // When
+        String result = s3Service.uploadFile(multipartFile);
+
+        // Then
+        assertThat(result).isEqualTo("https://test-bucket.s3.eu-north-1.amazonaws.com/" + HELLO_SHA256);
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(captor.capture(), any(RequestBody.class));
+        assertThat(captor.getValue().key()).isEqualTo(HELLO_SHA256);
+        assertThat(captor.getValue().checksumSHA256()).isEqualTo("LPJNul+wow4m6DsqxbninhsWHlwfp0JecwQzYpOLmCQ=");
+    }
+
+    @Test
+    void testUploadFile_ContentAddressed_ExistingContent_SkipsPut() throws IOException {
+        // Given
+        s3Service = contentAddressedService();
+        stubReopenableContent("hello".getBytes());
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder().build());
+
+        // When
+        String result = s3Service.uploadFile(multipartFile);
+
+        // Then
+        assertThat(result).endsWith("/" + HELLO_SHA256);
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void testUploadFile_ContentAddressed_HeadObjectForbidden_ThrowsFileUploadException() throws IOException {
+        // Given
+        s3Service = contentAddressedService();
+        stubReopenableContent("hello".getBytes());
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(S3Exception.builder().statusCode(403).build());
+
+        // When & Then
+        assertThatThrownBy(() -> s3Service.uploadFile(multipartFile)).isInstanceOf(FileUploadException.class);
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void testUploadFile_TimestampMode_NoHeadObject() throws IOException {
+        // Given
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(multipartFile.getOriginalFilename()).thenReturn("photo.jpg");
+        stubContent("hello".getBytes());
+
+        // When
+        s3Service.uploadFile(multipartFile);
+
+        // Then
+        verify(s3Client, never()).headObject(any(HeadObjectRequest.class));
+    }
+
+    @Test
+    void testDeleteFiles_BatchesOfOneThousandKeys() {
+        // Given
+        List<String> urls = IntStream.range(0, 1001)
+                .mapToObj(i -> "https://test-bucket.s3.eu-north-1.amazonaws.com/key-" + i)
+                .toList();
+
+        // When
+        s3Service.deleteFiles(urls);
+
+        // Then
+        ArgumentCaptor<DeleteObjectsRequest> captor = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client, times(2)).deleteObjects(captor.capture());
+        assertThat(captor.getAllValues().get(0).delete().objects()).hasSize(1000);
+        assertThat(captor.getAllValues().get(1).delete().objects())
+                .extracting(ObjectIdentifier::key)
+                .containsExactly("key-1000");
+    }
+
+    @Test
+    void testDeleteFiles_Empty_NoRequest() {
+        // When
+        s3Service.deleteFiles(List.of());
+
+        // Then
+        verifyNoInteractions(s3Client);
+    }
+
+    private S3Service contentAddressedService() {
+        return new S3Service(s3Client, TEST_BUCKET, TEST_REGION,
+                DataSize.ofMegabytes(8), DataSize.ofMegabytes(8), Runnable::run, true);
+    }
+
+    // Le contenu est lu deux fois en mode content-addressed (empreinte puis upload)
+    private void stubReopenableContent(byte[] content) throws IOException {
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(multipartFile.getSize()).thenReturn((long) content.length);
+        when(multipartFile.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(content));
+    }
+
+    private void stubContent(byte[] content) throws IOException {
+        when(multipartFile.getSize()).thenReturn((long) content.length);
+        when(multipartFile.getInputStream()).thenReturn(new ByteArrayInputStream(content));
+    }
+
+    private void stubMultipartUpload() {
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-id").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+    }
+}
@@ -1,7 +1,7 @@
 import {Injectable} from '@angular/core';
 import {environment} from '../../environments/environment.development';
-import {HttpClient, HttpHeaders} from '@angular/common/http';
-import {Observable} from 'rxjs';
+import {HttpClient, HttpHeaders, HttpParams, HttpResponse} from '@angular/common/http';
+import {EMPTY, expand, map, Observable, reduce} from 'rxjs';
 import {Product} from '../entity/Product';
 
 @Injectable({
@@ -15,11 +15,30 @@ export class ProductService {
     }
 
     getAllProducts(): Observable<Product[]> {
-        return this.http.get<Product[]>(this.apiUrl);
+        return this.getAllPages(this.apiUrl);
     }
 
     getAllProductsByUserId(userId: string): Observable<Product[]> {
-        return this.http.get<Product[]>(`${this.apiUrl}/${userId}/user`);
+        return this.getAllPages(`${this.apiUrl}/${userId}/user`);
+    }
+
+    /**
+     * Le backend renvoie au plus 50 produits par page et l'id du dernier dans l'en-tête X-Next-Cursor
+     * tant qu'il reste des produits : on suit le curseur jusqu'à la dernière page.
+     */
+    private getAllPages(url: string): Observable<Product[]> {
+        const getPage = (cursor: string | null) => {
+            const params = cursor ? new HttpParams().set('cursor', cursor) : new HttpParams();
+            return this.http.get<Product[]>(url, {params, observe: 'response'});
+        };
+        return getPage(null).pipe(
+            expand((response: HttpResponse<Product[]>) => {
+                const next = response.headers.get('X-Next-Cursor');
+                return next ? getPage(next) : EMPTY;
+            }),
+            map(response => response.body ?? []),
+            reduce((all: Product[], page: Product[]) => all.concat(page), [])
+        );
     }
 
     getProductById(id: string): Observable<Product> {
@@ -0,0 +1,58 @@
+package com.example.mediaservice.config;
+
+import com.example.mediaservice.data.entities.Media;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gère l'index de {@code imagePath} sur la collection medias, qui n'est volontairement pas déclaré
+ * par {@code @Indexed} : l'index créé avec le {@code MongoTemplate} le serait avant cette migration et
+ * entrerait en conflit (IndexOptionsConflict) avec l'ancien index unique {@code imagePath_1}.
+ * <p>
+ * Avec des clés S3 dérivées du contenu, plusieurs médias partagent la même image : tout autre index
+ * sur {@code imagePath} (l'ancien unique notamment) est supprimé, puis l'index non unique
+ * {@code imagePath_shared} est créé. S'exécute pendant l'initialisation du contexte, avant que le
+ * serveur web et les listeners Kafka ne démarrent ; sans effet quand l'index est déjà en place.
+ */
+@Slf4j
+@Component
+public class MediaIndexMigration implements InitializingBean {
+
+    static final String IMAGE_PATH_FIELD = "imagePath";
+    static final String SHARED_IMAGE_PATH_INDEX = "imagePath_shared";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MediaIndexMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(Media.class);
+            for (IndexInfo index : indexOps.getIndexInfo()) {
+                if (isOnImagePathOnly(index) && (index.isUnique() || !SHARED_IMAGE_PATH_INDEX.equals(index.getName()))) {
+                    indexOps.dropIndex(index.getName());
+                    log.info("Dropped index {} on medias.{}", index.getName(), IMAGE_PATH_FIELD);
+                }
+            }
+            indexOps.createIndex(new Index(IMAGE_PATH_FIELD, Sort.Direction.ASC).named(SHARED_IMAGE_PATH_INDEX));
+        } catch (DataAccessException e) {
+            // MongoDB indisponible : la migration sera retentée au prochain démarrage
+            log.warn("Could not migrate index {}: {}", SHARED_IMAGE_PATH_INDEX, e.getMessage());
+        }
+    }
+
+    private static boolean isOnImagePathOnly(IndexInfo index) {
+        return index.getIndexFields().size() == 1
+                && IMAGE_PATH_FIELD.equals(index.getIndexFields().get(0).getKey());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.mediaservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class MediaVariantConfig {
+
+    /**
+     * Pool de génération des variantes, séparé de {@code s3UploadExecutor} : le redimensionnement
+     * occupe le CPU et ne doit pas retarder les uploads des requêtes en cours.
+     * File pleine : la tâche est refusée et le média garde seulement son original.
+     */
+    @Bean
+    public AsyncTaskExecutor mediaVariantExecutor(@Value("${media.variants.pool-size:2}") int poolSize,
+                                                  @Value("${media.variants.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("media-variant-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.mediaservice.config;
+
+import com.example.common.services.MongoIndexVerifier;
+import com.example.common.services.MongoIndexVerifier.HotQuery;
+import com.example.mediaservice.data.entities.Media;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Configuration
+@ConditionalOnProperty(name = "mongo.index-verification.enabled", havingValue = "true")
+public class MongoIndexConfig {
+
+    static final String PROBE = "index-verification-probe";
+
+    @Bean
+    public MongoIndexVerifier mongoIndexVerifier(MongoTemplate mongoTemplate) {
+        return new MongoIndexVerifier(mongoTemplate, List.of(
+                new HotQuery("MediaRepository.getAllByProductId", Media.class, query(where("productId").is(PROBE))),
+                new HotQuery("MediaRepository.findByProductIdIn", Media.class, query(where("productId").in(PROBE))),
+                new HotQuery("MediaRepository.deleteMediaByProductId", Media.class, query(where("productId").is(PROBE))),
+                new HotQuery("MediaRepository.findByImagePath", Media.class, query(where("imagePath").is(PROBE)))
+        ));
+    }
+}
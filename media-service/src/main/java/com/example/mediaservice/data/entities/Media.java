@@ -3,8 +3,11 @@ package com.example.mediaservice.data.entities;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.Map;
+
 @Getter
 @Setter
 @Builder
@@ -14,6 +17,11 @@ import org.springframework.data.mongodb.core.mapping.Document;
 public class Media {
     @Id
     private String id;
+    // Non unique : des médias au contenu identique partagent le même objet S3 (voir MediaObject).
+    // Index créé par MediaIndexMigration après suppression de l'ancien index unique imagePath_1
     private String imagePath;
+    @Indexed
     private String productId;
+    // Taille du plus grand côté (ex. "512") -> URL de la version JPEG réduite ; absent tant qu'elles ne sont pas générées
+    private Map<String, String> variants;
 }
@@ -0,0 +1,23 @@
+package com.example.mediaservice.data.entities;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Fichier S3 partagé par plusieurs médias : avec des clés dérivées du contenu, la même image
+ * uploadée pour deux produits n'est stockée qu'une fois. L'objet S3 est supprimé quand
+ * plus aucun média ne le référence.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "media_objects")
+public class MediaObject {
+    // URL de l'objet, identique à Media.imagePath
+    @Id
+    private String imagePath;
+    private long refCount;
+}
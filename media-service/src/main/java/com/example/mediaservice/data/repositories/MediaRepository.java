@@ -2,16 +2,40 @@ package com.example.mediaservice.data.repositories;
 
 import com.example.mediaservice.data.entities.Media;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MediaRepository extends MongoRepository<Media, String> {
     Optional<Media> findByProductId(String productId);
 
+    // Plusieurs médias peuvent partager un même objet S3 (clés dérivées du contenu)
+    List<Media> findByImagePath(String imagePath);
+
+    List<Media> findByImagePathAndProductId(String imagePath, String productId);
+
     List<Media> getAllByProductId(String productId);
 
-    void deleteMediaByProductId(String productId);
+    /**
+     * Médias de plusieurs produits en une requête {@code productId: {$in: [...]}} sur l'index {@code productId},
+     * limitée aux champs renvoyés au client.
+     */
+    @Query(value = "{ 'productId': { $in: ?0 } }", fields = "{ 'imagePath': 1, 'productId': 1, 'variants': 1 }", sort = "{ '_id': 1 }")
+    List<Media> findByProductIdIn(Collection<String> productIds);
+
+    /**
+     * @return les médias supprimés, pour libérer leurs objets S3
+     */
+    List<Media> deleteMediaByProductId(String productId);
+
+    /**
+     * Un seul {@code deleteMany} avec {@code productId: {$in: [...]}}.
+     *
+     * @return les médias supprimés, pour libérer leurs objets S3
+     */
+    List<Media> deleteMediaByProductIdIn(Collection<String> productIds);
 
-    void deleteMediaByImagePath(String imagePath);
+    List<Media> deleteMediaByImagePath(String imagePath);
 }
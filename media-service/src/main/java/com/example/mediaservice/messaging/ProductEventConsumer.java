@@ -1,23 +1,54 @@
 package com.example.mediaservice.messaging;
 
+import com.example.common.events.EventEnvelope;
+import com.example.common.events.ProcessedEventCache;
 import com.example.mediaservice.services.MediaService;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class ProductEventConsumer {
     private final MediaService mediaService;
+    private final ProcessedEventCache processedEvents;
 
-    public ProductEventConsumer(MediaService mediaService) {
+    public ProductEventConsumer(MediaService mediaService, ProcessedEventCache processedEvents) {
         this.mediaService = mediaService;
+        this.processedEvents = processedEvents;
+    }
+
+    /**
+     * Un lot = un poll : les médias des produits reçus sont supprimés en une seule requête.
+     * En cas d'erreur le lot entier est relancé (voir {@code KafkaErrorHandlingConfig}) ; les événements
+     * déjà traités par cette instance sont ignorés.
+     */
+    @KafkaListener(topics = "delete-product-media", batch = "true", properties = {
+            "max.poll.records=${messaging.batch.max-records:500}",
+            "fetch.min.bytes=${messaging.batch.min-bytes:16384}",
+            "fetch.max.wait.ms=${messaging.batch.linger-ms:200}"
+    })
+    public void deleteProducts(List<ConsumerRecord<String, EventEnvelope>> records) {
+        processedEvents.handleBatch(records, events -> {
+            Set<String> productIds = ids(events);
+            log.info("Received {} messages, deleting media for {} products", records.size(), productIds.size());
+            if (!productIds.isEmpty()) {
+                mediaService.deleteMediaByProductIds(productIds);
+            }
+        });
     }
 
-    @KafkaListener(topics = "delete-product-media")
-    public void deleteProduct(String productId) {
-        log.info("Received message:");
-        log.info("Delete media by product id: {}", productId);
-        mediaService.deleteMediaByProductId(productId);
+    private static Set<String> ids(List<EventEnvelope> events) {
+        return events.stream()
+                .flatMap(event -> event.ids().stream())
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 }
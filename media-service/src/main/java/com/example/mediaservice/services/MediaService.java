@@ -2,23 +2,55 @@ package com.example.mediaservice.services;
 
 import com.example.mediaservice.data.entities.Media;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface MediaService {
     List<Media> getAllMedias();
 
     Media getMediaById(String id);
 
+    /**
+     * Médias dont l'id figure dans {@code ids}, lus en une seule requête {@code _id: {$in: [...]}}.
+     *
+     * @return les médias trouvés indexés par id ; les ids inconnus sont absents
+     */
+    Map<String, Media> getMediasByIds(Collection<String> ids);
+
+    /**
+     * Médias qui référencent l'image, limités au produit {@code productId} s'il est fourni.
+     * Avec des clés dérivées du contenu, la même image peut appartenir à plusieurs produits.
+     */
+    List<Media> getByImagePath(String imagePath, String productId);
+
     Media saveMedia(Media media);
 
+    List<Media> saveAllMedias(List<Media> medias);
+
+    /**
+     * Supprime du bucket les objets uploadés pour des médias finalement non enregistrés. Un objet
+     * déjà référencé par un autre média (même contenu) est conservé.
+     */
+    void discardUploads(Collection<String> imagePaths);
+
     Media deleteMedia(Media media);
 
     Media updateMedia(Media media);
 
     List<Media> getByProductId(String productId);
 
+    /**
+     * Médias de plusieurs produits, lus en une seule requête.
+     *
+     * @return pour chaque produit demandé, dans l'ordre de {@code productIds}, ses médias (liste vide s'il n'en a pas)
+     */
+    Map<String, List<Media>> getByProductIds(Collection<String> productIds);
+
     void deleteMediaByProductId(String productId);
 
+    void deleteMediaByProductIds(Collection<String> productIds);
+
     void deleteByImagePath(String imagePath);
 
 }
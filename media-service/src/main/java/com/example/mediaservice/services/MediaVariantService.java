@@ -0,0 +1,17 @@
+package com.example.mediaservice.services;
+
+import com.example.mediaservice.data.entities.Media;
+
+import java.util.List;
+
+/**
+ * Versions réduites des images uploadées, pour que les listes ne téléchargent pas l'original.
+ */
+public interface MediaVariantService {
+
+    /**
+     * Planifie la génération des variantes en arrière-plan ; ne bloque pas l'appelant.
+     * Tant qu'elles ne sont pas prêtes (ou si la génération échoue), le média n'a que son original.
+     */
+    void generateVariantsAsync(List<Media> medias);
+}
@@ -1,18 +1,47 @@
 package com.example.mediaservice.services.impl;
 
+import com.example.common.services.S3Service;
 import com.example.mediaservice.data.entities.Media;
+import com.example.mediaservice.data.entities.MediaObject;
 import com.example.mediaservice.data.repositories.MediaRepository;
 import com.example.mediaservice.services.MediaService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Les créations et suppressions de médias tiennent à jour le nombre de références de chaque
+ * objet S3 ({@link MediaObject}) ; l'objet et ses variantes sont supprimés du bucket quand
+ * le dernier média qui le référence disparaît.
+ */
+@Slf4j
 @Service
 public class MediaServiceImpl implements MediaService {
+    static final String REF_COUNT = "refCount";
+
     private final MediaRepository mediaRepository;
+    private final MongoTemplate mongoTemplate;
+    private final S3Service s3Service;
 
-    public MediaServiceImpl(MediaRepository mediaRepository) {
+    public MediaServiceImpl(MediaRepository mediaRepository, MongoTemplate mongoTemplate, S3Service s3Service) {
         this.mediaRepository = mediaRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.s3Service = s3Service;
     }
 
     @Override
@@ -25,14 +54,63 @@ public class MediaServiceImpl implements MediaService {
         return mediaRepository.findById(id).orElse(null);
     }
 
+    @Override
+    public Map<String, Media> getMediasByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Media> medias = new LinkedHashMap<>();
+        mediaRepository.findAllById(ids).forEach(media -> medias.put(media.getId(), media));
+        return medias;
+    }
+
+    @Override
+    public List<Media> getByImagePath(String imagePath, String productId) {
+        return productId != null
+                ? mediaRepository.findByImagePathAndProductId(imagePath, productId)
+                : mediaRepository.findByImagePath(imagePath);
+    }
+
     @Override
     public Media saveMedia(Media media) {
-        return mediaRepository.save(media);
+        Media saved = mediaRepository.save(media);
+        retain(List.of(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Media> saveAllMedias(List<Media> medias) {
+        List<Media> saved = mediaRepository.saveAll(medias);
+        retain(saved);
+        return saved;
+    }
+
+    /**
+     * Un upload concurrent du même contenu, pas encore enregistré, n'a pas de compteur : son objet peut
+     * être supprimé ici, comme dans la fenêtre décrite sur {@link #release}.
+     */
+    @Override
+    public void discardUploads(Collection<String> imagePaths) {
+        if (imagePaths.isEmpty()) {
+            return;
+        }
+        Set<String> orphans = new LinkedHashSet<>(imagePaths);
+        mongoTemplate.find(query(where("_id").in(orphans)), MediaObject.class)
+                .forEach(object -> orphans.remove(object.getImagePath()));
+        if (orphans.isEmpty()) {
+            return;
+        }
+        try {
+            s3Service.deleteFiles(orphans);
+        } catch (Exception e) {
+            log.warn("Could not delete {} discarded uploads: {}", orphans.size(), e.getMessage());
+        }
     }
 
     @Override
     public Media deleteMedia(Media media) {
         mediaRepository.delete(media);
+        release(List.of(media));
         return media;
     }
 
@@ -46,14 +124,92 @@ public class MediaServiceImpl implements MediaService {
         return mediaRepository.getAllByProductId(productId);
     }
 
+    @Override
+    public Map<String, List<Media>> getByProductIds(Collection<String> productIds) {
+        Map<String, List<Media>> mediasByProduct = new LinkedHashMap<>();
+        productIds.forEach(productId -> mediasByProduct.put(productId, new ArrayList<>()));
+        if (mediasByProduct.isEmpty()) {
+            return mediasByProduct;
+        }
+        for (Media media : mediaRepository.findByProductIdIn(mediasByProduct.keySet())) {
+            mediasByProduct.get(media.getProductId()).add(media);
+        }
+        return mediasByProduct;
+    }
+
     @Override
     public void deleteMediaByProductId(String productId) {
-        mediaRepository.deleteMediaByProductId(productId);
+        release(mediaRepository.deleteMediaByProductId(productId));
+    }
+
+    @Override
+    public void deleteMediaByProductIds(Collection<String> productIds) {
+        release(mediaRepository.deleteMediaByProductIdIn(productIds));
     }
 
     @Override
     public void deleteByImagePath(String imagePath) {
-        mediaRepository.deleteMediaByImagePath(imagePath);
+        release(mediaRepository.deleteMediaByImagePath(imagePath));
+    }
+
+    // Une seule requête bulk : +n par objet, créé au premier média qui le référence
+    private void retain(List<Media> medias) {
+        Map<String, Long> references = countByImagePath(medias);
+        if (references.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MediaObject.class);
+        references.forEach((imagePath, count) ->
+                bulk.upsert(query(where("_id").is(imagePath)), new Update().inc(REF_COUNT, count)));
+        bulk.execute();
+    }
+
+    /**
+     * Décrémente les références puis supprime les objets qui n'en ont plus. Un objet sans compteur
+     * (uploadé avant le comptage) n'est jamais supprimé. La suppression du compteur est conditionnée
+     * à {@code refCount <= 0} : un média créé entre-temps sur le même contenu la fait échouer et
+     * l'objet est conservé. Il reste une fenêtre étroite où un upload voit l'objet (HeadObject)
+     * juste avant sa suppression ; le média pointe alors vers un objet absent.
+     */
+    private void release(Collection<Media> medias) {
+        Map<String, Long> references = countByImagePath(medias);
+        if (references.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MediaObject.class);
+        references.forEach((imagePath, count) ->
+                bulk.updateOne(query(where("_id").is(imagePath)), new Update().inc(REF_COUNT, -count)));
+        bulk.execute();
+
+        Set<String> unreferenced = new LinkedHashSet<>();
+        for (MediaObject object : mongoTemplate.find(
+                query(where("_id").in(references.keySet()).and(REF_COUNT).lte(0)), MediaObject.class)) {
+            if (mongoTemplate.remove(query(where("_id").is(object.getImagePath()).and(REF_COUNT).lte(0)),
+                    MediaObject.class).getDeletedCount() == 1) {
+                unreferenced.add(object.getImagePath());
+            }
+        }
+        if (unreferenced.isEmpty()) {
+            return;
+        }
+
+        Set<String> urls = new LinkedHashSet<>(unreferenced);
+        medias.stream()
+                .filter(media -> unreferenced.contains(media.getImagePath()) && media.getVariants() != null)
+                .forEach(media -> urls.addAll(media.getVariants().values()));
+        try {
+            s3Service.deleteFiles(urls);
+        } catch (Exception e) {
+            // Les médias sont déjà supprimés : l'échec laisse seulement des objets orphelins dans le bucket
+            log.warn("Could not delete {} unreferenced S3 objects: {}", urls.size(), e.getMessage());
+        }
+    }
+
+    private static Map<String, Long> countByImagePath(Collection<Media> medias) {
+        return medias.stream()
+                .map(Media::getImagePath)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(imagePath -> imagePath, LinkedHashMap::new, Collectors.counting()));
     }
 
 }
@@ -0,0 +1,123 @@
+package com.example.mediaservice.services.impl;
+
+import com.example.common.services.S3Service;
+import com.example.mediaservice.data.entities.Media;
+import com.example.mediaservice.services.MediaVariantService;
+import com.example.mediaservice.utils.ImageResizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Génère, pour chaque taille de {@code media.variants.sizes}, une copie JPEG dont le plus grand côté
+ * mesure cette taille, l'uploade à côté de l'original ({@code <original>_<taille>.jpg}) et enregistre
+ * son URL dans {@link Media#getVariants()}. Une image plus petite qu'une taille n'est pas agrandie :
+ * cette variante est absente et le client utilise l'original.
+ */
+@Slf4j
+@Service
+public class MediaVariantServiceImpl implements MediaVariantService {
+
+    static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+    static final String GENERATION_TIMER = "media.variants.generation";
+    static final String REJECTED_COUNTER = "media.variants.rejected";
+
+    private final S3Service s3Service;
+    private final MongoTemplate mongoTemplate;
+    private final Executor executor;
+    private final List<Integer> sizes;
+    private final float quality;
+    private final long maxPixels;
+    private final MeterRegistry meterRegistry;
+
+    public MediaVariantServiceImpl(S3Service s3Service,
+                                   MongoTemplate mongoTemplate,
+                                   @Qualifier("mediaVariantExecutor") Executor executor,
+                                   @Value("${media.variants.sizes:128,512,1024}") List<Integer> sizes,
+                                   @Value("${media.variants.quality:0.8}") float quality,
+                                   @Value("${media.variants.max-pixels:40000000}") long maxPixels,
+                                   MeterRegistry meterRegistry) {
+        this.s3Service = s3Service;
+        this.mongoTemplate = mongoTemplate;
+        this.executor = executor;
+        this.sizes = List.copyOf(sizes);
+        this.quality = quality;
+        this.maxPixels = maxPixels;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void generateVariantsAsync(List<Media> medias) {
+        for (Media media : medias) {
+            try {
+                executor.execute(() -> generateVariants(media));
+            } catch (RejectedExecutionException e) {
+                log.warn("Variant queue full, media {} keeps only its original", media.getId());
+                meterRegistry.counter(REJECTED_COUNTER).increment();
+            }
+        }
+    }
+
+    /**
+     * @return les URLs des variantes générées par taille ; vide si l'image n'a pas pu être lue
+     */
+    Map<String, String> generateVariants(Media media) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            BufferedImage original;
+            try (InputStream input = s3Service.downloadFile(media.getImagePath())) {
+                original = ImageResizer.read(input, maxPixels);
+            }
+            if (original == null) {
+                outcome = "unsupported";
+                log.info("Media {} is not a readable image, no variants generated", media.getId());
+                return Map.of();
+            }
+
+            String baseName = baseName(S3Service.fileNameOf(media.getImagePath()));
+            int longestEdge = Math.max(original.getWidth(), original.getHeight());
+            Map<String, String> variants = new LinkedHashMap<>();
+            for (int size : sizes) {
+                if (size < longestEdge) {
+                    byte[] jpeg = ImageResizer.toJpeg(ImageResizer.resize(original, size), quality);
+                    variants.put(String.valueOf(size),
+                            s3Service.uploadBytes(baseName + "_" + size + ".jpg", jpeg, VARIANT_CONTENT_TYPE));
+                }
+            }
+            if (!variants.isEmpty()) {
+                // Mise à jour du seul champ variants : ne pas écraser une modification faite entre-temps
+                mongoTemplate.updateFirst(query(where("_id").is(media.getId())),
+                        new Update().set("variants", variants), Media.class);
+            }
+            return variants;
+        } catch (Exception e) {
+            outcome = "failure";
+            log.warn("Variant generation failed for media {}: {}", media.getId(), e.getMessage());
+            return Map.of();
+        } finally {
+            sample.stop(meterRegistry.timer(GENERATION_TIMER, "outcome", outcome));
+        }
+    }
+
+    private static String baseName(String fileName) {
+        int extension = fileName.lastIndexOf('.');
+        return extension > 0 ? fileName.substring(0, extension) : fileName;
+    }
+}
@@ -21,6 +21,7 @@ public class MapperMedia {
         mediaResponse.setId(media.getId());
         mediaResponse.setImagePath(media.getImagePath());
         mediaResponse.setProductId(media.getProductId());
+        mediaResponse.setVariants(media.getVariants());
         return mediaResponse;
     }
 
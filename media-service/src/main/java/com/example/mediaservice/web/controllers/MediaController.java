@@ -9,20 +9,36 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RequestMapping("/api/v1/media")
 public interface MediaController {
     @GetMapping("")
     ResponseEntity<Map<String, Object>> getAllMedias();
 
+    /**
+     * Médias demandés ({@code ?ids=a,b,c}, au plus 100), indexés par id sous {@code medias} ; les ids inconnus sont absents.
+     */
+    @GetMapping("/batch")
+    ResponseEntity<Map<String, Object>> getMediasByIds(@RequestParam("ids") List<String> ids);
+
     @GetMapping("/{id}")
     ResponseEntity<Map<String, Object>> getMediaById(@PathVariable String id);
 
     @GetMapping("/product/{id}")
     ResponseEntity<Map<String, Object>> getMediaByProductId(@PathVariable String id);
 
+    /**
+     * Médias de plusieurs produits ({@code ?productIds=a,b,c}, au plus 100), groupés par produit sous {@code medias}.
+     */
+    @GetMapping("/product")
+    ResponseEntity<Map<String, Object>> getMediasByProductIds(@RequestParam("productIds") List<String> productIds);
+
+    /**
+     * Réponse asynchrone : le thread de requête est rendu pendant les uploads vers S3.
+     */
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    ResponseEntity<Map<String, Object>> createMedia(@RequestParam("imagePath") List<MultipartFile> imageFile,
+    CompletableFuture<ResponseEntity<Map<String, Object>>> createMedia(@RequestParam("imagePath") List<MultipartFile> imageFile,
                                                     @RequestParam("productId") String productId);
 
     @PutMapping("/{id}")
@@ -31,6 +47,11 @@ public interface MediaController {
     @DeleteMapping("/{id}")
     ResponseEntity<Map<String, Object>> deleteMedia(@PathVariable String id);
 
+    /**
+     * Supprime le média du produit {@code productId} qui référence l'image. Sans {@code productId},
+     * répond 409 si l'image est partagée par plusieurs produits.
+     */
     @DeleteMapping("/path/{imagePath}")
-    ResponseEntity<Map<String, Object>> deleteByImagePath(@PathVariable("imagePath") String imagePath);
+    ResponseEntity<Map<String, Object>> deleteByImagePath(@PathVariable("imagePath") String imagePath,
+                                                          @RequestParam(value = "productId", required = false) String productId);
 }
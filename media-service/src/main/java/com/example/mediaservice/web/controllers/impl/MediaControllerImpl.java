@@ -3,6 +3,7 @@ package com.example.mediaservice.web.controllers.impl;
 import com.example.common.services.S3Service;
 import com.example.mediaservice.data.entities.Media;
 import com.example.mediaservice.services.MediaService;
+import com.example.mediaservice.services.MediaVariantService;
 import com.example.mediaservice.utils.mappers.MapperMedia;
 import com.example.mediaservice.web.controllers.MediaController;
 import com.example.mediaservice.web.dto.requests.MediaDtoAll;
@@ -14,20 +15,28 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @Slf4j
 public class MediaControllerImpl implements MediaController {
     private final MediaService mediaService;
     private final S3Service s3Service;
+    private final MediaVariantService mediaVariantService;
     static final String MESSAGE_KEY = "message";
     static final String MEDIA_KEY = "media";
+    static final String MEDIAS_KEY = "medias";
+    static final int MAX_BATCH_SIZE = 100;
 
-    public MediaControllerImpl(MediaService mediaService, S3Service s3Service) {
+    public MediaControllerImpl(MediaService mediaService, S3Service s3Service, MediaVariantService mediaVariantService) {
         this.mediaService = mediaService;
         this.s3Service = s3Service;
+        this.mediaVariantService = mediaVariantService;
     }
 
     @Override
@@ -42,7 +51,7 @@ public class MediaControllerImpl implements MediaController {
         List<MediaResponse> mediaDtoAlls = medias.stream()
                 .map(MapperMedia::toDto)
                 .toList();
-        response.put("medias", mediaDtoAlls);
+        response.put(MEDIAS_KEY, mediaDtoAlls);
         return ResponseEntity.status(200).body(response);
     }
 
@@ -53,6 +62,21 @@ public class MediaControllerImpl implements MediaController {
         return getMapResponseEntity(response, media);
     }
 
+    @Override
+    public ResponseEntity<Map<String, Object>> getMediasByIds(List<String> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(MESSAGE_KEY, "You can't request more than " + MAX_BATCH_SIZE + " medias"));
+        }
+        Map<String, MediaResponse> medias = new LinkedHashMap<>();
+        mediaService.getMediasByIds(new LinkedHashSet<>(ids))
+                .forEach((id, media) -> medias.put(id, MapperMedia.toDto(media)));
+        HashMap<String, Object> response = new HashMap<>();
+        response.put(MESSAGE_KEY, "Medias found");
+        response.put(MEDIAS_KEY, medias);
+        return ResponseEntity.status(200).body(response);
+    }
+
     @Override
     public ResponseEntity<Map<String, Object>> getMediaByProductId(String id) {
         HashMap<String, Object> response = new HashMap<>();
@@ -67,6 +91,22 @@ public class MediaControllerImpl implements MediaController {
         return ResponseEntity.status(200).body(response);
     }
 
+    @Override
+    public ResponseEntity<Map<String, Object>> getMediasByProductIds(List<String> productIds) {
+        if (productIds.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(MESSAGE_KEY, "You can't request the medias of more than " + MAX_BATCH_SIZE + " products"));
+        }
+        Map<String, List<MediaResponse>> medias = new LinkedHashMap<>();
+        mediaService.getByProductIds(new LinkedHashSet<>(productIds))
+                .forEach((productId, productMedias) ->
+                        medias.put(productId, productMedias.stream().map(MapperMedia::toDto).toList()));
+        HashMap<String, Object> response = new HashMap<>();
+        response.put(MESSAGE_KEY, "Medias found");
+        response.put(MEDIAS_KEY, medias);
+        return ResponseEntity.status(200).body(response);
+    }
+
     private ResponseEntity<Map<String, Object>> getMapResponseEntity(HashMap<String, Object> response, Media media) {
         if (media == null) {
             response.put(MESSAGE_KEY, "Media not found");
@@ -79,24 +119,59 @@ public class MediaControllerImpl implements MediaController {
     }
 
     @Override
-    public ResponseEntity<Map<String, Object>> createMedia(List<MultipartFile> imageFile, String productId) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> createMedia(List<MultipartFile> imageFile,
+                                                                             String productId) {
         if (imageFile.size() > 3) {
-            return ResponseEntity.badRequest().body(Map.of(MESSAGE_KEY, "You can't upload more than 3 images"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of(MESSAGE_KEY, "You can't upload more than 3 images")));
         }
 
-        HashMap<String, Object> response = new HashMap<>();
+        List<CompletableFuture<String>> uploads = imageFile.stream()
+                .map(s3Service::uploadFileAsync)
+                .toList();
+        // La suite s'exécute sur le thread qui termine le dernier upload
+        return CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new))
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        throw uploadFailure(uploads, error);
+                    }
+                    // L'URL i correspond au fichier i
+                    return saveMedias(uploads.stream().map(CompletableFuture::join).toList(), productId);
+                });
+    }
+
+    private ResponseEntity<Map<String, Object>> saveMedias(List<String> imagePaths, String productId) {
         List<Media> medias = new ArrayList<>();
-        for (MultipartFile file : imageFile) {
-            String imagePath = s3Service.uploadFile(file);
+        for (String imagePath : imagePaths) {
             Media media = MapperMedia.toEntity(new MediaDtoAll(null, imagePath, productId));
             media.setImagePath(imagePath);
-            medias.add(mediaService.saveMedia(media));
+            medias.add(media);
+        }
+        List<Media> saved;
+        try {
+            saved = mediaService.saveAllMedias(medias);
+        } catch (RuntimeException e) {
+            mediaService.discardUploads(imagePaths);
+            throw e;
         }
+        // Les variantes sont générées après la réponse : l'upload n'attend pas le redimensionnement
+        mediaVariantService.generateVariantsAsync(saved);
+        HashMap<String, Object> response = new HashMap<>();
         response.put(MESSAGE_KEY, "Media created");
-        response.put(MEDIA_KEY, medias);
+        response.put(MEDIA_KEY, saved);
         return ResponseEntity.status(201).body(response);
     }
 
+    // Supprime les fichiers déjà uploadés, qu'aucun média ne référencera, et rend la première erreur telle quelle
+    private RuntimeException uploadFailure(List<CompletableFuture<String>> uploads, Throwable error) {
+        mediaService.discardUploads(uploads.stream()
+                .filter(upload -> !upload.isCompletedExceptionally())
+                .map(CompletableFuture::join)
+                .toList());
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+    }
+
     @Override
     public ResponseEntity<Map<String, Object>> updateMedia(String id, MediaDtoAll mediaDtoAll) {
         Media media = mediaService.getMediaById(id);
@@ -126,19 +201,21 @@ public class MediaControllerImpl implements MediaController {
     }
 
     @Override
-    public ResponseEntity<Map<String, Object>> deleteByImagePath(String imagePath) {
-        log.info("deleteByImagePath: {}", imagePath);
+    public ResponseEntity<Map<String, Object>> deleteByImagePath(String imagePath, String productId) {
+        log.info("deleteByImagePath: {} (product {})", imagePath, productId);
 
-        Media media = mediaService.getAllMedias().stream()
-                .filter(m -> m.getImagePath().equals(imagePath))
-                .findFirst()
-                .orElse(null);
+        List<Media> medias = mediaService.getByImagePath(imagePath, productId);
 
-        if (media == null) {
+        if (medias.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        // Plusieurs médias d'un même produit sur la même image sont interchangeables ; entre produits, non
+        if (medias.stream().map(Media::getProductId).distinct().count() > 1) {
+            return ResponseEntity.status(409).body(Map.of(MESSAGE_KEY,
+                    "This image is shared by several products, specify productId"));
+        }
 
-        Media mediaDeleted = mediaService.deleteMedia(media);
+        Media mediaDeleted = mediaService.deleteMedia(medias.get(0));
         HashMap<String, Object> response = new HashMap<>();
         response.put(MESSAGE_KEY, "This media has been deleted");
         response.put(MEDIA_KEY, MapperMedia.toDto(mediaDeleted));
@@ -3,6 +3,8 @@ package com.example.mediaservice.web.dto.responses;
 
 import lombok.*;
 
+import java.util.Map;
+
 @Getter
 @Setter
 @Builder
@@ -12,4 +14,5 @@ public class MediaResponse {
     private String id;
     private String imagePath;
     private String productId;
+    private Map<String, String> variants;
 }
@@ -6,6 +6,8 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class MediaServiceApplicationTests {
@@ -133,13 +135,14 @@ class MediaServiceApplicationTests {
     @Test
     void testMediaAllArgsConstructor() {
         // Given & When
-        Media media = new Media("media-5", "/constructor/image.jpg", "product-200");
+        Media media = new Media("media-5", "/constructor/image.jpg", "product-200", Map.of("128", "/constructor/image_128.jpg"));
 
         // Then
         assertThat(media).isNotNull();
         assertThat(media.getId()).isEqualTo("media-5");
         assertThat(media.getImagePath()).isEqualTo("/constructor/image.jpg");
         assertThat(media.getProductId()).isEqualTo("product-200");
+        assertThat(media.getVariants()).containsEntry("128", "/constructor/image_128.jpg");
     }
 
     @Test
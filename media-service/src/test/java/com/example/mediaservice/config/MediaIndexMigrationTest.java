@@ -0,0 +1,162 @@
+package com.example.mediaservice.config;
+
+import com.example.mediaservice.data.entities.Media;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexOptions;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MediaIndexMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MediaIndexMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        migration = new MediaIndexMigration(mongoTemplate);
+    }
+
+    @Test
+    void testAfterPropertiesSet_ExistingUniqueIndex_ReplacedByNonUniqueIndex() {
+        // Given - base existante, avec l'index unique créé par les versions précédentes
+        InMemoryIndexes indexes = new InMemoryIndexes(index("_id_", "_id", false), index("imagePath_1", "imagePath", true));
+        when(mongoTemplate.indexOps(Media.class)).thenReturn(indexes);
+
+        // When
+        migration.afterPropertiesSet();
+
+        // Then
+        assertThat(indexes.getIndexInfo()).extracting(IndexInfo::getName).containsExactly("_id_", "imagePath_shared");
+        assertThat(indexes.getIndexInfo().get(1).isUnique()).isFalse();
+    }
+
+    @Test
+    void testAfterPropertiesSet_AlreadyMigrated_KeepsIndex() {
+        // Given
+        InMemoryIndexes indexes = new InMemoryIndexes(index("_id_", "_id", false),
+                index("imagePath_shared", "imagePath", false), index("productId", "productId", false));
+        when(mongoTemplate.indexOps(Media.class)).thenReturn(indexes);
+
+        // When
+        migration.afterPropertiesSet();
+
+        // Then
+        assertThat(indexes.getIndexInfo()).extracting(IndexInfo::getName)
+                .containsExactly("_id_", "imagePath_shared", "productId");
+        assertThat(indexes.dropped).isEmpty();
+    }
+
+    @Test
+    void testAfterPropertiesSet_EmptyCollection_CreatesIndex() {
+        // Given
+        InMemoryIndexes indexes = new InMemoryIndexes(index("_id_", "_id", false));
+        when(mongoTemplate.indexOps(Media.class)).thenReturn(indexes);
+
+        // When
+        migration.afterPropertiesSet();
+
+        // Then
+        assertThat(indexes.getIndexInfo()).extracting(IndexInfo::getName).containsExactly("_id_", "imagePath_shared");
+    }
+
+    @Test
+    void testAfterPropertiesSet_MongoUnavailable_DoesNotFailStartup() {
+        // Given
+        when(mongoTemplate.indexOps(Media.class)).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // When & Then
+        assertThatCode(() -> migration.afterPropertiesSet()).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testMedia_ImagePathIndex_NotCreatedWithTemplate() {
+        // Given - ce que MongoPersistentEntityIndexCreator créerait avant la migration
+        IndexResolver resolver = IndexResolver.create(new MongoMappingContext());
+
+        // When
+        List<Document> keys = new ArrayList<>();
+        resolver.resolveIndexFor(Media.class).forEach(definition -> keys.add(definition.getIndexKeys()));
+
+        // Then
+        assertThat(keys).noneMatch(key -> key.containsKey("imagePath"));
+    }
+
+    private static IndexInfo index(String name, String field, boolean unique) {
+        return new IndexInfo(List.of(IndexField.create(field, Sort.Direction.ASC)), name, unique, false, "");
+    }
+
+    /**
+     * Index d'une collection avec la règle de MongoDB : une même clé ne peut pas porter deux index
+     * de noms ou d'options différents (IndexOptionsConflict).
+     */
+    private static final class InMemoryIndexes implements IndexOperations {
+
+        private final List<IndexInfo> indexes;
+        private final List<String> dropped = new ArrayList<>();
+
+        InMemoryIndexes(IndexInfo... indexes) {
+            this.indexes = new ArrayList<>(List.of(indexes));
+        }
+
+        @Override
+        public String ensureIndex(IndexDefinition definition) {
+            String field = definition.getIndexKeys().keySet().iterator().next();
+            String name = definition.getIndexOptions().getString("name");
+            boolean unique = definition.getIndexOptions().getBoolean("unique", false);
+            for (IndexInfo existing : indexes) {
+                if (existing.getIndexFields().get(0).getKey().equals(field)) {
+                    if (existing.getName().equals(name) && existing.isUnique() == unique) {
+                        return name;
+                    }
+                    throw new DataIntegrityViolationException("IndexOptionsConflict on " + field);
+                }
+            }
+            indexes.add(index(name, field, unique));
+            return name;
+        }
+
+        @Override
+        public void alterIndex(String name, IndexOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void dropIndex(String name) {
+            dropped.add(name);
+            indexes.removeIf(index -> index.getName().equals(name));
+        }
+
+        @Override
+        public void dropAllIndexes() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<IndexInfo> getIndexInfo() {
+            return List.copyOf(indexes);
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.example.mediaservice.messaging;
 
 import com.example.mediaservice.services.MediaService;
+import com.example.common.events.EventEnvelope;
+import com.example.common.events.EventType;
+import com.example.common.events.ProcessedEventCache;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -19,108 +28,110 @@ class ProductEventConsumerTest {
     @Mock
     private MediaService mediaService;
 
+    @Spy
+    private ProcessedEventCache processedEvents = new ProcessedEventCache(100, Duration.ofMinutes(1));
+
     @InjectMocks
     private ProductEventConsumer productEventConsumer;
 
-    @ParameterizedTest
-    @ValueSource(strings = {"product-123", "product-456", "product-789"})
-    void testDeleteProduct_WithVariousProductIds_DeletesMediaForProduct(String productId) {
-        // Given
-        doNothing().when(mediaService).deleteMediaByProductId(productId);
+    @Test
+    void testDeleteProducts_Batch_IssuesSingleDelete() {
+        // When
+        productEventConsumer.deleteProducts(records("product-1", "product-2", "product-3"));
 
+        // Then
+        verify(mediaService, times(1)).deleteMediaByProductIds(Set.of("product-1", "product-2", "product-3"));
+        verify(mediaService, never()).deleteMediaByProductId(any());
+    }
+
+    @Test
+    void testDeleteProducts_DuplicateIds_AreDeduplicated() {
         // When
-        productEventConsumer.deleteProduct(productId);
+        productEventConsumer.deleteProducts(records("product-1", "product-1", "product-2"));
 
         // Then
-        verify(mediaService, times(1)).deleteMediaByProductId(productId);
+        verify(mediaService, times(1)).deleteMediaByProductIds(Set.of("product-1", "product-2"));
     }
 
     @Test
-    void testDeleteProduct_WithNullProductId() {
+    void testDeleteProducts_MultiIdEnvelope_IdsAreFlattened() {
         // Given
-        String productId = null;
-        doNothing().when(mediaService).deleteMediaByProductId(productId);
+        EventEnvelope event = EventEnvelope.of(EventType.PRODUCT_DELETED, List.of("product-1", "product-2", "product-3"));
 
         // When
-        productEventConsumer.deleteProduct(productId);
+        productEventConsumer.deleteProducts(List.of(new ConsumerRecord<>("delete-product-media", 0, 0L, null, event)));
 
         // Then
-        verify(mediaService, times(1)).deleteMediaByProductId(null);
+        verify(mediaService, times(1)).deleteMediaByProductIds(Set.of("product-1", "product-2", "product-3"));
     }
 
     @Test
-    void testDeleteProduct_WithEmptyProductId() {
+    void testDeleteProducts_RedeliveredBatch_IsSkipped() {
         // Given
-        String productId = "";
-        doNothing().when(mediaService).deleteMediaByProductId(productId);
+        List<ConsumerRecord<String, EventEnvelope>> batch = records("product-1");
+        productEventConsumer.deleteProducts(batch);
 
         // When
-        productEventConsumer.deleteProduct(productId);
+        productEventConsumer.deleteProducts(batch);
 
         // Then
-        verify(mediaService, times(1)).deleteMediaByProductId("");
+        verify(mediaService, times(1)).deleteMediaByProductIds(Set.of("product-1"));
     }
 
     @Test
-    void testDeleteProduct_ServiceThrowsException() {
+    void testDeleteProducts_FailedBatch_IsRetriedOnRedelivery() {
         // Given
-        String productId = "product-with-error";
-        doThrow(new RuntimeException("Database error"))
-                .when(mediaService).deleteMediaByProductId(productId);
+        List<ConsumerRecord<String, EventEnvelope>> batch = records("product-1");
+        doThrow(new RuntimeException("Database error")).doNothing().when(mediaService).deleteMediaByProductIds(any());
+        assertThatThrownBy(() -> productEventConsumer.deleteProducts(batch)).isInstanceOf(RuntimeException.class);
 
-        // When & Then - Exception should propagate
-        assertThatThrownBy(() -> productEventConsumer.deleteProduct(productId))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage("Database error");
+        // When
+        productEventConsumer.deleteProducts(batch);
 
-        verify(mediaService, times(1)).deleteMediaByProductId(productId);
+        // Then
+        verify(mediaService, times(2)).deleteMediaByProductIds(Set.of("product-1"));
     }
 
     @Test
-    void testDeleteProduct_MultipleInvocations() {
-        // Given
-        String productId1 = "product-111";
-        String productId2 = "product-222";
-        String productId3 = "product-333";
+    void testDeleteProducts_NullAndEmptyIds_AreIgnored() {
+        // When
+        productEventConsumer.deleteProducts(records(null, "", "product-1"));
 
-        doNothing().when(mediaService).deleteMediaByProductId(anyString());
+        // Then
+        verify(mediaService, times(1)).deleteMediaByProductIds(Set.of("product-1"));
+    }
 
+    @Test
+    void testDeleteProducts_OnlyBlankIds_DoesNothing() {
         // When
-        productEventConsumer.deleteProduct(productId1);
-        productEventConsumer.deleteProduct(productId2);
-        productEventConsumer.deleteProduct(productId3);
+        productEventConsumer.deleteProducts(records(null, ""));
 
         // Then
-        verify(mediaService, times(1)).deleteMediaByProductId(productId1);
-        verify(mediaService, times(1)).deleteMediaByProductId(productId2);
-        verify(mediaService, times(1)).deleteMediaByProductId(productId3);
-        verify(mediaService, times(3)).deleteMediaByProductId(anyString());
+        verifyNoInteractions(mediaService);
     }
 
     @Test
-    void testDeleteProduct_VerifyServiceMethodCalledWithCorrectParameter() {
+    void testDeleteProducts_ServiceThrowsException() {
         // Given
-        String productId = "specific-product-id";
-        doNothing().when(mediaService).deleteMediaByProductId(productId);
-
-        // When
-        productEventConsumer.deleteProduct(productId);
+        doThrow(new RuntimeException("Database error")).when(mediaService).deleteMediaByProductIds(any());
 
-        // Then - Verify exact parameter is passed
-        verify(mediaService, times(1)).deleteMediaByProductId(productId);
-        verify(mediaService, never()).deleteMediaByProductId(argThat(id -> !productId.equals(id)));
+        // When & Then - Exception should propagate so the batch is retried
+        assertThatThrownBy(() -> productEventConsumer.deleteProducts(records("product-with-error")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Database error");
     }
 
     @Test
-    void testDeleteProduct_KafkaListenerAnnotation() throws NoSuchMethodException {
+    void testDeleteProducts_KafkaListenerAnnotation() throws NoSuchMethodException {
         // When
-        var method = ProductEventConsumer.class.getMethod("deleteProduct", String.class);
+        var method = ProductEventConsumer.class.getMethod("deleteProducts", List.class);
         var kafkaListenerAnnotation = method.getAnnotation(org.springframework.kafka.annotation.KafkaListener.class);
 
         // Then
         assertThat(kafkaListenerAnnotation).isNotNull();
-        assertThat(kafkaListenerAnnotation.topics()).isNotEmpty();
         assertThat(kafkaListenerAnnotation.topics()[0]).isEqualTo("delete-product-media");
+        assertThat(kafkaListenerAnnotation.batch()).isEqualTo("true");
+        assertThat(kafkaListenerAnnotation.properties()).anyMatch(property -> property.startsWith("max.poll.records="));
     }
 
     @Test
@@ -135,10 +146,16 @@ class ProductEventConsumerTest {
     @Test
     void testConstructor() {
         // When
-        ProductEventConsumer consumer = new ProductEventConsumer(mediaService);
+        ProductEventConsumer consumer = new ProductEventConsumer(mediaService, processedEvents);
 
         // Then
         assertThat(consumer).isNotNull();
     }
-}
 
+    private static List<ConsumerRecord<String, EventEnvelope>> records(String... values) {
+        return Arrays.stream(values)
+                .map(value -> value == null ? null : EventEnvelope.of(EventType.PRODUCT_DELETED, value))
+                .map(event -> new ConsumerRecord<String, EventEnvelope>("delete-product-media", 0, 0L, null, event))
+                .toList();
+    }
+}
@@ -1,18 +1,30 @@
 package com.example.mediaservice.services;
 
+import com.example.common.services.S3Service;
 import com.example.mediaservice.data.entities.Media;
+import com.example.mediaservice.data.entities.MediaObject;
 import com.example.mediaservice.data.repositories.MediaRepository;
 import com.example.mediaservice.services.impl.MediaServiceImpl;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,6 +36,15 @@ class MediaServiceTest {
     @Mock
     private MediaRepository mediaRepository;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
     @InjectMocks
     private MediaServiceImpl mediaService;
 
@@ -35,6 +56,60 @@ class MediaServiceTest {
         testMedia.setId("1");
         testMedia.setImagePath("/uploads/image1.jpg");
         testMedia.setProductId("product123");
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MediaObject.class)).thenReturn(bulkOperations);
+    }
+
+    @Test
+    void testGetMediasByIds_SingleQueryKeyedById() {
+        // Given
+        when(mediaRepository.findAllById(List.of("1", "2"))).thenReturn(List.of(testMedia));
+
+        // When
+        Map<String, Media> result = mediaService.getMediasByIds(List.of("1", "2"));
+
+        // Then
+        assertThat(result).containsOnlyKeys("1");
+        verify(mediaRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetMediasByIds_NoIds_NoQuery() {
+        // When
+        Map<String, Media> result = mediaService.getMediasByIds(List.of());
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(mediaRepository);
+    }
+
+    @Test
+    void testGetByProductIds_SingleQueryGroupedByProduct() {
+        // Given
+        Media media2 = Media.builder().id("2").productId("product123").build();
+        Media media3 = Media.builder().id("3").productId("product456").build();
+        when(mediaRepository.findByProductIdIn(Set.of("product123", "product456", "product789")))
+                .thenReturn(List.of(testMedia, media2, media3));
+
+        // When
+        Map<String, List<Media>> result =
+                mediaService.getByProductIds(new LinkedHashSet<>(List.of("product123", "product456", "product789")));
+
+        // Then
+        assertThat(result).containsOnlyKeys("product123", "product456", "product789");
+        assertThat(result.get("product123")).containsExactly(testMedia, media2);
+        assertThat(result.get("product456")).containsExactly(media3);
+        assertThat(result.get("product789")).isEmpty();
+        verify(mediaRepository, never()).getAllByProductId(any());
+    }
+
+    @Test
+    void testGetByProductIds_NoIds_NoQuery() {
+        // When
+        Map<String, List<Media>> result = mediaService.getByProductIds(List.of());
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(mediaRepository);
     }
 
     @Test
@@ -99,6 +174,45 @@ class MediaServiceTest {
         verify(mediaRepository, times(1)).findById("999");
     }
 
+    @Test
+    void testGetByImagePath_Found() {
+        // Given
+        when(mediaRepository.findByImagePath("/uploads/image1.jpg")).thenReturn(List.of(testMedia));
+
+        // When
+        List<Media> result = mediaService.getByImagePath("/uploads/image1.jpg", null);
+
+        // Then
+        assertThat(result).containsExactly(testMedia);
+        verify(mediaRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetByImagePath_WithProductId_ScopedToProduct() {
+        // Given
+        when(mediaRepository.findByImagePathAndProductId("/uploads/image1.jpg", "product123"))
+                .thenReturn(List.of(testMedia));
+
+        // When
+        List<Media> result = mediaService.getByImagePath("/uploads/image1.jpg", "product123");
+
+        // Then
+        assertThat(result).containsExactly(testMedia);
+        verify(mediaRepository, never()).findByImagePath(any());
+    }
+
+    @Test
+    void testGetByImagePath_NotFound() {
+        // Given
+        when(mediaRepository.findByImagePath("missing.jpg")).thenReturn(List.of());
+
+        // When
+        List<Media> result = mediaService.getByImagePath("missing.jpg", null);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
     @Test
     void testSaveMedia_Success() {
         // Given
@@ -114,6 +228,24 @@ class MediaServiceTest {
         verify(mediaRepository, times(1)).save(any(Media.class));
     }
 
+    @Test
+    void testSaveAllMedias_SingleBatch() {
+        // Given
+        Media media2 = new Media();
+        media2.setImagePath("/uploads/image2.jpg");
+        media2.setProductId("product123");
+        List<Media> medias = List.of(testMedia, media2);
+        when(mediaRepository.saveAll(medias)).thenReturn(medias);
+
+        // When
+        List<Media> result = mediaService.saveAllMedias(medias);
+
+        // Then
+        assertThat(result).hasSize(2);
+        verify(mediaRepository, times(1)).saveAll(medias);
+        verify(mediaRepository, never()).save(any(Media.class));
+    }
+
     @Test
     void testUpdateMedia_Success() {
         // Given
@@ -179,7 +311,7 @@ class MediaServiceTest {
     @Test
     void testDeleteMediaByProductId_Success() {
         // Given
-        doNothing().when(mediaRepository).deleteMediaByProductId("product123");
+        when(mediaRepository.deleteMediaByProductId("product123")).thenReturn(List.of(testMedia));
 
         // When
         mediaService.deleteMediaByProductId("product123");
@@ -188,11 +320,24 @@ class MediaServiceTest {
         verify(mediaRepository, times(1)).deleteMediaByProductId("product123");
     }
 
+    @Test
+    void testDeleteMediaByProductIds_SingleDelete() {
+        // Given
+        List<String> productIds = List.of("product123", "product456");
+
+        // When
+        mediaService.deleteMediaByProductIds(productIds);
+
+        // Then
+        verify(mediaRepository, times(1)).deleteMediaByProductIdIn(productIds);
+        verify(mediaRepository, never()).deleteMediaByProductId(anyString());
+    }
+
     @Test
     void testDeleteByImagePath_Success() {
         // Given
         String imagePath = "/uploads/image1.jpg";
-        doNothing().when(mediaRepository).deleteMediaByImagePath(imagePath);
+        when(mediaRepository.deleteMediaByImagePath(imagePath)).thenReturn(List.of(testMedia));
 
         // When
         mediaService.deleteByImagePath(imagePath);
@@ -200,5 +345,122 @@ class MediaServiceTest {
         // Then
         verify(mediaRepository, times(1)).deleteMediaByImagePath(imagePath);
     }
-}
 
+    // ==================== REFERENCE COUNT TESTS ====================
+
+    @Test
+    void testSaveAllMedias_SameContentTwice_CountsTwoReferences() {
+        // Given
+        Media duplicate = Media.builder().imagePath("/uploads/image1.jpg").productId("product456").build();
+        List<Media> medias = List.of(testMedia, duplicate);
+        when(mediaRepository.saveAll(medias)).thenReturn(medias);
+
+        // When
+        mediaService.saveAllMedias(medias);
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(1)).upsert(any(Query.class), update.capture());
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class).get("refCount")).isEqualTo(2L);
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    void testDeleteMedia_LastReference_DeletesObjectAndVariants() {
+        // Given
+        testMedia.setVariants(Map.of("128", "/uploads/image1_128.jpg"));
+        when(mongoTemplate.find(any(Query.class), eq(MediaObject.class)))
+                .thenReturn(List.of(new MediaObject("/uploads/image1.jpg", 0)));
+        when(mongoTemplate.remove(any(Query.class), eq(MediaObject.class))).thenReturn(DeleteResult.acknowledged(1));
+
+        // When
+        mediaService.deleteMedia(testMedia);
+
+        // Then
+        verify(bulkOperations, times(1)).updateOne(any(Query.class), any(Update.class));
+        verify(s3Service, times(1)).deleteFiles(Set.of("/uploads/image1.jpg", "/uploads/image1_128.jpg"));
+    }
+
+    @Test
+    void testDeleteMedia_StillReferenced_KeepsObject() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(MediaObject.class))).thenReturn(List.of());
+
+        // When
+        mediaService.deleteMedia(testMedia);
+
+        // Then
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(MediaObject.class));
+        verifyNoInteractions(s3Service);
+    }
+
+    @Test
+    void testDeleteMedia_ReferencedAgainConcurrently_KeepsObject() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(MediaObject.class)))
+                .thenReturn(List.of(new MediaObject("/uploads/image1.jpg", 0)));
+        when(mongoTemplate.remove(any(Query.class), eq(MediaObject.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        // When
+        mediaService.deleteMedia(testMedia);
+
+        // Then
+        verifyNoInteractions(s3Service);
+    }
+
+    @Test
+    void testDiscardUploads_UnreferencedObjects_AreDeleted() {
+        // Given - image2 est déjà partagée par un média enregistré
+        when(mongoTemplate.find(any(Query.class), eq(MediaObject.class)))
+                .thenReturn(List.of(new MediaObject("/uploads/image2.jpg", 1)));
+
+        // When
+        mediaService.discardUploads(List.of("/uploads/image1.jpg", "/uploads/image2.jpg"));
+
+        // Then
+        verify(s3Service, times(1)).deleteFiles(Set.of("/uploads/image1.jpg"));
+    }
+
+    @Test
+    void testDiscardUploads_AllReferenced_DeletesNothing() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(MediaObject.class)))
+                .thenReturn(List.of(new MediaObject("/uploads/image1.jpg", 3)));
+
+        // When
+        mediaService.discardUploads(List.of("/uploads/image1.jpg"));
+
+        // Then
+        verifyNoInteractions(s3Service);
+    }
+
+    @Test
+    void testDeleteMediaByProductIds_S3Failure_DoesNotPropagate() {
+        // Given
+        List<String> productIds = List.of("product123");
+        when(mediaRepository.deleteMediaByProductIdIn(productIds)).thenReturn(List.of(testMedia));
+        when(mongoTemplate.find(any(Query.class), eq(MediaObject.class)))
+                .thenReturn(List.of(new MediaObject("/uploads/image1.jpg", 0)));
+        when(mongoTemplate.remove(any(Query.class), eq(MediaObject.class))).thenReturn(DeleteResult.acknowledged(1));
+        doThrow(new IllegalStateException("S3 down")).when(s3Service).deleteFiles(any());
+
+        // When
+        mediaService.deleteMediaByProductIds(productIds);
+
+        // Then
+        verify(s3Service, times(1)).deleteFiles(Set.of("/uploads/image1.jpg"));
+    }
+
+    @Test
+    void testDeleteMediaByProductIds_NothingDeleted_NoCounterUpdate() {
+        // Given
+        List<String> productIds = List.of("product999");
+        when(mediaRepository.deleteMediaByProductIdIn(productIds)).thenReturn(List.of());
+
+        // When
+        mediaService.deleteMediaByProductIds(productIds);
+
+        // Then
+        verifyNoInteractions(mongoTemplate, s3Service);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.mediaservice.services.impl;
+
+import com.example.common.services.S3Service;
+import com.example.mediaservice.data.entities.Media;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MediaVariantServiceImplTest {
+
+    private static final String ORIGINAL_URL = "https://bucket.s3.eu-north-1.amazonaws.com/abc-photo.png";
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MeterRegistry meterRegistry;
+    private MediaVariantServiceImpl variantService;
+    private Media media;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        variantService = new MediaVariantServiceImpl(s3Service, mongoTemplate, Runnable::run,
+                List.of(128, 512, 1024), 0.8f, 40_000_000L, meterRegistry);
+        media = Media.builder().id("media-1").imagePath(ORIGINAL_URL).productId("product-1").build();
+    }
+
+    @Test
+    void testGenerateVariants_LargeImage_UploadsEverySizeAndSavesUrls() throws IOException {
+        // Given
+        when(s3Service.downloadFile(ORIGINAL_URL)).thenReturn(new ByteArrayInputStream(png(2000, 1000)));
+        when(s3Service.uploadBytes(anyString(), any(byte[].class), eq("image/jpeg")))
+                .thenAnswer(invocation -> "https://cdn/" + invocation.getArgument(0));
+
+        // When
+        Map<String, String> variants = variantService.generateVariants(media);
+
+        // Then
+        assertThat(variants).containsExactly(
+                Map.entry("128", "https://cdn/abc-photo_128.jpg"),
+                Map.entry("512", "https://cdn/abc-photo_512.jpg"),
+                Map.entry("1024", "https://cdn/abc-photo_1024.jpg"));
+
+        ArgumentCaptor<byte[]> jpeg = ArgumentCaptor.forClass(byte[].class);
+        verify(s3Service).uploadBytes(eq("abc-photo_512.jpg"), jpeg.capture(), eq("image/jpeg"));
+        BufferedImage variant = ImageIO.read(new ByteArrayInputStream(jpeg.getValue()));
+        assertThat(variant.getWidth()).isEqualTo(512);
+        assertThat(variant.getHeight()).isEqualTo(256);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Media.class));
+        assertThat(update.getValue().getUpdateObject().toJson()).contains("abc-photo_1024.jpg");
+        assertThat(meterRegistry.timer("media.variants.generation", "outcome", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testGenerateVariants_SmallImage_IsNeverUpscaled() throws IOException {
+        // Given
+        when(s3Service.downloadFile(ORIGINAL_URL)).thenReturn(new ByteArrayInputStream(png(100, 80)));
+
+        // When
+        Map<String, String> variants = variantService.generateVariants(media);
+
+        // Then
+        assertThat(variants).isEmpty();
+        verify(s3Service, never()).uploadBytes(anyString(), any(), anyString());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void testGenerateVariants_NotAnImage_NoUpload() {
+        // Given
+        when(s3Service.downloadFile(ORIGINAL_URL)).thenReturn(new ByteArrayInputStream("not an image".getBytes()));
+
+        // When
+        Map<String, String> variants = variantService.generateVariants(media);
+
+        // Then
+        assertThat(variants).isEmpty();
+        verify(s3Service, never()).uploadBytes(anyString(), any(), anyString());
+        assertThat(meterRegistry.timer("media.variants.generation", "outcome", "unsupported").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testGenerateVariants_TooManyPixels_NotDecoded() throws IOException {
+        // Given
+        variantService = new MediaVariantServiceImpl(s3Service, mongoTemplate, Runnable::run,
+                List.of(128), 0.8f, 1_000L, meterRegistry);
+        when(s3Service.downloadFile(ORIGINAL_URL)).thenReturn(new ByteArrayInputStream(png(200, 200)));
+
+        // When
+        Map<String, String> variants = variantService.generateVariants(media);
+
+        // Then
+        assertThat(variants).isEmpty();
+        verify(s3Service, never()).uploadBytes(anyString(), any(), anyString());
+    }
+
+    @Test
+    void testGenerateVariants_DownloadFails_ReturnsEmpty() {
+        // Given
+        when(s3Service.downloadFile(ORIGINAL_URL)).thenThrow(new IllegalStateException("S3 down"));
+
+        // When
+        Map<String, String> variants = variantService.generateVariants(media);
+
+        // Then
+        assertThat(variants).isEmpty();
+        assertThat(meterRegistry.timer("media.variants.generation", "outcome", "failure").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testGenerateVariantsAsync_QueueFull_DoesNotThrow() {
+        // Given
+        variantService = new MediaVariantServiceImpl(s3Service, mongoTemplate,
+                task -> { throw new RejectedExecutionException("full"); },
+                List.of(128), 0.8f, 40_000_000L, meterRegistry);
+
+        // When & Then
+        assertThatCode(() -> variantService.generateVariantsAsync(List.of(media))).doesNotThrowAnyException();
+        assertThat(meterRegistry.counter("media.variants.rejected").count()).isEqualTo(1);
+        verifyNoInteractions(s3Service);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", output);
+        return output.toByteArray();
+    }
+}
@@ -1,25 +1,38 @@
 package com.example.mediaservice.web.controllers.impl;
 
+import com.example.common.exceptions.FileUploadException;
 import com.example.common.services.S3Service;
 import com.example.mediaservice.data.entities.Media;
 import com.example.mediaservice.services.MediaService;
+import com.example.mediaservice.services.MediaVariantService;
 import com.example.mediaservice.web.dto.requests.MediaDtoAll;
+import com.example.mediaservice.web.dto.responses.MediaResponse;
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +44,9 @@ class MediaControllerImplTest {
     @Mock
     private S3Service s3Service;
 
+    @Mock
+    private MediaVariantService mediaVariantService;
+
     @InjectMocks
     private MediaControllerImpl mediaController;
 
@@ -48,6 +64,72 @@ class MediaControllerImplTest {
         testMediaList.add(testMedia);
     }
 
+    @Test
+    void testGetMediasByIds_ReturnsFoundMediasKeyedById() {
+        // Given
+        when(mediaService.getMediasByIds(Set.of("media-123", "missing"))).thenReturn(Map.of("media-123", testMedia));
+
+        // When
+        ResponseEntity<Map<String, Object>> response =
+                mediaController.getMediasByIds(List.of("media-123", "missing", "media-123"));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().get("medias")).asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsOnlyKeys("media-123");
+    }
+
+    @Test
+    void testGetMediasByIds_TooManyIds_ReturnsBadRequest() {
+        // Given
+        List<String> ids = IntStream.rangeClosed(0, MediaControllerImpl.MAX_BATCH_SIZE)
+                .mapToObj(String::valueOf)
+                .toList();
+
+        // When
+        ResponseEntity<Map<String, Object>> response = mediaController.getMediasByIds(ids);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    void testGetMediasByProductIds_ReturnsMediasGroupedByProduct() {
+        // Given
+        Map<String, List<Media>> grouped = new LinkedHashMap<>();
+        grouped.put("product-123", testMediaList);
+        grouped.put("product-456", List.of());
+        when(mediaService.getByProductIds(Set.of("product-123", "product-456"))).thenReturn(grouped);
+
+        // When
+        ResponseEntity<Map<String, Object>> response =
+                mediaController.getMediasByProductIds(List.of("product-123", "product-456"));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        @SuppressWarnings("unchecked")
+        Map<String, List<MediaResponse>> medias = (Map<String, List<MediaResponse>>) response.getBody().get("medias");
+        assertThat(medias.keySet()).containsExactly("product-123", "product-456");
+        assertThat(medias.get("product-123")).hasSize(1);
+        assertThat(medias.get("product-456")).isEmpty();
+    }
+
+    @Test
+    void testGetMediasByProductIds_TooManyIds_ReturnsBadRequest() {
+        // Given
+        List<String> productIds = IntStream.rangeClosed(0, MediaControllerImpl.MAX_BATCH_SIZE)
+                .mapToObj(String::valueOf)
+                .toList();
+
+        // When
+        ResponseEntity<Map<String, Object>> response = mediaController.getMediasByProductIds(productIds);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(mediaService);
+    }
+
     @Test
     void testGetAllMedias_WithMedias_ReturnsMediasList() {
         // Given
@@ -197,19 +279,21 @@ class MediaControllerImplTest {
         MultipartFile file = mock(MultipartFile.class);
         List<MultipartFile> files = List.of(file);
 
-        when(s3Service.uploadFile(file)).thenReturn("uploaded-path.jpg");
-        when(mediaService.saveMedia(any(Media.class))).thenReturn(testMedia);
+        when(s3Service.uploadFileAsync(file)).thenReturn(CompletableFuture.completedFuture("uploaded-path.jpg"));
+        when(mediaService.saveAllMedias(anyList())).thenReturn(List.of(testMedia));
 
         // When
-        ResponseEntity<Map<String, Object>> response = mediaController.createMedia(files, "product-123");
+        ResponseEntity<Map<String, Object>> response = mediaController.createMedia(files, "product-123").join();
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(response.getBody()).containsEntry("message", "Media created");
         assertThat(response.getBody()).containsKey("media");
 
-        verify(s3Service, times(1)).uploadFile(file);
-        verify(mediaService, times(1)).saveMedia(any(Media.class));
+        verify(s3Service, times(1)).uploadFileAsync(file);
+        verify(mediaService, times(1)).saveAllMedias(anyList());
+        verify(mediaService, never()).saveMedia(any(Media.class));
+        verify(mediaVariantService, times(1)).generateVariantsAsync(List.of(testMedia));
     }
 
     @Test
@@ -220,11 +304,14 @@ class MediaControllerImplTest {
         MultipartFile file3 = mock(MultipartFile.class);
         List<MultipartFile> files = List.of(file1, file2, file3);
 
-        when(s3Service.uploadFile(any())).thenReturn("path1.jpg", "path2.jpg", "path3.jpg");
-        when(mediaService.saveMedia(any(Media.class))).thenReturn(testMedia);
+        when(s3Service.uploadFileAsync(any())).thenReturn(
+                CompletableFuture.completedFuture("path1.jpg"),
+                CompletableFuture.completedFuture("path2.jpg"),
+                CompletableFuture.completedFuture("path3.jpg"));
+        when(mediaService.saveAllMedias(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
-        ResponseEntity<Map<String, Object>> response = mediaController.createMedia(files, "product-123");
+        ResponseEntity<Map<String, Object>> response = mediaController.createMedia(files, "product-123").join();
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
@@ -232,8 +319,8 @@ class MediaControllerImplTest {
         List<?> medias = (List<?>) response.getBody().get("media");
         assertThat(medias).hasSize(3);
 
-        verify(s3Service, times(3)).uploadFile(any());
-        verify(mediaService, times(3)).saveMedia(any(Media.class));
+        verify(s3Service, times(3)).uploadFileAsync(any());
+        verify(mediaService, times(1)).saveAllMedias(anyList());
     }
 
     @Test
@@ -246,14 +333,15 @@ class MediaControllerImplTest {
         List<MultipartFile> files = List.of(file1, file2, file3, file4);
 
         // When
-        ResponseEntity<Map<String, Object>> response = mediaController.createMedia(files, "product-123");
+        ResponseEntity<Map<String, Object>> response = mediaController.createMedia(files, "product-123").join();
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
         assertThat(response.getBody()).containsEntry("message", "You can't upload more than 3 images");
 
-        verify(s3Service, never()).uploadFile(any());
-        verify(mediaService, never()).saveMedia(any());
+        verify(s3Service, never()).uploadFileAsync(any());
+        verify(mediaService, never()).saveAllMedias(any());
+        verifyNoInteractions(mediaVariantService);
     }
 
     @Test
@@ -263,11 +351,13 @@ class MediaControllerImplTest {
         MultipartFile file2 = mock(MultipartFile.class);
         List<MultipartFile> files = List.of(file1, file2);
 
-        when(s3Service.uploadFile(any())).thenReturn("path1.jpg", "path2.jpg");
-        when(mediaService.saveMedia(any(Media.class))).thenReturn(testMedia);
+        when(s3Service.uploadFileAsync(any())).thenReturn(
+                CompletableFuture.completedFuture("path1.jpg"),
+                CompletableFuture.completedFuture("path2.jpg"));
+        when(mediaService.saveAllMedias(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
-        ResponseEntity<Map<String, Object>> response = mediaController.createMedia(files, "product-456");
+        ResponseEntity<Map<String, Object>> response = mediaController.createMedia(files, "product-456").join();
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
@@ -275,7 +365,82 @@ class MediaControllerImplTest {
         List<?> medias = (List<?>) response.getBody().get("media");
         assertThat(medias).hasSize(2);
 
-        verify(s3Service, times(2)).uploadFile(any());
+        verify(s3Service, times(2)).uploadFileAsync(any());
+    }
+
+    @Test
+    void testCreateMedia_KeepsFileOrderWhenUploadsCompleteOutOfOrder() {
+        // Given - le 2e upload se termine avant le 1er
+        MultipartFile file1 = mock(MultipartFile.class);
+        MultipartFile file2 = mock(MultipartFile.class);
+        CompletableFuture<String> slowUpload = new CompletableFuture<>();
+        when(s3Service.uploadFileAsync(file1)).thenReturn(slowUpload);
+        when(s3Service.uploadFileAsync(file2)).thenReturn(CompletableFuture.completedFuture("path2.jpg"));
+        when(mediaService.saveAllMedias(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        CompletableFuture.runAsync(() -> slowUpload.complete("path1.jpg"), CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+
+        // When
+        ResponseEntity<Map<String, Object>> response = mediaController.createMedia(List.of(file1, file2), "product-123").join();
+
+        // Then
+        List<?> medias = (List<?>) response.getBody().get("media");
+        assertThat(medias).extracting("imagePath").containsExactly("path1.jpg", "path2.jpg");
+        assertThat(medias).extracting("productId").containsOnly("product-123");
+    }
+
+    @Test
+    void testCreateMedia_ReturnsBeforeUploadsComplete() {
+        // Given - upload en cours
+        MultipartFile file = mock(MultipartFile.class);
+        CompletableFuture<String> pendingUpload = new CompletableFuture<>();
+        when(s3Service.uploadFileAsync(file)).thenReturn(pendingUpload);
+        when(mediaService.saveAllMedias(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When - le thread de requête n'attend pas l'upload
+        CompletableFuture<ResponseEntity<Map<String, Object>>> response =
+                mediaController.createMedia(List.of(file), "product-123");
+
+        // Then
+        assertThat(response).isNotDone();
+        verify(mediaService, never()).saveAllMedias(any());
+        pendingUpload.complete("path1.jpg");
+        assertThat(response.join().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+
+    @Test
+    void testCreateMedia_UploadFails_RethrowsCauseAndSavesNothing() {
+        // Given
+        MultipartFile file1 = mock(MultipartFile.class);
+        MultipartFile file2 = mock(MultipartFile.class);
+        when(s3Service.uploadFileAsync(file1)).thenReturn(CompletableFuture.completedFuture("path1.jpg"));
+        when(s3Service.uploadFileAsync(file2)).thenReturn(
+                CompletableFuture.failedFuture(new FileUploadException("S3 down", new RuntimeException())));
+
+        // When & Then
+        assertThatThrownBy(() -> mediaController.createMedia(List.of(file1, file2), "product-123").join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(FileUploadException.class)
+                .hasMessage("S3 down");
+        verify(mediaService, never()).saveAllMedias(any());
+        verify(mediaService, times(1)).discardUploads(List.of("path1.jpg"));
+    }
+
+    @Test
+    void testCreateMedia_SaveFails_DiscardsAllUploads() {
+        // Given
+        MultipartFile file1 = mock(MultipartFile.class);
+        MultipartFile file2 = mock(MultipartFile.class);
+        when(s3Service.uploadFileAsync(file1)).thenReturn(CompletableFuture.completedFuture("path1.jpg"));
+        when(s3Service.uploadFileAsync(file2)).thenReturn(CompletableFuture.completedFuture("path2.jpg"));
+        when(mediaService.saveAllMedias(anyList())).thenThrow(new DataAccessResourceFailureException("Mongo down"));
+
+        // When & Then
+        assertThatThrownBy(() -> mediaController.createMedia(List.of(file1, file2), "product-123").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(DataAccessResourceFailureException.class);
+        verify(mediaService, times(1)).discardUploads(List.of("path1.jpg", "path2.jpg"));
+        verifyNoInteractions(mediaVariantService);
     }
 
     @Test
@@ -360,77 +525,89 @@ class MediaControllerImplTest {
     void testDeleteByImagePath_MediaExists_DeletesMedia() {
         // Given
         String imagePath = "https://s3.amazonaws.com/bucket/image.jpg";
-        when(mediaService.getAllMedias()).thenReturn(testMediaList);
+        when(mediaService.getByImagePath(imagePath, null)).thenReturn(List.of(testMedia));
         when(mediaService.deleteMedia(testMedia)).thenReturn(testMedia);
 
         // When
-        ResponseEntity<Map<String, Object>> response = mediaController.deleteByImagePath(imagePath);
+        ResponseEntity<Map<String, Object>> response = mediaController.deleteByImagePath(imagePath, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).containsEntry("message", "This media has been deleted");
         assertThat(response.getBody()).containsKey("media");
 
-        verify(mediaService, times(1)).getAllMedias();
+        verify(mediaService, times(1)).getByImagePath(imagePath, null);
         verify(mediaService, times(1)).deleteMedia(testMedia);
     }
 
     @Test
-    void testDeleteByImagePath_MediaNotFound_Returns404() {
-        // Given - Media with path not found (Condition: media == null in filter)
-        String imagePath = "non-existent-path.jpg";
-        when(mediaService.getAllMedias()).thenReturn(testMediaList);
+    void testDeleteByImagePath_SharedByTwoProducts_WithoutProductId_Returns409() {
+        // Given - deux produits ont uploadé les mêmes octets : même clé S3, même imagePath
+        Media otherProductMedia = Media.builder().id("media-456").imagePath(testMedia.getImagePath())
+                .productId("product-456").build();
+        when(mediaService.getByImagePath(testMedia.getImagePath(), null))
+                .thenReturn(List.of(testMedia, otherProductMedia));
 
         // When
-        ResponseEntity<Map<String, Object>> response = mediaController.deleteByImagePath(imagePath);
+        ResponseEntity<Map<String, Object>> response = mediaController.deleteByImagePath(testMedia.getImagePath(), null);
 
         // Then
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
-        assertThat(response.getBody()).isNull();
-
-        verify(mediaService, times(1)).getAllMedias();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
         verify(mediaService, never()).deleteMedia(any());
     }
 
     @Test
-    void testDeleteByImagePath_EmptyMediaList() {
-        // Given - No medias in database
-        when(mediaService.getAllMedias()).thenReturn(new ArrayList<>());
+    void testDeleteByImagePath_SharedByTwoProducts_WithProductId_DeletesOnlyThatProductsMedia() {
+        // Given
+        Media otherProductMedia = Media.builder().id("media-456").imagePath(testMedia.getImagePath())
+                .productId("product-456").build();
+        when(mediaService.getByImagePath(testMedia.getImagePath(), "product-456")).thenReturn(List.of(otherProductMedia));
+        when(mediaService.deleteMedia(otherProductMedia)).thenReturn(otherProductMedia);
+
+        // When
+        ResponseEntity<Map<String, Object>> response =
+                mediaController.deleteByImagePath(testMedia.getImagePath(), "product-456");
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(mediaService, times(1)).deleteMedia(otherProductMedia);
+        verify(mediaService, never()).deleteMedia(testMedia);
+    }
+
+    @Test
+    void testDeleteByImagePath_MediaNotFound_Returns404() {
+        // Given - Media with path not found (Condition: media == null)
+        String imagePath = "non-existent-path.jpg";
+        when(mediaService.getByImagePath(imagePath, null)).thenReturn(List.of());
 
         // When
-        ResponseEntity<Map<String, Object>> response = mediaController.deleteByImagePath("any-path.jpg");
+        ResponseEntity<Map<String, Object>> response = mediaController.deleteByImagePath(imagePath, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isNull();
 
-        verify(mediaService, times(1)).getAllMedias();
+        verify(mediaService, times(1)).getByImagePath(imagePath, null);
         verify(mediaService, never()).deleteMedia(any());
     }
 
     @Test
-    void testDeleteByImagePath_MultipleMedias_FindsCorrectOne() {
-        // Given - Multiple medias, find specific one by path
-        Media media2 = new Media();
-        media2.setId("media-456");
-        media2.setImagePath("different-path.jpg");
-        media2.setProductId("product-456");
-
-        List<Media> multipleMedias = List.of(testMedia, media2);
-        when(mediaService.getAllMedias()).thenReturn(multipleMedias);
+    void testDeleteByImagePath_DoesNotScanAllMedias() {
+        // Given
+        when(mediaService.getByImagePath(testMedia.getImagePath(), null)).thenReturn(List.of(testMedia));
         when(mediaService.deleteMedia(testMedia)).thenReturn(testMedia);
 
         // When
-        ResponseEntity<Map<String, Object>> response = mediaController.deleteByImagePath(testMedia.getImagePath());
+        mediaController.deleteByImagePath(testMedia.getImagePath(), null);
 
-        // Then
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(mediaService, times(1)).deleteMedia(testMedia);
+        // Then - lookup indexé uniquement, pas de chargement de la collection
+        verify(mediaService, never()).getAllMedias();
     }
 
     @Test
     void testConstructor() {
         // When
-        MediaControllerImpl controller = new MediaControllerImpl(mediaService, s3Service);
+        MediaControllerImpl controller = new MediaControllerImpl(mediaService, s3Service, mediaVariantService);
 
         // Then
         assertThat(controller).isNotNull();
@@ -450,18 +627,20 @@ class MediaControllerImplTest {
         List<MultipartFile> files = List.of(file);
         String uploadedPath = "s3://bucket/uploaded.jpg";
 
-        when(s3Service.uploadFile(file)).thenReturn(uploadedPath);
-        when(mediaService.saveMedia(any(Media.class))).thenAnswer(invocation -> {
-            Media media = invocation.getArgument(0);
-            assertThat(media.getImagePath()).isEqualTo(uploadedPath);
-            return media;
+        when(s3Service.uploadFileAsync(file)).thenReturn(CompletableFuture.completedFuture(uploadedPath));
+        when(mediaService.saveAllMedias(anyList())).thenAnswer(invocation -> {
+            List<Media> medias = invocation.getArgument(0);
+            assertThat(medias).singleElement()
+                    .extracting(Media::getImagePath)
+                    .isEqualTo(uploadedPath);
+            return medias;
         });
 
         // When
-        mediaController.createMedia(files, "product-123");
+        mediaController.createMedia(files, "product-123").join();
 
         // Then
-        verify(mediaService, times(1)).saveMedia(any(Media.class));
+        verify(mediaService, times(1)).saveAllMedias(anyList());
     }
 
     @Test
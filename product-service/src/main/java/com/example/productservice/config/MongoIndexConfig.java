@@ -0,0 +1,35 @@
+package com.example.productservice.config;
+
+import com.example.common.services.MongoIndexVerifier;
+import com.example.common.services.MongoIndexVerifier.HotQuery;
+import com.example.productservice.data.entities.Product;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Configuration
+@ConditionalOnProperty(name = "mongo.index-verification.enabled", havingValue = "true")
+public class MongoIndexConfig {
+
+    static final String PROBE = "index-verification-probe";
+
+    @Bean
+    public MongoIndexVerifier mongoIndexVerifier(MongoTemplate mongoTemplate) {
+        return new MongoIndexVerifier(mongoTemplate, List.of(
+                new HotQuery("ProductRepository.findByUserId", Product.class, query(where("userId").is(PROBE))),
+                new HotQuery("ProductRepository.deleteProductsByUserId", Product.class, query(where("userId").is(PROBE))),
+                new HotQuery("ProductRepository.getByName", Product.class, query(where("name").is(PROBE))),
+                new HotQuery("ProductRepository.findByIdGreaterThanOrderByIdAsc", Product.class,
+                        query(where("_id").gt(new ObjectId()))),
+                new HotQuery("ProductRepository.findByUserIdAndIdGreaterThanOrderByIdAsc", Product.class,
+                        query(where("userId").is(PROBE).and("_id").gt(new ObjectId())))
+        ));
+    }
+}
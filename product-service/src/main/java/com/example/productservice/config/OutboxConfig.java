@@ -0,0 +1,12 @@
+package com.example.productservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active la planification du {@code ProductOutboxRelay}.
+ */
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+}
@@ -0,0 +1,32 @@
+package com.example.productservice.config;
+
+import com.example.common.events.EventEnvelope;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+
+import java.util.List;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveKafkaConfig {
+
+    public static final String DELETE_USER_PRODUCTS_TOPIC = "delete-user-products";
+
+    /**
+     * Reprend la configuration {@code spring.kafka.consumer} (groupe, désérialiseurs...) :
+     * le consumer réactif remplace le {@code @KafkaListener} dans le même groupe.
+     */
+    @Bean
+    public KafkaReceiver<String, EventEnvelope> deleteUserProductsReceiver(KafkaProperties kafkaProperties,
+                                                                          SslBundles sslBundles) {
+        ReceiverOptions<String, EventEnvelope> options = ReceiverOptions.<String, EventEnvelope>create(
+                        kafkaProperties.buildConsumerProperties(sslBundles))
+                .subscription(List.of(DELETE_USER_PRODUCTS_TOPIC));
+        return KafkaReceiver.create(options);
+    }
+}
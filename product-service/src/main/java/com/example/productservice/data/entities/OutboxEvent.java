@@ -0,0 +1,49 @@
+package com.example.productservice.data.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+/**
+ * Suppression de produit en attente de publication sur {@code delete-product-media}.
+ * Écrite avant la suppression du produit, retirée une fois le message accepté par Kafka.
+ * {@code owner} et {@code leasedUntil} identifient le relais qui la publie : une seule instance
+ * traite un événement tant que son bail court.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "product_outbox")
+@Builder
+public class OutboxEvent {
+
+    @Id
+    String id;
+
+    @Field
+    String productId;
+
+    @Indexed
+    @Field
+    Instant createdAt;
+
+    @Field
+    String owner;
+
+    @Field
+    Instant leasedUntil;
+
+    public static OutboxEvent productDeleted(String productId) {
+        return OutboxEvent.builder()
+                .productId(productId)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.productservice.data.repositories;
+
+import com.example.productservice.data.entities.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String> {
+
+    /**
+     * Événements sans bail ou dont le bail a expiré, les plus anciens d'abord.
+     */
+    List<OutboxEvent> findByLeasedUntilIsNullOrLeasedUntilBeforeOrderByCreatedAtAsc(Instant now, Limit limit);
+
+    /**
+     * Prend un bail sur ceux des événements {@code ids} qui sont encore libres ; chaque document est
+     * mis à jour atomiquement, donc deux relais ne peuvent pas obtenir le même événement.
+     *
+     * @return le nombre d'événements obtenus
+     */
+    @Query("{ '_id': { $in: ?0 }, $or: [ { 'leasedUntil': null }, { 'leasedUntil': { $lt: ?1 } } ] }")
+    @Update("{ $set: { 'owner': ?2, 'leasedUntil': ?3 } }")
+    long claim(List<String> ids, Instant now, String owner, Instant leasedUntil);
+
+    List<OutboxEvent> findByIdInAndOwner(List<String> ids, String owner);
+
+    /**
+     * Rend les événements pour qu'ils soient repris au prochain passage.
+     */
+    @Query("{ '_id': { $in: ?0 }, 'owner': ?1 }")
+    @Update("{ $set: { 'leasedUntil': null } }")
+    long release(List<String> ids, String owner);
+
+    long deleteByIdInAndOwner(List<String> ids, String owner);
+}
@@ -1,17 +1,39 @@
 package com.example.productservice.data.repositories;
 
 import com.example.productservice.data.entities.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends MongoRepository<Product, String> {
 
     List<Product> findByUserId(String userId);
 
+    List<Product> findByUserIdIn(Collection<String> userIds);
+
+    List<Product> findAllByOrderByIdAsc(Limit limit);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<Product> findByUserIdOrderByIdAsc(String userId, Limit limit);
+
+    List<Product> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, String id, Limit limit);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<Product> streamAllByOrderByIdAsc();
+
     void deleteProductsByUserId(String userId);
 
+    /**
+     * Un seul {@code deleteMany} avec {@code userId: {$in: [...]}}.
+     */
+    void deleteProductsByUserIdIn(Collection<String> userIds);
+
     Product getByName(String name);
 }
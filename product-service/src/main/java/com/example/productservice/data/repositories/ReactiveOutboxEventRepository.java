@@ -0,0 +1,9 @@
+package com.example.productservice.data.repositories;
+
+import com.example.productservice.data.entities.OutboxEvent;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveOutboxEventRepository extends ReactiveMongoRepository<OutboxEvent, String> {
+}
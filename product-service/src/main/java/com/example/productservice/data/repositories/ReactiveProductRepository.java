@@ -0,0 +1,33 @@
+package com.example.productservice.data.repositories;
+
+import com.example.productservice.data.entities.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Pendant non bloquant de {@link ProductRepository}, utilisé par le profil {@code reactive}.
+ */
+@Repository
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, String> {
+
+    Flux<Product> findByUserId(String userId);
+
+    Flux<Product> findAllByOrderByIdAsc(Limit limit);
+
+    Flux<Product> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    Flux<Product> findByUserIdOrderByIdAsc(String userId, Limit limit);
+
+    Flux<Product> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, String id, Limit limit);
+
+    @Meta(cursorBatchSize = 500)
+    Flux<Product> streamAllByOrderByIdAsc();
+
+    Mono<Long> deleteProductsByUserId(String userId);
+
+    Mono<Product> getByName(String name);
+}
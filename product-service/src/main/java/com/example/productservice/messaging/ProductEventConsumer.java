@@ -1,23 +1,68 @@
 package com.example.productservice.messaging;
 
+import com.example.common.events.EventEnvelope;
+import com.example.common.events.ProcessedEventCache;
 import com.example.productservice.service.ProductService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class ProductEventConsumer {
 
     private final ProductService productService;
+    private final ProcessedEventCache processedEvents;
+
+    /**
+     * Un lot = un poll : les utilisateurs reçus sont purgés en une seule requête.
+     * En cas d'erreur le lot entier est relancé (voir {@code KafkaErrorHandlingConfig}) ; les événements
+     * déjà traités par cette instance sont ignorés.
+     */
+    @KafkaListener(topics = "delete-user-products", batch = "true", properties = {
+            "max.poll.records=${messaging.batch.max-records:500}",
+            "fetch.min.bytes=${messaging.batch.min-bytes:16384}",
+            "fetch.max.wait.ms=${messaging.batch.linger-ms:200}"
+    })
+    public void deleteProducts(List<ConsumerRecord<String, EventEnvelope>> records) {
+        processedEvents.handleBatch(records, events -> {
+            Set<String> userIds = ids(events);
+            log.info("Received {} messages, deleting products for {} users", records.size(), userIds.size());
+            if (!userIds.isEmpty()) {
+                productService.deleteProductsByUsers(userIds);
+            }
+        });
+    }
 
-    @KafkaListener(topics = "delete-user-products")
-    public void deleteProduct(String userId) {
-        log.info("Received message:");
-        log.info("Delete products for user: {}", userId);
-        productService.deleteProductsByUser(userId);
+    /**
+     * Chaque instance a son propre groupe pour recevoir toutes les modifications
+     * et garder son cache cohérent avec la base.
+     */
+    @KafkaListener(topics = "product-changed",
+            groupId = "product-service-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void evictProduct(EventEnvelope event) {
+        for (String productId : event.ids()) {
+            log.debug("Product changed, evicting from cache: {}", productId);
+            productService.evictFromCache(productId);
+        }
     }
 
+    private static Set<String> ids(List<EventEnvelope> events) {
+        return events.stream()
+                .flatMap(event -> event.ids().stream())
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
 }
@@ -0,0 +1,173 @@
+package com.example.productservice.messaging;
+
+import com.example.productservice.data.entities.OutboxEvent;
+import com.example.productservice.data.entities.Product;
+import com.example.productservice.data.repositories.OutboxEventRepository;
+import com.example.productservice.data.repositories.ProductRepository;
+import com.example.productservice.service.ProductEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Publie les suppressions enregistrées dans {@code product_outbox} sur {@code delete-product-media}.
+ * <p>
+ * Mongo tourne sans replica set, donc sans transaction : l'événement est écrit avant la suppression
+ * du produit et n'est publié qu'une fois le produit effectivement absent. Un événement dont le produit
+ * existe encore après {@code grace-period} correspond à une suppression qui a échoué et est abandonné.
+ * Chaque lot est d'abord réservé par un bail ({@code lease-duration}) : plusieurs réplicas peuvent
+ * tourner sans publier deux fois les mêmes événements. La livraison reste "au moins une fois" (bail
+ * expiré pendant un envoi) ; la suppression des médias côté media-service est idempotente.
+ */
+@Slf4j
+@Component
+public class ProductOutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ProductRepository productRepository;
+    private final ProductEventPublisher productEventPublisher;
+    private final int batchSize;
+    private final Duration gracePeriod;
+    private final Duration sendTimeout;
+    private final Duration leaseDuration;
+    private final Clock clock;
+
+    @Autowired
+    public ProductOutboxRelay(OutboxEventRepository outboxEventRepository,
+                              ProductRepository productRepository,
+                              ProductEventPublisher productEventPublisher,
+                              @Value("${product.outbox.batch-size:500}") int batchSize,
+                              @Value("${product.outbox.grace-period:1m}") Duration gracePeriod,
+                              @Value("${product.outbox.send-timeout:30s}") Duration sendTimeout,
+                              @Value("${product.outbox.lease-duration:2m}") Duration leaseDuration) {
+        this(outboxEventRepository, productRepository, productEventPublisher, batchSize, gracePeriod, sendTimeout,
+                leaseDuration, Clock.systemUTC());
+    }
+
+    ProductOutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ProductRepository productRepository,
+                       ProductEventPublisher productEventPublisher,
+                       int batchSize,
+                       Duration gracePeriod,
+                       Duration sendTimeout,
+                       Duration leaseDuration,
+                       Clock clock) {
+        if (leaseDuration.compareTo(sendTimeout) <= 0) {
+            throw new IllegalArgumentException("Le bail de l'outbox doit dépasser send-timeout");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.productRepository = productRepository;
+        this.productEventPublisher = productEventPublisher;
+        this.batchSize = batchSize;
+        this.gracePeriod = gracePeriod;
+        this.sendTimeout = sendTimeout;
+        this.leaseDuration = leaseDuration;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${product.outbox.relay-interval:1s}")
+    public void relay() {
+        List<OutboxEvent> candidates;
+        do {
+            candidates = outboxEventRepository.findByLeasedUntilIsNullOrLeasedUntilBeforeOrderByCreatedAtAsc(
+                    clock.instant(), Limit.of(batchSize));
+            if (candidates.isEmpty()) {
+                return;
+            }
+            String owner = UUID.randomUUID().toString();
+            List<OutboxEvent> claimed = claim(candidates, owner);
+            // Lot entièrement pris par un autre réplica : on passe au suivant
+            if (!claimed.isEmpty() && !relayBatch(claimed, owner)) {
+                return;
+            }
+        } while (candidates.size() == batchSize);
+    }
+
+    /**
+     * @return les événements de {@code candidates} dont {@code owner} a obtenu le bail
+     */
+    List<OutboxEvent> claim(List<OutboxEvent> candidates, String owner) {
+        List<String> ids = ids(candidates);
+        Instant now = clock.instant();
+        if (outboxEventRepository.claim(ids, now, owner, now.plus(leaseDuration)) == 0) {
+            return List.of();
+        }
+        return outboxEventRepository.findByIdInAndOwner(ids, owner);
+    }
+
+    /**
+     * @param events événements dont {@code owner} détient le bail
+     * @return true si tout le lot a été traité, false s'il faut attendre le prochain passage
+     */
+    boolean relayBatch(List<OutboxEvent> events, String owner) {
+        Set<String> liveProductIds = productRepository.findAllById(
+                        events.stream().map(OutboxEvent::getProductId).toList())
+                .stream()
+                .map(Product::getId)
+                .collect(Collectors.toSet());
+
+        Instant abandonBefore = clock.instant().minus(gracePeriod);
+        List<OutboxEvent> toPublish = new ArrayList<>();
+        List<OutboxEvent> abandoned = new ArrayList<>();
+        List<OutboxEvent> pending = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            if (!liveProductIds.contains(event.getProductId())) {
+                toPublish.add(event);
+            } else if (event.getCreatedAt().isBefore(abandonBefore)) {
+                abandoned.add(event);
+            } else {
+                // Suppression probablement en cours : on repassera
+                pending.add(event);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            outboxEventRepository.release(ids(pending), owner);
+        }
+        if (!abandoned.isEmpty()) {
+            log.warn("Dropping {} outbox events whose product still exists", abandoned.size());
+            outboxEventRepository.deleteByIdInAndOwner(ids(abandoned), owner);
+        }
+        if (toPublish.isEmpty()) {
+            return pending.isEmpty();
+        }
+
+        // Un seul message pour tout le lot
+        List<String> productIds = toPublish.stream().map(OutboxEvent::getProductId).distinct().toList();
+        try {
+            productEventPublisher.sendDeleteEvent(productIds).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outboxEventRepository.release(ids(toPublish), owner);
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            // Rien n'est retiré : le lot sera republié au prochain passage
+            log.warn("Failed to publish {} product deletions, will retry", toPublish.size(), e);
+            outboxEventRepository.release(ids(toPublish), owner);
+            return false;
+        }
+
+        outboxEventRepository.deleteByIdInAndOwner(ids(toPublish), owner);
+        log.debug("Published {} product deletions", toPublish.size());
+        return pending.isEmpty();
+    }
+
+    private static List<String> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.productservice.messaging;
+
+import com.example.common.events.EventEnvelope;
+import com.example.productservice.service.ReactiveProductService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Pendant réactif de {@link ProductEventConsumer#deleteProducts(List)}. Les messages sont traités
+ * un par un ({@code concatMap}) : tant qu'une suppression est en cours, reactor-kafka suspend
+ * la lecture du topic au lieu d'accumuler les messages en mémoire.
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductEventConsumer {
+
+    static final int MAX_ATTEMPTS = 10;
+    static final Duration RETRY_BACKOFF = Duration.ofSeconds(1);
+
+    private final KafkaReceiver<String, EventEnvelope> deleteUserProductsReceiver;
+    private final ReactiveProductService productService;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = consume(deleteUserProductsReceiver.receive())
+                // Erreur côté consumer Kafka (broker indisponible...) : on se réabonne
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, RETRY_BACKOFF).maxBackoff(Duration.ofMinutes(1)))
+                .subscribe();
+    }
+
+    Flux<Void> consume(Flux<ReceiverRecord<String, EventEnvelope>> records) {
+        return records.concatMap(record -> Flux.fromIterable(userIds(record.value()))
+                .concatMap(this::deleteProducts)
+                .doFinally(signal -> record.receiverOffset().acknowledge()));
+    }
+
+    private static List<String> userIds(EventEnvelope event) {
+        return event == null ? List.of() : event.ids();
+    }
+
+    /**
+     * Comme le handler par défaut des {@code @KafkaListener} : quelques tentatives puis le message est ignoré.
+     */
+    private Mono<Void> deleteProducts(String userId) {
+        log.info("Delete products for user: {}", userId);
+        return productService.deleteProductsByUser(userId)
+                .retryWhen(Retry.fixedDelay(MAX_ATTEMPTS - 1L, RETRY_BACKOFF))
+                .onErrorResume(e -> {
+                    log.error("Failed to delete products for user {}", userId, e);
+                    return Mono.empty();
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -1,5 +1,24 @@
 package com.example.productservice.service;
 
+import com.example.common.events.EventEnvelope;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Les futures sont complétées quand le broker a accusé réception du message.
+ */
 public interface ProductEventPublisher {
-    void sendDeleteEvent(String productId);
+    /**
+     * Publie un seul message pour tous les produits.
+     */
+    CompletableFuture<SendResult<String, EventEnvelope>> sendDeleteEvent(Collection<String> productIds);
+
+    CompletableFuture<SendResult<String, EventEnvelope>> sendChangeEvent(String productId);
+
+    /**
+     * Publie un seul message pour tous les produits.
+     */
+    CompletableFuture<SendResult<String, EventEnvelope>> sendChangeEvent(Collection<String> productIds);
 }
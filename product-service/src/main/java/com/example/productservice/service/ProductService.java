@@ -2,7 +2,10 @@ package com.example.productservice.service;
 
 import com.example.productservice.data.entities.Product;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface ProductService {
     Product create(Product product);
@@ -11,13 +14,51 @@ public interface ProductService {
 
     Product update(Product product);
 
+    /**
+     * Produits dont l'id figure dans {@code ids}, lus en une seule requête {@code _id: {$in: [...]}}.
+     *
+     * @return les produits trouvés indexés par id ; les ids inconnus sont absents
+     */
+    Map<String, Product> getByIds(Collection<String> ids);
+
     List<Product> getByUserId(String userId);
 
-    List<Product> getAllProducts();
+    /**
+     * Page de produits d'un utilisateur triés par {@code _id}, strictement après {@code cursor}.
+     *
+     * @param cursor l'id du dernier produit de la page précédente, ou null pour la première page
+     * @param limit le nombre maximum de produits à retourner
+     */
+    List<Product> getByUserId(String userId, String cursor, int limit);
+
+    /**
+     * Page de produits triés par {@code _id}, strictement après {@code cursor}.
+     *
+     * @param cursor l'id du dernier produit de la page précédente, ou null pour la première page
+     * @param limit le nombre maximum de produits à retourner
+     */
+    List<Product> getAllProducts(String cursor, int limit);
+
+    /**
+     * Tous les produits triés par {@code _id}, lus au fil d'un curseur Mongo.
+     * Le stream doit être fermé par l'appelant pour libérer le curseur.
+     */
+    Stream<Product> streamAllProducts();
 
     void delete(String id);
 
     void deleteProductsByUser(String userId);
 
+    /**
+     * Supprime en une requête les produits de plusieurs utilisateurs (un lot de messages Kafka).
+     */
+    void deleteProductsByUsers(Collection<String> userIds);
+
     Product getByName(String name);
+
+    /**
+     * Retire un produit (et les listes par utilisateur) du cache local après une
+     * modification faite par une autre instance.
+     */
+    void evictFromCache(String id);
 }
@@ -0,0 +1,50 @@
+package com.example.productservice.service;
+
+import com.example.productservice.data.entities.Product;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Version non bloquante de {@link ProductService}, active avec le profil {@code reactive}.
+ */
+public interface ReactiveProductService {
+    Mono<Product> create(Product product);
+
+    Mono<Product> getById(String id);
+
+    Mono<Product> update(Product product);
+
+    /**
+     * Produits dont l'id figure dans {@code ids}, lus en une seule requête {@code _id: {$in: [...]}}.
+     */
+    Flux<Product> getByIds(Collection<String> ids);
+
+    /**
+     * Page de produits d'un utilisateur triés par {@code _id}, strictement après {@code cursor}.
+     *
+     * @param cursor l'id du dernier produit de la page précédente, ou null pour la première page
+     * @param limit le nombre maximum de produits à retourner
+     */
+    Flux<Product> getByUserId(String userId, String cursor, int limit);
+
+    /**
+     * Page de produits triés par {@code _id}, strictement après {@code cursor}.
+     *
+     * @param cursor l'id du dernier produit de la page précédente, ou null pour la première page
+     * @param limit le nombre maximum de produits à retourner
+     */
+    Flux<Product> getAllProducts(String cursor, int limit);
+
+    /**
+     * Tous les produits triés par {@code _id} ; le curseur Mongo avance au rythme de la demande de l'abonné.
+     */
+    Flux<Product> streamAllProducts();
+
+    Mono<Void> delete(String id);
+
+    Mono<Void> deleteProductsByUser(String userId);
+
+    Mono<Product> getByName(String name);
+}
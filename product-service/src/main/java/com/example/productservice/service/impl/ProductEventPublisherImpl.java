@@ -1,19 +1,39 @@
 package com.example.productservice.service.impl;
 
+import com.example.common.events.EventEnvelope;
+import com.example.common.events.EventPublisher;
+import com.example.common.events.EventType;
 import com.example.productservice.service.ProductEventPublisher;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class ProductEventPublisherImpl implements ProductEventPublisher {
-    private final KafkaTemplate<String, String> kafkaTemplate;
 
-    public ProductEventPublisherImpl(KafkaTemplate<String, String> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    static final String DELETE_PRODUCT_MEDIA_TOPIC = "delete-product-media";
+    static final String PRODUCT_CHANGED_TOPIC = "product-changed";
+
+    private final EventPublisher eventPublisher;
+
+    public ProductEventPublisherImpl(EventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public CompletableFuture<SendResult<String, EventEnvelope>> sendDeleteEvent(Collection<String> productIds) {
+        return eventPublisher.publish(DELETE_PRODUCT_MEDIA_TOPIC, EventEnvelope.idempotent(EventType.PRODUCT_DELETED, productIds));
+    }
+
+    @Override
+    public CompletableFuture<SendResult<String, EventEnvelope>> sendChangeEvent(String productId) {
+        return eventPublisher.publish(PRODUCT_CHANGED_TOPIC, EventEnvelope.of(EventType.PRODUCT_CHANGED, productId));
     }
 
     @Override
-    public void sendDeleteEvent(String productId) {
-        kafkaTemplate.send("delete-product-media", productId);
+    public CompletableFuture<SendResult<String, EventEnvelope>> sendChangeEvent(Collection<String> productIds) {
+        return eventPublisher.publish(PRODUCT_CHANGED_TOPIC, EventEnvelope.of(EventType.PRODUCT_CHANGED, productIds));
     }
 }
@@ -1,36 +1,73 @@
 package com.example.productservice.service.impl;
 
+import com.example.productservice.data.entities.OutboxEvent;
 import com.example.productservice.data.entities.Product;
+import com.example.productservice.data.repositories.OutboxEventRepository;
 import com.example.productservice.data.repositories.ProductRepository;
+import com.example.productservice.service.ProductEventPublisher;
 import com.example.productservice.service.ProductService;
 import java.util.Collections;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.example.productservice.config.CacheConfig.PRODUCTS_CACHE;
+import static com.example.productservice.config.CacheConfig.USER_PRODUCTS_CACHE;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ProductEventPublisher productEventPublisher;
 
     @Override
+    @CacheEvict(cacheNames = USER_PRODUCTS_CACHE, allEntries = true)
     public Product create(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productEventPublisher.sendChangeEvent(saved.getId());
+        return saved;
     }
 
     @Override
+    @Cacheable(cacheNames = PRODUCTS_CACHE, unless = "#result == null")
     public Product getById(String id) {
         return productRepository.findById(id).orElse(null);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCTS_CACHE, key = "#product.id"),
+            @CacheEvict(cacheNames = USER_PRODUCTS_CACHE, allEntries = true)
+    })
     public Product update(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productEventPublisher.sendChangeEvent(saved.getId());
+        return saved;
     }
 
     @Override
+    public Map<String, Product> getByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Product> products = new LinkedHashMap<>();
+        productRepository.findAllById(ids).forEach(product -> products.put(product.getId(), product));
+        return products;
+    }
+
+    @Override
+    @Cacheable(cacheNames = USER_PRODUCTS_CACHE, key = "#userId")
     public List<Product> getByUserId(String userId) {
         List<Product> products = productRepository.findByUserId(userId);
         if (products.isEmpty()) {
@@ -40,26 +77,91 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    public List<Product> getAllProducts() {
-        List<Product> products = productRepository.findAll();
-        if (products.isEmpty()) {
-            return List.of();
+    @Cacheable(cacheNames = USER_PRODUCTS_CACHE, key = "#userId + ':' + #cursor + ':' + #limit")
+    public List<Product> getByUserId(String userId, String cursor, int limit) {
+        if (cursor == null) {
+            return productRepository.findByUserIdOrderByIdAsc(userId, Limit.of(limit));
         }
-        return products;
+        return productRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, cursor, Limit.of(limit));
+    }
+
+    @Override
+    public List<Product> getAllProducts(String cursor, int limit) {
+        if (cursor == null) {
+            return productRepository.findAllByOrderByIdAsc(Limit.of(limit));
+        }
+        return productRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(limit));
+    }
+
+    @Override
+    public Stream<Product> streamAllProducts() {
+        return productRepository.streamAllByOrderByIdAsc();
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCTS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = USER_PRODUCTS_CACHE, allEntries = true)
+    })
     public void delete(String id) {
+        // L'événement est enregistré avant la suppression : ProductOutboxRelay le publie une fois le produit disparu
+        outboxEventRepository.save(OutboxEvent.productDeleted(id));
         productRepository.deleteById(id);
+        productEventPublisher.sendChangeEvent(id);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = USER_PRODUCTS_CACHE, allEntries = true)
+    })
     public void deleteProductsByUser(String userId) {
+        List<Product> products = productRepository.findByUserId(userId);
+        recordDeletions(products);
         productRepository.deleteProductsByUserId(userId);
+        publishChanges(products);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = USER_PRODUCTS_CACHE, allEntries = true)
+    })
+    public void deleteProductsByUsers(Collection<String> userIds) {
+        List<Product> products = productRepository.findByUserIdIn(userIds);
+        recordDeletions(products);
+        productRepository.deleteProductsByUserIdIn(userIds);
+        publishChanges(products);
+    }
+
+    /**
+     * Un événement par produit, insérés en une seule requête.
+     */
+    private void recordDeletions(List<Product> products) {
+        if (!products.isEmpty()) {
+            outboxEventRepository.saveAll(products.stream()
+                    .map(product -> OutboxEvent.productDeleted(product.getId()))
+                    .toList());
+        }
+    }
+
+    private void publishChanges(List<Product> products) {
+        if (!products.isEmpty()) {
+            productEventPublisher.sendChangeEvent(products.stream().map(Product::getId).toList());
+        }
     }
 
     @Override
     public Product getByName(String name) {
         return productRepository.getByName(name);
     }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCTS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = USER_PRODUCTS_CACHE, allEntries = true)
+    })
+    public void evictFromCache(String id) {
+        // Les annotations suffisent : la modification a déjà été appliquée en base par une autre instance
+    }
 }
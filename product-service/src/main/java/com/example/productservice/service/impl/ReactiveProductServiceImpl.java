@@ -0,0 +1,109 @@
+package com.example.productservice.service.impl;
+
+import com.example.productservice.data.entities.OutboxEvent;
+import com.example.productservice.data.entities.Product;
+import com.example.productservice.data.repositories.ReactiveOutboxEventRepository;
+import com.example.productservice.data.repositories.ReactiveProductRepository;
+import com.example.productservice.service.ProductEventPublisher;
+import com.example.productservice.service.ReactiveProductService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductServiceImpl implements ReactiveProductService {
+
+    private final ReactiveProductRepository productRepository;
+    private final ReactiveOutboxEventRepository outboxEventRepository;
+    private final ProductEventPublisher productEventPublisher;
+
+    @Override
+    public Mono<Product> create(Product product) {
+        return productRepository.save(product)
+                .flatMap(saved -> publishChange(saved.getId()).thenReturn(saved));
+    }
+
+    @Override
+    public Mono<Product> getById(String id) {
+        return productRepository.findById(id);
+    }
+
+    @Override
+    public Flux<Product> getByIds(Collection<String> ids) {
+        return ids.isEmpty() ? Flux.empty() : productRepository.findAllById(ids);
+    }
+
+    @Override
+    public Mono<Product> update(Product product) {
+        return productRepository.save(product)
+                .flatMap(saved -> publishChange(saved.getId()).thenReturn(saved));
+    }
+
+    @Override
+    public Flux<Product> getByUserId(String userId, String cursor, int limit) {
+        if (cursor == null) {
+            return productRepository.findByUserIdOrderByIdAsc(userId, Limit.of(limit));
+        }
+        return productRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, cursor, Limit.of(limit));
+    }
+
+    @Override
+    public Flux<Product> getAllProducts(String cursor, int limit) {
+        if (cursor == null) {
+            return productRepository.findAllByOrderByIdAsc(Limit.of(limit));
+        }
+        return productRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(limit));
+    }
+
+    @Override
+    public Flux<Product> streamAllProducts() {
+        return productRepository.streamAllByOrderByIdAsc();
+    }
+
+    @Override
+    public Mono<Void> delete(String id) {
+        return outboxEventRepository.save(OutboxEvent.productDeleted(id))
+                .then(productRepository.deleteById(id))
+                .then(publishChange(id));
+    }
+
+    @Override
+    public Mono<Void> deleteProductsByUser(String userId) {
+        return productRepository.findByUserId(userId)
+                .map(Product::getId)
+                .collectList()
+                .flatMap(ids -> outboxEventRepository.saveAll(ids.stream().map(OutboxEvent::productDeleted).toList())
+                        .then(productRepository.deleteProductsByUserId(userId))
+                        .then(ids.isEmpty() ? Mono.empty() : publishChanges(ids)));
+    }
+
+    @Override
+    public Mono<Product> getByName(String name) {
+        return productRepository.getByName(name);
+    }
+
+    /**
+     * {@code KafkaTemplate.send} peut bloquer le temps de récupérer les métadonnées du topic :
+     * l'envoi est donc sorti de la boucle d'événements.
+     */
+    private Mono<Void> publishChange(String productId) {
+        return Mono.fromRunnable(() -> productEventPublisher.sendChangeEvent(productId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private Mono<Void> publishChanges(List<String> productIds) {
+        return Mono.fromRunnable(() -> productEventPublisher.sendChangeEvent(productIds))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
@@ -4,8 +4,10 @@ import com.example.productservice.web.dto.ProductDto;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RequestMapping("api/v1/products")
 public interface ProductController {
@@ -14,7 +16,17 @@ public interface ProductController {
     ResponseEntity<ProductDto> create(@RequestBody @Valid ProductDto productDto);
 
     @GetMapping
-    ResponseEntity<List<ProductDto>> getAll();
+    ResponseEntity<List<ProductDto>> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                            @RequestParam(value = "size", defaultValue = "50") int size);
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    ResponseEntity<StreamingResponseBody> export();
+
+    /**
+     * Produits demandés ({@code ?ids=a,b,c}, au plus 100), indexés par id ; les ids inconnus sont absents.
+     */
+    @GetMapping("/batch")
+    ResponseEntity<Map<String, ProductDto>> getByIds(@RequestParam("ids") List<String> ids);
 
     @GetMapping("/{id}")
     ResponseEntity<ProductDto> getById(@PathVariable("id") String id);
@@ -26,5 +38,7 @@ public interface ProductController {
     ResponseEntity<Void> delete(@PathVariable("id") String id);
 
     @GetMapping("/{userId}/user")
-    ResponseEntity<List<ProductDto>> getByUserId(@PathVariable("userId") String userId);
+    ResponseEntity<List<ProductDto>> getByUserId(@PathVariable("userId") String userId,
+                                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                                 @RequestParam(value = "size", defaultValue = "50") int size);
 }
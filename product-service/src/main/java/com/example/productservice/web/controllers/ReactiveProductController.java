@@ -0,0 +1,45 @@
+package com.example.productservice.web.controllers;
+
+import com.example.productservice.web.dto.ProductDto;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mêmes routes que {@link ProductController}, servies par WebFlux avec le profil {@code reactive}.
+ */
+@RequestMapping("api/v1/products")
+public interface ReactiveProductController {
+
+    @PostMapping
+    Mono<ResponseEntity<ProductDto>> create(@RequestBody @Valid ProductDto productDto);
+
+    @GetMapping
+    Mono<ResponseEntity<List<ProductDto>>> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                                  @RequestParam(value = "size", defaultValue = "50") int size);
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    Flux<ProductDto> export();
+
+    @GetMapping("/batch")
+    Mono<ResponseEntity<Map<String, ProductDto>>> getByIds(@RequestParam("ids") List<String> ids);
+
+    @GetMapping("/{id}")
+    Mono<ResponseEntity<ProductDto>> getById(@PathVariable("id") String id);
+
+    @PutMapping("/{id}")
+    Mono<ResponseEntity<ProductDto>> update(@PathVariable("id") String id, @RequestBody @Valid ProductDto productDto);
+
+    @DeleteMapping("/{id}")
+    Mono<ResponseEntity<Void>> delete(@PathVariable("id") String id);
+
+    @GetMapping("/{userId}/user")
+    Mono<ResponseEntity<List<ProductDto>>> getByUserId(@PathVariable("userId") String userId,
+                                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                                       @RequestParam(value = "size", defaultValue = "50") int size);
+}
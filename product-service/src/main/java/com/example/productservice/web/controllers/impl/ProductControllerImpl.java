@@ -5,19 +5,38 @@ import com.example.productservice.service.ProductService;
 import com.example.productservice.web.controllers.ProductController;
 import com.example.productservice.web.dto.ProductDto;
 import com.example.productservice.web.mapper.ProductMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class ProductControllerImpl implements ProductController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_BATCH_SIZE = 100;
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ProductService productService;
+    private final ObjectMapper objectMapper;
 
     @Override
     public ResponseEntity<ProductDto> create(@RequestBody @Valid ProductDto productDto) {
@@ -25,29 +44,87 @@ public class ProductControllerImpl implements ProductController {
         if (productService.getByName(product.getName()) != null) {
             return ResponseEntity.badRequest().build();
         }
-        Product productSaved = productService.create(product);
+        Product productSaved;
+        try {
+            productSaved = productService.create(product);
+        } catch (DuplicateKeyException e) {
+            // Un produit du même nom a été créé entre la vérification et l'insertion : l'index unique tranche
+            return ResponseEntity.badRequest().build();
+        }
         productDto.setId(productSaved.getId());
         return new ResponseEntity<>(productDto, HttpStatus.CREATED);
     }
 
     @Override
-    public ResponseEntity<List<ProductDto>> getAll() {
-        List<Product> products = productService.getAllProducts();
-        return getListResponseEntity(products);
+    public ResponseEntity<List<ProductDto>> getAll(String cursor, int size) {
+        if (!isValidCursor(cursor)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = boundPageSize(size);
+        // Un élément de plus que la page pour savoir s'il existe une page suivante
+        List<Product> products = productService.getAllProducts(cursor, pageSize + 1);
+        return getPageResponseEntity(products, pageSize);
     }
 
-    private ResponseEntity<List<ProductDto>> getListResponseEntity(List<Product> products) {
+    private ResponseEntity<List<ProductDto>> getPageResponseEntity(List<Product> products, int pageSize) {
         // Return emptyList if no products found
         if (products.isEmpty()) {
             return ResponseEntity.ok().body(List.of());
         }
 
-        List<ProductDto> productDtos = products.stream()
+        List<Product> page = products.size() > pageSize ? products.subList(0, pageSize) : products;
+        List<ProductDto> productDtos = page.stream()
                 .map(ProductMapper::toDto)
                 .toList();
+
+        if (products.size() > pageSize) {
+            return ResponseEntity.ok()
+                    .header(NEXT_CURSOR_HEADER, page.get(page.size() - 1).getId())
+                    .body(productDtos);
+        }
         return new ResponseEntity<>(productDtos, HttpStatus.OK);
     }
 
+    static boolean isValidCursor(String cursor) {
+        return cursor == null || ObjectId.isValid(cursor);
+    }
+
+    static int boundPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> export() {
+        ObjectWriter writer = objectMapper.writerFor(ProductDto.class);
+        StreamingResponseBody body = outputStream -> {
+            // Chaque produit est écrit dès sa lecture : la mémoire ne dépend pas de la taille du catalogue
+            try (Stream<Product> products = productService.streamAllProducts()) {
+                Iterator<Product> iterator = products.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(writer.writeValueAsBytes(ProductMapper.toDto(iterator.next())));
+                    outputStream.write('\n');
+                }
+            }
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    @Override
+    public ResponseEntity<Map<String, ProductDto>> getByIds(List<String> ids) {
+        if (!isValidBatch(ids)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, ProductDto> products = new LinkedHashMap<>();
+        productService.getByIds(new LinkedHashSet<>(ids))
+                .forEach((id, product) -> products.put(id, ProductMapper.toDto(product)));
+        return ResponseEntity.ok(products);
+    }
+
+    static boolean isValidBatch(List<String> ids) {
+        return ids.size() <= MAX_BATCH_SIZE;
+    }
+
     @Override
     public ResponseEntity<ProductDto> getById(String id) {
         Product product = productService.getById(id);
@@ -66,7 +143,12 @@ public class ProductControllerImpl implements ProductController {
         }
         productDto.setId(id);
         Product product = ProductMapper.toEntity(productDto);
-        productService.update(product);
+        try {
+            productService.update(product);
+        } catch (DuplicateKeyException e) {
+            // Le nouveau nom est déjà porté par un autre produit
+            return ResponseEntity.badRequest().build();
+        }
         return new ResponseEntity<>(productDto, HttpStatus.OK);
     }
 
@@ -81,12 +163,16 @@ public class ProductControllerImpl implements ProductController {
     }
 
     @Override
-    public ResponseEntity<List<ProductDto>> getByUserId(String userId) {
-        List<Product> products = productService.getByUserId(userId);
+    public ResponseEntity<List<ProductDto>> getByUserId(String userId, String cursor, int size) {
+        if (!isValidCursor(cursor)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = boundPageSize(size);
+        List<Product> products = productService.getByUserId(userId, cursor, pageSize + 1);
         if (products == null) {
             return ResponseEntity.ok().body(List.of());
         }
-        return getListResponseEntity(products);
+        return getPageResponseEntity(products, pageSize);
     }
 
 }
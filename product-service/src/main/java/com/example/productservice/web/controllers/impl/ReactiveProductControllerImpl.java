@@ -0,0 +1,133 @@
+package com.example.productservice.web.controllers.impl;
+
+import com.example.productservice.data.entities.Product;
+import com.example.productservice.service.ReactiveProductService;
+import com.example.productservice.web.controllers.ReactiveProductController;
+import com.example.productservice.web.dto.ProductDto;
+import com.example.productservice.web.mapper.ProductMapper;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.productservice.web.controllers.impl.ProductControllerImpl.NEXT_CURSOR_HEADER;
+import static com.example.productservice.web.controllers.impl.ProductControllerImpl.boundPageSize;
+import static com.example.productservice.web.controllers.impl.ProductControllerImpl.isValidBatch;
+import static com.example.productservice.web.controllers.impl.ProductControllerImpl.isValidCursor;
+
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductControllerImpl implements ReactiveProductController {
+    /**
+     * Nombre de produits demandés à la fois au curseur Mongo pendant l'export, aligné sur son batch size.
+     */
+    static final int EXPORT_PREFETCH = 500;
+
+    private final ReactiveProductService productService;
+
+    @Override
+    public Mono<ResponseEntity<ProductDto>> create(@RequestBody @Valid ProductDto productDto) {
+        Product product = ProductMapper.toEntity(productDto);
+        return productService.getByName(product.getName())
+                .map(existing -> ResponseEntity.badRequest().<ProductDto>build())
+                .switchIfEmpty(Mono.defer(() -> productService.create(product)
+                        .map(saved -> {
+                            productDto.setId(saved.getId());
+                            return new ResponseEntity<>(productDto, HttpStatus.CREATED);
+                        })
+                        // Création concurrente du même nom : l'index unique tranche
+                        .onErrorReturn(DuplicateKeyException.class, ResponseEntity.badRequest().build())));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<ProductDto>>> getAll(String cursor, int size) {
+        if (!isValidCursor(cursor)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        int pageSize = boundPageSize(size);
+        // Un élément de plus que la page pour savoir s'il existe une page suivante
+        return getPageResponseEntity(productService.getAllProducts(cursor, pageSize + 1), pageSize);
+    }
+
+    private Mono<ResponseEntity<List<ProductDto>>> getPageResponseEntity(Flux<Product> products, int pageSize) {
+        return products.collectList().map(list -> {
+            if (list.size() <= pageSize) {
+                return ResponseEntity.ok(list.stream().map(ProductMapper::toDto).toList());
+            }
+            List<Product> page = list.subList(0, pageSize);
+            return ResponseEntity.ok()
+                    .header(NEXT_CURSOR_HEADER, page.get(page.size() - 1).getId())
+                    .body(page.stream().map(ProductMapper::toDto).toList());
+        });
+    }
+
+    /**
+     * Chaque produit est écrit dès sa lecture ; un client lent ralentit la lecture du curseur
+     * au lieu de faire grossir un tampon en mémoire.
+     */
+    @Override
+    public Flux<ProductDto> export() {
+        return productService.streamAllProducts()
+                .limitRate(EXPORT_PREFETCH)
+                .map(ProductMapper::toDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Map<String, ProductDto>>> getByIds(List<String> ids) {
+        if (!isValidBatch(ids)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return productService.getByIds(new LinkedHashSet<>(ids))
+                .collectMap(Product::getId, ProductMapper::toDto, LinkedHashMap::new)
+                .map(ResponseEntity::ok);
+    }
+
+    @Override
+    public Mono<ResponseEntity<ProductDto>> getById(String id) {
+        return productService.getById(id)
+                .map(product -> ResponseEntity.ok(ProductMapper.toDto(product)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @Override
+    public Mono<ResponseEntity<ProductDto>> update(String id, ProductDto productDto) {
+        return productService.getById(id)
+                .flatMap(existing -> {
+                    productDto.setId(id);
+                    return productService.update(ProductMapper.toEntity(productDto))
+                            .thenReturn(ResponseEntity.ok(productDto))
+                            // Le nouveau nom est déjà porté par un autre produit
+                            .onErrorReturn(DuplicateKeyException.class, ResponseEntity.badRequest().build());
+                })
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @Override
+    public Mono<ResponseEntity<Void>> delete(String id) {
+        return productService.getById(id)
+                .flatMap(existing -> productService.delete(id)
+                        .thenReturn(ResponseEntity.ok().<Void>build()))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<ProductDto>>> getByUserId(String userId, String cursor, int size) {
+        if (!isValidCursor(cursor)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        int pageSize = boundPageSize(size);
+        return getPageResponseEntity(productService.getByUserId(userId, cursor, pageSize + 1), pageSize);
+    }
+}
@@ -1,16 +1,25 @@
 package com.example.productservice.messaging;
 
 import com.example.productservice.service.ProductService;
+import com.example.common.events.EventEnvelope;
+import com.example.common.events.EventType;
+import com.example.common.events.ProcessedEventCache;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -19,108 +28,110 @@ class ProductEventConsumerTest {
     @Mock
     private ProductService productService;
 
+    @Spy
+    private ProcessedEventCache processedEvents = new ProcessedEventCache(100, Duration.ofMinutes(1));
+
     @InjectMocks
     private ProductEventConsumer productEventConsumer;
 
-    @ParameterizedTest
-    @ValueSource(strings = {"user-123", "user-456", "user-789"})
-    void testDeleteProduct_WithVariousUserIds_DeletesProductsForUser(String userId) {
-        // Given
-        doNothing().when(productService).deleteProductsByUser(userId);
+    @Test
+    void testDeleteProducts_Batch_IssuesSingleDelete() {
+        // When
+        productEventConsumer.deleteProducts(records("user-1", "user-2", "user-3"));
+
+        // Then
+        verify(productService, times(1)).deleteProductsByUsers(Set.of("user-1", "user-2", "user-3"));
+        verify(productService, never()).deleteProductsByUser(any());
+    }
 
+    @Test
+    void testDeleteProducts_DuplicateIds_AreDeduplicated() {
         // When
-        productEventConsumer.deleteProduct(userId);
+        productEventConsumer.deleteProducts(records("user-1", "user-1", "user-2"));
 
         // Then
-        verify(productService, times(1)).deleteProductsByUser(userId);
+        verify(productService, times(1)).deleteProductsByUsers(Set.of("user-1", "user-2"));
     }
 
     @Test
-    void testDeleteProduct_WithNullUserId() {
+    void testDeleteProducts_MultiIdEnvelope_IdsAreFlattened() {
         // Given
-        String userId = null;
-        doNothing().when(productService).deleteProductsByUser(userId);
+        EventEnvelope event = EventEnvelope.of(EventType.USER_DELETED, List.of("user-1", "user-2", "user-3"));
 
         // When
-        productEventConsumer.deleteProduct(userId);
+        productEventConsumer.deleteProducts(List.of(new ConsumerRecord<>("delete-user-products", 0, 0L, null, event)));
 
         // Then
-        verify(productService, times(1)).deleteProductsByUser(null);
+        verify(productService, times(1)).deleteProductsByUsers(Set.of("user-1", "user-2", "user-3"));
     }
 
     @Test
-    void testDeleteProduct_WithEmptyUserId() {
+    void testDeleteProducts_RedeliveredBatch_IsSkipped() {
         // Given
-        String userId = "";
-        doNothing().when(productService).deleteProductsByUser(userId);
+        List<ConsumerRecord<String, EventEnvelope>> batch = records("user-1");
+        productEventConsumer.deleteProducts(batch);
 
         // When
-        productEventConsumer.deleteProduct(userId);
+        productEventConsumer.deleteProducts(batch);
 
         // Then
-        verify(productService, times(1)).deleteProductsByUser("");
+        verify(productService, times(1)).deleteProductsByUsers(Set.of("user-1"));
     }
 
     @Test
-    void testDeleteProduct_ServiceThrowsException() {
+    void testDeleteProducts_FailedBatch_IsRetriedOnRedelivery() {
         // Given
-        String userId = "user-with-error";
-        doThrow(new RuntimeException("Database error"))
-                .when(productService).deleteProductsByUser(userId);
+        List<ConsumerRecord<String, EventEnvelope>> batch = records("user-1");
+        doThrow(new RuntimeException("Database error")).doNothing().when(productService).deleteProductsByUsers(any());
+        assertThatThrownBy(() -> productEventConsumer.deleteProducts(batch)).isInstanceOf(RuntimeException.class);
 
-        // When & Then - Exception should propagate
-        assertThatThrownBy(() -> productEventConsumer.deleteProduct(userId))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage("Database error");
+        // When
+        productEventConsumer.deleteProducts(batch);
 
-        verify(productService, times(1)).deleteProductsByUser(userId);
+        // Then
+        verify(productService, times(2)).deleteProductsByUsers(Set.of("user-1"));
     }
 
     @Test
-    void testDeleteProduct_MultipleInvocations() {
-        // Given
-        String userId1 = "user-111";
-        String userId2 = "user-222";
-        String userId3 = "user-333";
+    void testDeleteProducts_NullAndEmptyIds_AreIgnored() {
+        // When
+        productEventConsumer.deleteProducts(records(null, "", "user-1"));
 
-        doNothing().when(productService).deleteProductsByUser(anyString());
+        // Then
+        verify(productService, times(1)).deleteProductsByUsers(Set.of("user-1"));
+    }
 
+    @Test
+    void testDeleteProducts_OnlyBlankIds_DoesNothing() {
         // When
-        productEventConsumer.deleteProduct(userId1);
-        productEventConsumer.deleteProduct(userId2);
-        productEventConsumer.deleteProduct(userId3);
+        productEventConsumer.deleteProducts(records(null, ""));
 
         // Then
-        verify(productService, times(1)).deleteProductsByUser(userId1);
-        verify(productService, times(1)).deleteProductsByUser(userId2);
-        verify(productService, times(1)).deleteProductsByUser(userId3);
-        verify(productService, times(3)).deleteProductsByUser(anyString());
+        verifyNoInteractions(productService);
     }
 
     @Test
-    void testDeleteProduct_VerifyServiceMethodCalledWithCorrectParameter() {
+    void testDeleteProducts_ServiceThrowsException() {
         // Given
-        String userId = "specific-user-id";
-        doNothing().when(productService).deleteProductsByUser(userId);
-
-        // When
-        productEventConsumer.deleteProduct(userId);
+        doThrow(new RuntimeException("Database error")).when(productService).deleteProductsByUsers(any());
 
-        // Then - Verify exact parameter is passed
-        verify(productService, times(1)).deleteProductsByUser(userId);
-        verify(productService, never()).deleteProductsByUser(argThat(id -> !userId.equals(id)));
+        // When & Then - Exception should propagate so the batch is retried
+        assertThatThrownBy(() -> productEventConsumer.deleteProducts(records("user-with-error")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Database error");
     }
 
     @Test
-    void testDeleteProduct_KafkaListenerAnnotation() throws NoSuchMethodException {
+    void testDeleteProducts_KafkaListenerAnnotation() throws NoSuchMethodException {
         // When
-        var method = ProductEventConsumer.class.getMethod("deleteProduct", String.class);
+        var method = ProductEventConsumer.class.getMethod("deleteProducts", List.class);
         var kafkaListenerAnnotation = method.getAnnotation(org.springframework.kafka.annotation.KafkaListener.class);
 
         // Then
         assertThat(kafkaListenerAnnotation).isNotNull();
-        assertThat(kafkaListenerAnnotation.topics()).isNotEmpty();
         assertThat(kafkaListenerAnnotation.topics()[0]).isEqualTo("delete-user-products");
+        assertThat(kafkaListenerAnnotation.batch()).isEqualTo("true");
+        assertThat(kafkaListenerAnnotation.properties()).anyMatch(property -> property.startsWith("max.poll.records="));
     }
 
     @Test
@@ -135,10 +146,27 @@ class ProductEventConsumerTest {
     @Test
     void testConstructor() {
         // When
-        ProductEventConsumer consumer = new ProductEventConsumer(productService);
+        ProductEventConsumer consumer = new ProductEventConsumer(productService, processedEvents);
 
         // Then
         assertThat(consumer).isNotNull();
     }
-}
 
+    @Test
+    void testEvictProduct_EvictsProductFromCache() {
+        // When
+        productEventConsumer.evictProduct(EventEnvelope.of(EventType.PRODUCT_CHANGED, List.of("product-123", "product-456")));
+
+        // Then
+        verify(productService, times(1)).evictFromCache("product-123");
+        verify(productService, times(1)).evictFromCache("product-456");
+        verifyNoMoreInteractions(productService);
+    }
+
+    private static List<ConsumerRecord<String, EventEnvelope>> records(String... values) {
+        return Arrays.stream(values)
+                .map(value -> value == null ? null : EventEnvelope.of(EventType.USER_DELETED, value))
+                .map(event -> new ConsumerRecord<String, EventEnvelope>("delete-user-products", 0, 0L, null, event))
+                .toList();
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.productservice.messaging;
+
+import com.example.productservice.data.entities.OutboxEvent;
+import com.example.productservice.data.entities.Product;
+import com.example.productservice.data.repositories.OutboxEventRepository;
+import com.example.productservice.data.repositories.ProductRepository;
+import com.example.productservice.service.ProductEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductOutboxRelayTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+    private static final String OWNER = "relay-1";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductEventPublisher productEventPublisher;
+
+    private ProductOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new ProductOutboxRelay(outboxEventRepository, productRepository, productEventPublisher,
+                2, Duration.ofMinutes(1), Duration.ofSeconds(1), Duration.ofMinutes(2), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testRelayBatch_DeletedProducts_PublishedThenRemoved() {
+        // Given
+        List<OutboxEvent> events = List.of(event("p1", NOW), event("p2", NOW));
+        when(productRepository.findAllById(List.of("p1", "p2"))).thenReturn(List.of());
+        when(productEventPublisher.sendDeleteEvent(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        boolean done = relay.relayBatch(events, OWNER);
+
+        // Then - Un seul message pour le lot
+        assertThat(done).isTrue();
+        verify(productEventPublisher, times(1)).sendDeleteEvent(List.of("p1", "p2"));
+        verify(outboxEventRepository, times(1)).deleteByIdInAndOwner(List.of("evt-p1", "evt-p2"), OWNER);
+    }
+
+    @Test
+    void testRelayBatch_SendFails_EventsKeptForRetry() {
+        // Given
+        List<OutboxEvent> events = List.of(event("p1", NOW));
+        when(productRepository.findAllById(List.of("p1"))).thenReturn(List.of());
+        when(productEventPublisher.sendDeleteEvent(List.of("p1")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // When
+        boolean done = relay.relayBatch(events, OWNER);
+
+        // Then - Le bail est rendu pour un nouvel essai au prochain passage
+        assertThat(done).isFalse();
+        verify(outboxEventRepository, never()).deleteByIdInAndOwner(any(), any());
+        verify(outboxEventRepository, times(1)).release(List.of("evt-p1"), OWNER);
+    }
+
+    @Test
+    void testRelayBatch_ProductStillExists_RecentEventIsKept() {
+        // Given - Suppression en cours
+        List<OutboxEvent> events = List.of(event("p1", NOW.minusSeconds(5)));
+        when(productRepository.findAllById(List.of("p1"))).thenReturn(List.of(Product.builder().id("p1").build()));
+
+        // When
+        boolean done = relay.relayBatch(events, OWNER);
+
+        // Then
+        assertThat(done).isFalse();
+        verifyNoInteractions(productEventPublisher);
+        verify(outboxEventRepository, never()).deleteByIdInAndOwner(any(), any());
+        verify(outboxEventRepository, times(1)).release(List.of("evt-p1"), OWNER);
+    }
+
+    @Test
+    void testRelayBatch_ProductStillExists_StaleEventIsDropped() {
+        // Given - Suppression échouée il y a plus d'une minute
+        List<OutboxEvent> events = List.of(event("p1", NOW.minus(Duration.ofMinutes(5))));
+        when(productRepository.findAllById(List.of("p1"))).thenReturn(List.of(Product.builder().id("p1").build()));
+
+        // When
+        boolean done = relay.relayBatch(events, OWNER);
+
+        // Then
+        assertThat(done).isTrue();
+        verifyNoInteractions(productEventPublisher);
+        verify(outboxEventRepository, times(1)).deleteByIdInAndOwner(List.of("evt-p1"), OWNER);
+    }
+
+    @Test
+    void testRelay_FullBatch_ReadsNextBatch() {
+        // Given
+        List<OutboxEvent> first = List.of(event("p1", NOW), event("p2", NOW));
+        List<OutboxEvent> second = List.of(event("p3", NOW));
+        when(outboxEventRepository.findByLeasedUntilIsNullOrLeasedUntilBeforeOrderByCreatedAtAsc(NOW, Limit.of(2)))
+                .thenReturn(first, second);
+        when(outboxEventRepository.claim(anyList(), eq(NOW), anyString(), eq(NOW.plus(Duration.ofMinutes(2)))))
+                .thenReturn(2L, 1L);
+        when(outboxEventRepository.findByIdInAndOwner(anyList(), anyString())).thenReturn(first, second);
+        when(productRepository.findAllById(any())).thenReturn(List.of());
+        when(productEventPublisher.sendDeleteEvent(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxEventRepository, times(2))
+                .findByLeasedUntilIsNullOrLeasedUntilBeforeOrderByCreatedAtAsc(NOW, Limit.of(2));
+        verify(productEventPublisher, times(1)).sendDeleteEvent(List.of("p1", "p2"));
+        verify(productEventPublisher, times(1)).sendDeleteEvent(List.of("p3"));
+    }
+
+    @Test
+    void testRelay_EmptyOutbox_DoesNothing() {
+        // Given
+        when(outboxEventRepository.findByLeasedUntilIsNullOrLeasedUntilBeforeOrderByCreatedAtAsc(NOW, Limit.of(2)))
+                .thenReturn(List.of());
+
+        // When
+        relay.relay();
+
+        // Then
+        verifyNoInteractions(productRepository, productEventPublisher);
+    }
+
+    @Test
+    void testRelay_BatchClaimedByAnotherReplica_NothingPublished() {
+        // Given - Un autre réplica a pris le bail entre la lecture et la réservation
+        when(outboxEventRepository.findByLeasedUntilIsNullOrLeasedUntilBeforeOrderByCreatedAtAsc(NOW, Limit.of(2)))
+                .thenReturn(List.of(event("p1", NOW)));
+        when(outboxEventRepository.claim(eq(List.of("evt-p1")), eq(NOW), anyString(), any())).thenReturn(0L);
+
+        // When
+        relay.relay();
+
+        // Then
+        verifyNoInteractions(productRepository, productEventPublisher);
+        verify(outboxEventRepository, never()).deleteByIdInAndOwner(any(), any());
+    }
+
+    @Test
+    void testClaim_PartiallyClaimed_OnlyOwnedEventsReturned() {
+        // Given
+        List<OutboxEvent> candidates = List.of(event("p1", NOW), event("p2", NOW));
+        OutboxEvent owned = event("p2", NOW);
+        when(outboxEventRepository.claim(List.of("evt-p1", "evt-p2"), NOW, OWNER, NOW.plus(Duration.ofMinutes(2))))
+                .thenReturn(1L);
+        when(outboxEventRepository.findByIdInAndOwner(List.of("evt-p1", "evt-p2"), OWNER)).thenReturn(List.of(owned));
+
+        // When
+        List<OutboxEvent> claimed = relay.claim(candidates, OWNER);
+
+        // Then
+        assertThat(claimed).containsExactly(owned);
+    }
+
+    @Test
+    void testConstructor_LeaseNotLongerThanSendTimeout_Rejected() {
+        assertThatThrownBy(() -> new ProductOutboxRelay(outboxEventRepository, productRepository,
+                productEventPublisher, 2, Duration.ofMinutes(1), Duration.ofSeconds(30), Duration.ofSeconds(30),
+                Clock.fixed(NOW, ZoneOffset.UTC)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static OutboxEvent event(String productId, Instant createdAt) {
+        return OutboxEvent.builder().id("evt-" + productId).productId(productId).createdAt(createdAt).build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.productservice.messaging;
+
+import com.example.common.events.EventEnvelope;
+import com.example.common.events.EventType;
+import com.example.productservice.service.ReactiveProductService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProductEventConsumerTest {
+
+    @Mock
+    private KafkaReceiver<String, EventEnvelope> deleteUserProductsReceiver;
+
+    @Mock
+    private ReactiveProductService productService;
+
+    @InjectMocks
+    private ReactiveProductEventConsumer consumer;
+
+    @Test
+    void testConsume_DeletesProductsAndAcknowledges() {
+        // Given
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        when(productService.deleteProductsByUser("user-123")).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(consumer.consume(Flux.just(record("user-123", offset)))).verifyComplete();
+        verify(productService, times(1)).deleteProductsByUser("user-123");
+        verify(offset, times(1)).acknowledge();
+    }
+
+    @Test
+    void testConsume_MultiIdEnvelope_DeletesEachUserThenAcknowledgesOnce() {
+        // Given
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        when(productService.deleteProductsByUser(anyString())).thenReturn(Mono.empty());
+        EventEnvelope event = EventEnvelope.of(EventType.USER_DELETED, List.of("user-1", "user-2"));
+
+        // When & Then
+        StepVerifier.create(consumer.consume(Flux.just(record(event, offset)))).verifyComplete();
+        InOrder inOrder = inOrder(productService);
+        inOrder.verify(productService).deleteProductsByUser("user-1");
+        inOrder.verify(productService).deleteProductsByUser("user-2");
+        verify(offset, times(1)).acknowledge();
+    }
+
+    @Test
+    void testConsume_PersistentFailure_SkipsRecordAndContinues() {
+        // Given
+        ReceiverOffset failingOffset = mock(ReceiverOffset.class);
+        ReceiverOffset nextOffset = mock(ReceiverOffset.class);
+        AtomicInteger attempts = new AtomicInteger();
+        when(productService.deleteProductsByUser("user-1"))
+                .thenReturn(Mono.defer(() -> {
+                    attempts.incrementAndGet();
+                    return Mono.error(new IllegalStateException("mongo down"));
+                }));
+        when(productService.deleteProductsByUser("user-2")).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.withVirtualTime(() -> consumer.consume(
+                        Flux.just(record("user-1", failingOffset), record("user-2", nextOffset))))
+                .thenAwait(Duration.ofMinutes(1))
+                .verifyComplete();
+        verify(failingOffset, times(1)).acknowledge();
+        verify(nextOffset, times(1)).acknowledge();
+        assertThat(attempts).hasValue(ReactiveProductEventConsumer.MAX_ATTEMPTS);
+    }
+
+    private static ReceiverRecord<String, EventEnvelope> record(String userId, ReceiverOffset offset) {
+        return record(EventEnvelope.of(EventType.USER_DELETED, userId), offset);
+    }
+
+    private static ReceiverRecord<String, EventEnvelope> record(EventEnvelope event, ReceiverOffset offset) {
+        return new ReceiverRecord<>(new ConsumerRecord<>("delete-user-products", 0, 0L, null, event), offset);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.productservice.service;
+
+import com.example.productservice.config.CacheConfig;
+import com.example.productservice.data.entities.Product;
+import com.example.productservice.data.repositories.OutboxEventRepository;
+import com.example.productservice.data.repositories.ProductRepository;
+import com.example.productservice.service.impl.ProductServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(ProductServiceCacheTest.TestConfig.class)
+class ProductServiceCacheTest {
+
+    @Configuration
+    @EnableCaching
+    @Import(ProductServiceImpl.class)
+    static class TestConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new CacheConfig().cacheManager(100, Duration.ofMinutes(1));
+        }
+    }
+
+    @MockitoBean
+    private ProductRepository productRepository;
+
+    @MockitoBean
+    private OutboxEventRepository outboxEventRepository;
+
+    @MockitoBean
+    private ProductEventPublisher productEventPublisher;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        testProduct = Product.builder().id("1").name("Test Product").userId("user123").build();
+    }
+
+    @Test
+    void testGetById_SecondCallIsServedFromCache() {
+        // Given
+        when(productRepository.findById("1")).thenReturn(Optional.of(testProduct));
+
+        // When
+        productService.getById("1");
+        Product result = productService.getById("1");
+
+        // Then
+        assertThat(result).isEqualTo(testProduct);
+        verify(productRepository, times(1)).findById("1");
+    }
+
+    @Test
+    void testGetById_NotFoundIsNotCached() {
+        // Given
+        when(productRepository.findById("999")).thenReturn(Optional.empty());
+
+        // When
+        productService.getById("999");
+        productService.getById("999");
+
+        // Then
+        verify(productRepository, times(2)).findById("999");
+    }
+
+    @Test
+    void testUpdate_EvictsProductAndUserPages() {
+        // Given
+        when(productRepository.findById("1")).thenReturn(Optional.of(testProduct));
+        when(productRepository.findByUserIdOrderByIdAsc("user123", Limit.of(10))).thenReturn(List.of(testProduct));
+        when(productRepository.save(testProduct)).thenReturn(testProduct);
+        productService.getById("1");
+        productService.getByUserId("user123", null, 10);
+
+        // When
+        productService.update(testProduct);
+        productService.getById("1");
+        productService.getByUserId("user123", null, 10);
+
+        // Then
+        verify(productRepository, times(2)).findById("1");
+        verify(productRepository, times(2)).findByUserIdOrderByIdAsc("user123", Limit.of(10));
+    }
+
+    @Test
+    void testDelete_EvictsProduct() {
+        // Given
+        when(productRepository.findById("1")).thenReturn(Optional.of(testProduct));
+        productService.getById("1");
+
+        // When
+        productService.delete("1");
+        productService.getById("1");
+
+        // Then
+        verify(productRepository, times(2)).findById("1");
+    }
+
+    @Test
+    void testEvictFromCache_RemoteChangeEvictsProduct() {
+        // Given
+        when(productRepository.findById("1")).thenReturn(Optional.of(testProduct));
+        productService.getById("1");
+
+        // When
+        productService.evictFromCache("1");
+        productService.getById("1");
+
+        // Then
+        verify(productRepository, times(2)).findById("1");
+        verifyNoInteractions(productEventPublisher);
+    }
+
+    @Test
+    void testCreate_EvictsUserPages() {
+        // Given
+        when(productRepository.findByUserIdOrderByIdAsc("user123", Limit.of(10))).thenReturn(List.of());
+        when(productRepository.save(testProduct)).thenReturn(testProduct);
+        productService.getByUserId("user123", null, 10);
+
+        // When
+        productService.create(testProduct);
+        productService.getByUserId("user123", null, 10);
+
+        // Then
+        verify(productRepository, times(2)).findByUserIdOrderByIdAsc("user123", Limit.of(10));
+    }
+}
@@ -1,22 +1,29 @@
 package com.example.productservice.service;
 
+import com.example.productservice.data.entities.OutboxEvent;
 import com.example.productservice.data.entities.Product;
+import com.example.productservice.data.repositories.OutboxEventRepository;
 import com.example.productservice.data.repositories.ProductRepository;
 import com.example.productservice.service.impl.ProductServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +32,12 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ProductEventPublisher productEventPublisher;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -52,6 +65,7 @@ class ProductServiceTest {
         assertThat(result.getId()).isEqualTo("1");
         assertThat(result.getName()).isEqualTo("Test Product");
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(productEventPublisher, times(1)).sendChangeEvent("1");
     }
 
     @Test
@@ -82,6 +96,32 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById("999");
     }
 
+    @Test
+    void testGetByIds_SingleQueryKeyedById() {
+        // Given
+        Product product2 = Product.builder().id("2").name("Product 2").build();
+        when(productRepository.findAllById(List.of("1", "2", "3"))).thenReturn(List.of(testProduct, product2));
+
+        // When
+        Map<String, Product> result = productService.getByIds(List.of("1", "2", "3"));
+
+        // Then
+        assertThat(result).containsOnlyKeys("1", "2");
+        assertThat(result.get("2")).isEqualTo(product2);
+        verify(productRepository, times(1)).findAllById(List.of("1", "2", "3"));
+        verify(productRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void testGetByIds_NoIds_NoQuery() {
+        // When
+        Map<String, Product> result = productService.getByIds(List.of());
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(productRepository);
+    }
+
     @Test
     void testGetAllProducts_Success() {
         // Given
@@ -90,27 +130,82 @@ class ProductServiceTest {
         product2.setName("Product 2");
         List<Product> products = Arrays.asList(testProduct, product2);
 
-        when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findAllByOrderByIdAsc(Limit.of(10))).thenReturn(products);
 
         // When
-        List<Product> result = productService.getAllProducts();
+        List<Product> result = productService.getAllProducts(null, 10);
 
         // Then
         assertThat(result).hasSize(2);
-        verify(productRepository, times(1)).findAll(); // Correction: 1 seul appel
+        verify(productRepository, times(1)).findAllByOrderByIdAsc(Limit.of(10));
+        verify(productRepository, never()).findAll();
     }
 
     @Test
     void testGetAllProducts_EmptyList() {
         // Given
-        when(productRepository.findAll()).thenReturn(List.of());
+        when(productRepository.findAllByOrderByIdAsc(Limit.of(10))).thenReturn(List.of());
+
+        // When
+        List<Product> result = productService.getAllProducts(null, 10);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(productRepository, times(1)).findAllByOrderByIdAsc(Limit.of(10));
+    }
+
+    @Test
+    void testGetAllProducts_WithCursor_ReadsAfterCursor() {
+        // Given
+        when(productRepository.findByIdGreaterThanOrderByIdAsc("1", Limit.of(10))).thenReturn(List.of());
 
         // When
-        List<Product> result = productService.getAllProducts();
+        List<Product> result = productService.getAllProducts("1", 10);
 
         // Then
         assertThat(result).isEmpty();
-        verify(productRepository, times(1)).findAll();
+        verify(productRepository, times(1)).findByIdGreaterThanOrderByIdAsc("1", Limit.of(10));
+        verify(productRepository, never()).findAllByOrderByIdAsc(any());
+    }
+
+    @Test
+    void testGetByUserIdPage_FirstPage() {
+        // Given
+        when(productRepository.findByUserIdOrderByIdAsc("user123", Limit.of(10))).thenReturn(List.of(testProduct));
+
+        // When
+        List<Product> result = productService.getByUserId("user123", null, 10);
+
+        // Then
+        assertThat(result).containsExactly(testProduct);
+        verify(productRepository, never()).findByUserId(any());
+    }
+
+    @Test
+    void testGetByUserIdPage_WithCursor_ReadsAfterCursor() {
+        // Given
+        when(productRepository.findByUserIdAndIdGreaterThanOrderByIdAsc("user123", "1", Limit.of(10)))
+                .thenReturn(List.of());
+
+        // When
+        List<Product> result = productService.getByUserId("user123", "1", 10);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(productRepository, times(1)).findByUserIdAndIdGreaterThanOrderByIdAsc("user123", "1", Limit.of(10));
+    }
+
+    @Test
+    void testStreamAllProducts_DelegatesToRepositoryStream() {
+        // Given
+        when(productRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(testProduct));
+
+        // When
+        List<Product> result = productService.streamAllProducts().toList();
+
+        // Then
+        assertThat(result).containsExactly(testProduct);
+        verify(productRepository, never()).findAll();
     }
 
     @Test
@@ -126,6 +221,7 @@ class ProductServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getPrice()).isEqualTo(150.0);
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(productEventPublisher, times(1)).sendChangeEvent("1");
     }
 
     @Test
@@ -136,8 +232,12 @@ class ProductServiceTest {
         // When
         productService.delete("1");
 
-        // Then
-        verify(productRepository, times(1)).deleteById("1");
+        // Then - L'événement outbox est écrit avant la suppression
+        InOrder inOrder = inOrder(outboxEventRepository, productRepository);
+        inOrder.verify(outboxEventRepository).save(argThat(event -> "1".equals(event.getProductId())));
+        inOrder.verify(productRepository).deleteById("1");
+        verify(productEventPublisher, times(1)).sendChangeEvent("1");
+        verify(productEventPublisher, never()).sendDeleteEvent(any());
     }
 
     @Test
@@ -180,6 +280,63 @@ class ProductServiceTest {
         verify(productRepository, times(1)).deleteProductsByUserId("user123");
     }
 
+    @Test
+    void testDeleteProductsByUser_PublishesSingleChangeEvent() {
+        // Given
+        Product product2 = new Product();
+        product2.setId("2");
+        when(productRepository.findByUserId("user123")).thenReturn(List.of(testProduct, product2));
+
+        // When
+        productService.deleteProductsByUser("user123");
+
+        // Then
+        verify(productRepository, times(1)).deleteProductsByUserId("user123");
+        verify(productEventPublisher, times(1)).sendChangeEvent(List.of("1", "2"));
+        verify(outboxEventRepository, times(1)).saveAll(argThat((List<OutboxEvent> events) ->
+                events.stream().map(OutboxEvent::getProductId).toList().equals(List.of("1", "2"))));
+    }
+
+    @Test
+    void testDeleteProductsByUser_NoProducts_WritesNoOutboxEvent() {
+        // Given
+        when(productRepository.findByUserId("user123")).thenReturn(List.of());
+
+        // When
+        productService.deleteProductsByUser("user123");
+
+        // Then
+        verifyNoInteractions(outboxEventRepository, productEventPublisher);
+    }
+
+    @Test
+    void testDeleteProductsByUsers_SingleDeleteAndSingleChangeEvent() {
+        // Given
+        Product product2 = new Product();
+        product2.setId("2");
+        List<String> userIds = List.of("user123", "user456");
+        when(productRepository.findByUserIdIn(userIds)).thenReturn(List.of(testProduct, product2));
+
+        // When
+        productService.deleteProductsByUsers(userIds);
+
+        // Then
+        verify(productRepository, times(1)).deleteProductsByUserIdIn(userIds);
+        verify(productRepository, never()).deleteProductsByUserId(any());
+        verify(outboxEventRepository, times(1)).saveAll(argThat((List<OutboxEvent> events) -> events.size() == 2));
+        verify(productEventPublisher, times(1)).sendChangeEvent(List.of("1", "2"));
+        verify(productEventPublisher, never()).sendChangeEvent(anyString());
+    }
+
+    @Test
+    void testEvictFromCache_DoesNotTouchRepository() {
+        // When
+        productService.evictFromCache("1");
+
+        // Then
+        verifyNoInteractions(productRepository, productEventPublisher);
+    }
+
     @Test
     void testGetByName_Found() {
         // Given
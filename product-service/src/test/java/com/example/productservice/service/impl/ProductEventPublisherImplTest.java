@@ -1,5 +1,8 @@
 package com.example.productservice.service.impl;
 
+import com.example.common.events.EventEnvelope;
+import com.example.common.events.EventPublisher;
+import com.example.common.events.EventType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -8,7 +11,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -18,7 +24,7 @@ import static org.mockito.Mockito.*;
 class ProductEventPublisherImplTest {
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private EventPublisher eventPublisher;
 
     @InjectMocks
     private ProductEventPublisherImpl productEventPublisher;
@@ -26,109 +32,93 @@ class ProductEventPublisherImplTest {
     @ParameterizedTest
     @ValueSource(strings = {"product-123", "product-456", "product-789"})
     void testSendDeleteEvent_WithVariousProductIds_SendsToKafka(String productId) {
-        // Given
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
-
         // When
-        productEventPublisher.sendDeleteEvent(productId);
+        productEventPublisher.sendDeleteEvent(List.of(productId));
 
         // Then
-        verify(kafkaTemplate, times(1)).send("delete-product-media", productId);
+        verify(eventPublisher, times(1)).publish(eq("delete-product-media"), argThat(event -> event.ids().equals(List.of(productId))));
     }
 
     @Test
-    void testSendDeleteEvent_VerifyTopicAndProductId() {
+    void testSendDeleteEvent_VerifyTopicAndEnvelope() {
         // Given
-        String productId = "specific-product-123";
         ArgumentCaptor<String> topicCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<String> productIdCaptor = ArgumentCaptor.forClass(String.class);
-        
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
+        ArgumentCaptor<EventEnvelope> eventCaptor = ArgumentCaptor.forClass(EventEnvelope.class);
 
         // When
-        productEventPublisher.sendDeleteEvent(productId);
+        productEventPublisher.sendDeleteEvent(List.of("specific-product-123"));
 
         // Then
-        verify(kafkaTemplate, times(1)).send(topicCaptor.capture(), productIdCaptor.capture());
-        
+        verify(eventPublisher, times(1)).publish(topicCaptor.capture(), eventCaptor.capture());
+
         assertThat(topicCaptor.getValue()).isEqualTo("delete-product-media");
-        assertThat(productIdCaptor.getValue()).isEqualTo("specific-product-123");
+        assertThat(eventCaptor.getValue().type()).isEqualTo(EventType.PRODUCT_DELETED);
+        assertThat(eventCaptor.getValue().ids()).containsExactly("specific-product-123");
     }
 
     @Test
-    void testSendDeleteEvent_WithNullProductId() {
+    void testSendDeleteEvent_ReturnsBrokerAcknowledgement() {
         // Given
-        String productId = null;
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
+        CompletableFuture<SendResult<String, EventEnvelope>> sent = new CompletableFuture<>();
+        when(eventPublisher.publish(eq("delete-product-media"), any(EventEnvelope.class))).thenReturn(sent);
 
         // When
-        productEventPublisher.sendDeleteEvent(productId);
+        CompletableFuture<SendResult<String, EventEnvelope>> result = productEventPublisher.sendDeleteEvent(List.of("p1"));
 
         // Then
-        verify(kafkaTemplate, times(1)).send("delete-product-media", null);
+        assertThat(result).isSameAs(sent);
     }
 
     @Test
-    void testSendDeleteEvent_WithEmptyProductId() {
-        // Given
-        String productId = "";
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
-
+    void testSendDeleteEvent_SeveralProducts_SingleMessage() {
         // When
-        productEventPublisher.sendDeleteEvent(productId);
+        productEventPublisher.sendDeleteEvent(List.of("product-111", "product-222", "product-333"));
 
         // Then
-        verify(kafkaTemplate, times(1)).send("delete-product-media", "");
+        verify(eventPublisher, times(1)).publish(eq("delete-product-media"), argThat(event ->
+                event.ids().equals(List.of("product-111", "product-222", "product-333"))));
     }
 
     @Test
-    void testSendDeleteEvent_KafkaTemplateThrowsException() {
+    void testSendDeleteEvent_PublisherThrowsException() {
         // Given
-        String productId = "product-error";
-        when(kafkaTemplate.send(anyString(), nullable(String.class)))
+        when(eventPublisher.publish(anyString(), any(EventEnvelope.class)))
                 .thenThrow(new RuntimeException("Kafka connection error"));
 
         // When & Then
-        assertThatThrownBy(() -> productEventPublisher.sendDeleteEvent(productId))
+        assertThatThrownBy(() -> productEventPublisher.sendDeleteEvent(List.of("product-error")))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Kafka connection error");
-
-        verify(kafkaTemplate, times(1)).send("delete-product-media", productId);
     }
 
     @Test
-    void testSendDeleteEvent_MultipleInvocations() {
-        // Given
-        String productId1 = "product-111";
-        String productId2 = "product-222";
-        String productId3 = "product-333";
-        
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
+    void testSendDeleteEvent_VerifyCorrectTopic() {
+        // When
+        productEventPublisher.sendDeleteEvent(List.of("test-product"));
 
+        // Then - Verify topic is exactly "delete-product-media"
+        verify(eventPublisher, times(1)).publish(eq("delete-product-media"), any(EventEnvelope.class));
+        verify(eventPublisher, never()).publish(eq("wrong-topic"), any(EventEnvelope.class));
+    }
+
+    @Test
+    void testSendChangeEvent_SendsToProductChangedTopic() {
         // When
-        productEventPublisher.sendDeleteEvent(productId1);
-        productEventPublisher.sendDeleteEvent(productId2);
-        productEventPublisher.sendDeleteEvent(productId3);
+        productEventPublisher.sendChangeEvent("product-123");
 
         // Then
-        verify(kafkaTemplate, times(3)).send(eq("delete-product-media"), nullable(String.class));
-        verify(kafkaTemplate, times(1)).send("delete-product-media", productId1);
-        verify(kafkaTemplate, times(1)).send("delete-product-media", productId2);
-        verify(kafkaTemplate, times(1)).send("delete-product-media", productId3);
+        verify(eventPublisher, times(1)).publish(eq("product-changed"), argThat(event ->
+                event.type() == EventType.PRODUCT_CHANGED && event.ids().equals(List.of("product-123"))));
     }
 
     @Test
-    void testSendDeleteEvent_VerifyCorrectTopic() {
-        // Given
-        String productId = "test-product";
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
-
+    void testSendChangeEvent_SeveralProducts_SingleMessage() {
         // When
-        productEventPublisher.sendDeleteEvent(productId);
+        productEventPublisher.sendChangeEvent(List.of("product-1", "product-2"));
 
-        // Then - Verify topic is exactly "delete-product-media"
-        verify(kafkaTemplate, times(1)).send(eq("delete-product-media"), nullable(String.class));
-        verify(kafkaTemplate, never()).send(eq("wrong-topic"), nullable(String.class));
+        // Then
+        verify(eventPublisher, times(1)).publish(eq("product-changed"), argThat(event ->
+                event.ids().equals(List.of("product-1", "product-2"))));
     }
 
     @Test
@@ -143,7 +133,7 @@ class ProductEventPublisherImplTest {
     @Test
     void testConstructor() {
         // When
-        ProductEventPublisherImpl publisher = new ProductEventPublisherImpl(kafkaTemplate);
+        ProductEventPublisherImpl publisher = new ProductEventPublisherImpl(eventPublisher);
 
         // Then
         assertThat(publisher).isNotNull();
@@ -156,4 +146,3 @@ class ProductEventPublisherImplTest {
                 .isInstanceOf(com.example.productservice.service.ProductEventPublisher.class);
     }
 }
-
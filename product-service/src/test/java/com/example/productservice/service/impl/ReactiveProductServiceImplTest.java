@@ -0,0 +1,161 @@
+package com.example.productservice.service.impl;
+
+import com.example.productservice.data.entities.OutboxEvent;
+import com.example.productservice.data.entities.Product;
+import com.example.productservice.data.repositories.ReactiveOutboxEventRepository;
+import com.example.productservice.data.repositories.ReactiveProductRepository;
+import com.example.productservice.service.ProductEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProductServiceImplTest {
+
+    @Mock
+    private ReactiveProductRepository productRepository;
+
+    @Mock
+    private ReactiveOutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ProductEventPublisher productEventPublisher;
+
+    @InjectMocks
+    private ReactiveProductServiceImpl productService;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        testProduct = Product.builder()
+                .id("1")
+                .name("Test Product")
+                .price(100.0)
+                .userId("user123")
+                .build();
+    }
+
+    @Test
+    void testCreate_SavesAndPublishesChange() {
+        // Given
+        when(productRepository.save(testProduct)).thenReturn(Mono.just(testProduct));
+
+        // When & Then
+        StepVerifier.create(productService.create(testProduct))
+                .expectNext(testProduct)
+                .verifyComplete();
+        verify(productEventPublisher, times(1)).sendChangeEvent("1");
+    }
+
+    @Test
+    void testGetById_NotFound_ReturnsEmpty() {
+        // Given
+        when(productRepository.findById("missing")).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(productService.getById("missing")).verifyComplete();
+    }
+
+    @Test
+    void testGetByIds_SingleQuery() {
+        // Given
+        when(productRepository.findAllById(List.of("1", "2"))).thenReturn(Flux.just(testProduct));
+
+        // When & Then
+        StepVerifier.create(productService.getByIds(List.of("1", "2")))
+                .expectNext(testProduct)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetAllProducts_WithCursor_UsesKeysetQuery() {
+        // Given
+        when(productRepository.findByIdGreaterThanOrderByIdAsc("cursor-id", Limit.of(11)))
+                .thenReturn(Flux.just(testProduct));
+
+        // When & Then
+        StepVerifier.create(productService.getAllProducts("cursor-id", 11))
+                .expectNext(testProduct)
+                .verifyComplete();
+        verify(productRepository, never()).findAllByOrderByIdAsc(any());
+    }
+
+    @Test
+    void testGetByUserId_WithoutCursor_ReturnsFirstPage() {
+        // Given
+        when(productRepository.findByUserIdOrderByIdAsc("user123", Limit.of(5))).thenReturn(Flux.just(testProduct));
+
+        // When & Then
+        StepVerifier.create(productService.getByUserId("user123", null, 5))
+                .expectNext(testProduct)
+                .verifyComplete();
+    }
+
+    @Test
+    void testStreamAllProducts_RespectsDownstreamDemand() {
+        // Given
+        Product other = Product.builder().id("2").name("Other").build();
+        when(productRepository.streamAllByOrderByIdAsc()).thenReturn(Flux.just(testProduct, other));
+
+        // When & Then
+        StepVerifier.create(productService.streamAllProducts(), 1)
+                .expectNext(testProduct)
+                .thenRequest(1)
+                .expectNext(other)
+                .verifyComplete();
+    }
+
+    @Test
+    void testDelete_DeletesAndPublishesChange() {
+        // Given
+        when(outboxEventRepository.save(any(OutboxEvent.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(productRepository.deleteById("1")).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(productService.delete("1")).verifyComplete();
+        verify(outboxEventRepository, times(1)).save(argThat(event -> "1".equals(event.getProductId())));
+        verify(productEventPublisher, times(1)).sendChangeEvent("1");
+    }
+
+    @Test
+    void testDeleteProductsByUser_PublishesSingleChangeEvent() {
+        // Given
+        Product other = Product.builder().id("2").userId("user123").build();
+        when(productRepository.findByUserId("user123")).thenReturn(Flux.just(testProduct, other));
+        when(productRepository.deleteProductsByUserId("user123")).thenReturn(Mono.just(2L));
+        when(outboxEventRepository.saveAll(anyIterable())).thenAnswer(invocation ->
+                Flux.fromIterable(invocation.<Iterable<OutboxEvent>>getArgument(0)));
+
+        // When & Then
+        StepVerifier.create(productService.deleteProductsByUser("user123")).verifyComplete();
+        verify(outboxEventRepository, times(1)).saveAll(argThat((Iterable<OutboxEvent> events) ->
+                events.iterator().hasNext()));
+        verify(productEventPublisher, times(1)).sendChangeEvent(List.of("1", "2"));
+    }
+
+    @Test
+    void testDeleteProductsByUser_NoProducts_PublishesNothing() {
+        // Given
+        when(productRepository.findByUserId("user123")).thenReturn(Flux.empty());
+        when(productRepository.deleteProductsByUserId("user123")).thenReturn(Mono.just(0L));
+        when(outboxEventRepository.saveAll(anyIterable())).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(productService.deleteProductsByUser("user123")).verifyComplete();
+        verifyNoInteractions(productEventPublisher);
+    }
+}
@@ -3,17 +3,27 @@ package com.example.productservice.web.controllers.impl;
 import com.example.productservice.data.entities.Product;
 import com.example.productservice.service.ProductService;
 import com.example.productservice.web.dto.ProductDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -104,15 +114,34 @@ class ProductControllerImplTest {
         verify(productService, never()).create(any());
     }
 
+    @Test
+    void testCreate_ConcurrentDuplicateName_ReturnsBadRequest() {
+        // Given - Le nom est pris entre la vérification et l'insertion
+        ProductDto productDto = ProductDto.builder()
+                .name("Raced Product")
+                .price(75.0)
+                .build();
+
+        when(productService.getByName("Raced Product")).thenReturn(null);
+        when(productService.create(any(Product.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        // When
+        ResponseEntity<ProductDto> response = productController.create(productDto);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNull();
+    }
+
     // ==================== getAll() TESTS ====================
 
     @Test
     void testGetAll_WithProducts_ReturnsProductList() {
         // Given
-        when(productService.getAllProducts()).thenReturn(testProductList);
+        when(productService.getAllProducts(null, 51)).thenReturn(testProductList);
 
         // When
-        ResponseEntity<List<ProductDto>> response = productController.getAll();
+        ResponseEntity<List<ProductDto>> response = productController.getAll(null, 50);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -120,23 +149,23 @@ class ProductControllerImplTest {
         assertThat(response.getBody()).hasSize(1);
         assertThat(response.getBody().get(0).getName()).isEqualTo("Test Product");
 
-        verify(productService, times(1)).getAllProducts();
+        verify(productService, times(1)).getAllProducts(null, 51);
     }
 
     @Test
     void testGetAll_NoProducts_ReturnsEmptyList() {
         // Given - Empty list (Condition 3: products.isEmpty())
-        when(productService.getAllProducts()).thenReturn(new ArrayList<>());
+        when(productService.getAllProducts(null, 51)).thenReturn(new ArrayList<>());
 
         // When
-        ResponseEntity<List<ProductDto>> response = productController.getAll();
+        ResponseEntity<List<ProductDto>> response = productController.getAll(null, 50);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody()).isEmpty();
 
-        verify(productService, times(1)).getAllProducts();
+        verify(productService, times(1)).getAllProducts(null, 51);
     }
 
     @Test
@@ -151,10 +180,10 @@ class ProductControllerImplTest {
                 .build();
 
         List<Product> multipleProducts = List.of(testProduct, product2);
-        when(productService.getAllProducts()).thenReturn(multipleProducts);
+        when(productService.getAllProducts(null, 51)).thenReturn(multipleProducts);
 
         // When
-        ResponseEntity<List<ProductDto>> response = productController.getAll();
+        ResponseEntity<List<ProductDto>> response = productController.getAll(null, 50);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -243,6 +272,24 @@ class ProductControllerImplTest {
         verify(productService, never()).update(any());
     }
 
+    @Test
+    void testUpdate_DuplicateName_ReturnsBadRequest() {
+        // Given
+        ProductDto updateDto = ProductDto.builder()
+                .name("Taken Name")
+                .build();
+
+        when(productService.getById("product-123")).thenReturn(testProduct);
+        when(productService.update(any(Product.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        // When
+        ResponseEntity<ProductDto> response = productController.update("product-123", updateDto);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNull();
+    }
+
     // ==================== delete() TESTS ====================
 
     @Test
@@ -278,15 +325,48 @@ class ProductControllerImplTest {
         verify(productService, never()).delete(anyString());
     }
 
+    // ==================== getByIds() TESTS ====================
+
+    @Test
+    void testGetByIds_ReturnsFoundProductsKeyedById() {
+        // Given
+        when(productService.getByIds(Set.of("product-123", "missing")))
+                .thenReturn(Map.of("product-123", testProduct));
+
+        // When
+        ResponseEntity<Map<String, ProductDto>> response =
+                productController.getByIds(List.of("product-123", "missing", "product-123"));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsOnlyKeys("product-123");
+        assertThat(response.getBody().get("product-123").getName()).isEqualTo("Test Product");
+    }
+
+    @Test
+    void testGetByIds_TooManyIds_ReturnsBadRequest() {
+        // Given
+        List<String> ids = IntStream.rangeClosed(0, ProductControllerImpl.MAX_BATCH_SIZE)
+                .mapToObj(String::valueOf)
+                .toList();
+
+        // When
+        ResponseEntity<Map<String, ProductDto>> response = productController.getByIds(ids);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(productService);
+    }
+
     // ==================== getByUserId() TESTS ====================
 
     @Test
     void testGetByUserId_ProductsExist_ReturnsProductList() {
         // Given
-        when(productService.getByUserId("user-123")).thenReturn(testProductList);
+        when(productService.getByUserId("user-123", null, 51)).thenReturn(testProductList);
 
         // When
-        ResponseEntity<List<ProductDto>> response = productController.getByUserId("user-123");
+        ResponseEntity<List<ProductDto>> response = productController.getByUserId("user-123", null, 50);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -294,38 +374,38 @@ class ProductControllerImplTest {
         assertThat(response.getBody()).hasSize(1);
         assertThat(response.getBody().get(0).getUserId()).isEqualTo("user-123");
 
-        verify(productService, times(1)).getByUserId("user-123");
+        verify(productService, times(1)).getByUserId("user-123", null, 51);
     }
 
     @Test
     void testGetByUserId_ProductsNull_ReturnsEmptyList() {
         // Given - Products null (Condition 7: products == null)
-        when(productService.getByUserId("user-456")).thenReturn(null);
+        when(productService.getByUserId("user-456", null, 51)).thenReturn(null);
 
         // When
-        ResponseEntity<List<ProductDto>> response = productController.getByUserId("user-456");
+        ResponseEntity<List<ProductDto>> response = productController.getByUserId("user-456", null, 50);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody()).isEmpty();
 
-        verify(productService, times(1)).getByUserId("user-456");
+        verify(productService, times(1)).getByUserId("user-456", null, 51);
     }
 
     @Test
     void testGetByUserId_ProductsEmpty_ReturnsEmptyList() {
         // Given - Empty list (Condition 8: products.isEmpty())
-        when(productService.getByUserId("user-789")).thenReturn(new ArrayList<>());
+        when(productService.getByUserId("user-789", null, 51)).thenReturn(new ArrayList<>());
 
         // When
-        ResponseEntity<List<ProductDto>> response = productController.getByUserId("user-789");
+        ResponseEntity<List<ProductDto>> response = productController.getByUserId("user-789", null, 50);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEmpty();
 
-        verify(productService, times(1)).getByUserId("user-789");
+        verify(productService, times(1)).getByUserId("user-789", null, 51);
     }
 
     @Test
@@ -340,16 +420,160 @@ class ProductControllerImplTest {
                 .build();
 
         List<Product> userProducts = List.of(testProduct, product2);
-        when(productService.getByUserId("user-123")).thenReturn(userProducts);
+        when(productService.getByUserId("user-123", null, 51)).thenReturn(userProducts);
 
         // When
-        ResponseEntity<List<ProductDto>> response = productController.getByUserId("user-123");
+        ResponseEntity<List<ProductDto>> response = productController.getByUserId("user-123", null, 50);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).hasSize(2);
     }
 
+    // ==================== PAGINATION TESTS ====================
+
+    @Test
+    void testGetAll_MoreThanOnePage_ReturnsNextCursor() {
+        // Given - One product more than the page size
+        Product product2 = Product.builder().id("product-456").name("Product 2").build();
+        Product product3 = Product.builder().id("product-789").name("Product 3").build();
+        when(productService.getAllProducts(null, 3)).thenReturn(List.of(testProduct, product2, product3));
+
+        // When
+        ResponseEntity<List<ProductDto>> response = productController.getAll(null, 2);
+
+        // Then - The extra product is dropped and the last returned id is the cursor
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(ProductDto::getId).containsExactly("product-123", "product-456");
+        assertThat(response.getHeaders().getFirst(ProductControllerImpl.NEXT_CURSOR_HEADER)).isEqualTo("product-456");
+    }
+
+    @Test
+    void testGetAll_LastPage_NoNextCursor() {
+        // Given
+        when(productService.getAllProducts(null, 51)).thenReturn(testProductList);
+
+        // When
+        ResponseEntity<List<ProductDto>> response = productController.getAll(null, 50);
+
+        // Then
+        assertThat(response.getHeaders().containsKey(ProductControllerImpl.NEXT_CURSOR_HEADER)).isFalse();
+    }
+
+    @Test
+    void testGetAll_WithCursor_PassesCursorToService() {
+        // Given
+        String cursor = "507f1f77bcf86cd799439011";
+        when(productService.getAllProducts(cursor, 51)).thenReturn(List.of());
+
+        // When
+        ResponseEntity<List<ProductDto>> response = productController.getAll(cursor, 50);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(productService, times(1)).getAllProducts(cursor, 51);
+    }
+
+    @Test
+    void testGetAll_InvalidCursor_ReturnsBadRequest() {
+        // When
+        ResponseEntity<List<ProductDto>> response = productController.getAll("not-an-object-id", 50);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void testGetAll_PageSizeIsBounded() {
+        // Given
+        when(productService.getAllProducts(null, ProductControllerImpl.MAX_PAGE_SIZE + 1)).thenReturn(List.of());
+        when(productService.getAllProducts(null, 2)).thenReturn(List.of());
+
+        // When
+        productController.getAll(null, 10_000);
+        productController.getAll(null, 0);
+
+        // Then
+        verify(productService, times(1)).getAllProducts(null, ProductControllerImpl.MAX_PAGE_SIZE + 1);
+        verify(productService, times(1)).getAllProducts(null, 2);
+    }
+
+    @Test
+    void testGetByUserId_MoreThanOnePage_ReturnsNextCursor() {
+        // Given
+        Product product2 = Product.builder().id("product-456").name("Product 2").userId("user-123").build();
+        when(productService.getByUserId("user-123", null, 2)).thenReturn(List.of(testProduct, product2));
+
+        // When
+        ResponseEntity<List<ProductDto>> response = productController.getByUserId("user-123", null, 1);
+
+        // Then
+        assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getHeaders().getFirst(ProductControllerImpl.NEXT_CURSOR_HEADER)).isEqualTo("product-123");
+    }
+
+    @Test
+    void testGetByUserId_InvalidCursor_ReturnsBadRequest() {
+        // When
+        ResponseEntity<List<ProductDto>> response = productController.getByUserId("user-123", "bad", 50);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(productService);
+    }
+
+    // ==================== export() TESTS ====================
+
+    @Test
+    void testExport_WritesOneJsonLinePerProduct() throws Exception {
+        // Given
+        ProductControllerImpl exportController = new ProductControllerImpl(productService, new ObjectMapper());
+        Product product2 = Product.builder().id("product-456").name("Product 2").userId("user-456").build();
+        when(productService.streamAllProducts()).thenReturn(Stream.of(testProduct, product2));
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = exportController.export();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(ProductControllerImpl.NDJSON);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(new ObjectMapper().readValue(lines[0], ProductDto.class).getId()).isEqualTo("product-123");
+        assertThat(new ObjectMapper().readValue(lines[1], ProductDto.class).getName()).isEqualTo("Product 2");
+    }
+
+    @Test
+    void testExport_ClosesProductStream() throws Exception {
+        // Given
+        ProductControllerImpl exportController = new ProductControllerImpl(productService, new ObjectMapper());
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(productService.streamAllProducts()).thenReturn(Stream.of(testProduct).onClose(() -> closed.set(true)));
+
+        // When
+        exportController.export().getBody().writeTo(new ByteArrayOutputStream());
+
+        // Then
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void testExport_NoProducts_WritesNothing() throws Exception {
+        // Given
+        ProductControllerImpl exportController = new ProductControllerImpl(productService, new ObjectMapper());
+        when(productService.streamAllProducts()).thenReturn(Stream.empty());
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportController.export().getBody().writeTo(out);
+
+        // Then
+        assertThat(out.size()).isZero();
+    }
+
     // ==================== EDGE CASES & INTEGRATION TESTS ====================
 
     @Test
@@ -399,10 +623,10 @@ class ProductControllerImplTest {
     @Test
     void testGetListResponseEntity_WithProducts() {
         // Given - Test private method via getAll
-        when(productService.getAllProducts()).thenReturn(testProductList);
+        when(productService.getAllProducts(null, 51)).thenReturn(testProductList);
 
         // When
-        ResponseEntity<List<ProductDto>> response = productController.getAll();
+        ResponseEntity<List<ProductDto>> response = productController.getAll(null, 50);
 
         // Then - Verify private method getListResponseEntity works correctly
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -412,10 +636,10 @@ class ProductControllerImplTest {
     @Test
     void testGetListResponseEntity_WithEmptyList() {
         // Given - Test private method via getAll with empty list
-        when(productService.getAllProducts()).thenReturn(new ArrayList<>());
+        when(productService.getAllProducts(null, 51)).thenReturn(new ArrayList<>());
 
         // When
-        ResponseEntity<List<ProductDto>> response = productController.getAll();
+        ResponseEntity<List<ProductDto>> response = productController.getAll(null, 50);
 
         // Then - Verify private method returns empty list, not null
         assertThat(response.getBody()).isNotNull();
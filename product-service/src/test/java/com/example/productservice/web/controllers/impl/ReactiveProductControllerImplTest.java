@@ -0,0 +1,247 @@
+package com.example.productservice.web.controllers.impl;
+
+import com.example.productservice.data.entities.Product;
+import com.example.productservice.service.ReactiveProductService;
+import com.example.productservice.web.dto.ProductDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProductControllerImplTest {
+
+    @Mock
+    private ReactiveProductService productService;
+
+    @InjectMocks
+    private ReactiveProductControllerImpl productController;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        testProduct = Product.builder()
+                .id("product-123")
+                .name("Test Product")
+                .description("Test Description")
+                .price(99.99)
+                .userId("user-123")
+                .build();
+    }
+
+    // ==================== create() TESTS ====================
+
+    @Test
+    void testCreate_NewProduct_ReturnsCreated() {
+        // Given
+        ProductDto newProductDto = ProductDto.builder().name("New Product").price(50.0).userId("user-456").build();
+        Product savedProduct = Product.builder().id("product-456").name("New Product").build();
+        when(productService.getByName("New Product")).thenReturn(Mono.empty());
+        when(productService.create(any(Product.class))).thenReturn(Mono.just(savedProduct));
+
+        // When & Then
+        StepVerifier.create(productController.create(newProductDto))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+                    assertThat(response.getBody().getId()).isEqualTo("product-456");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testCreate_ExistingName_ReturnsBadRequest() {
+        // Given
+        ProductDto productDto = ProductDto.builder().name("Test Product").build();
+        when(productService.getByName("Test Product")).thenReturn(Mono.just(testProduct));
+
+        // When & Then
+        StepVerifier.create(productController.create(productDto))
+                .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST))
+                .verifyComplete();
+        verify(productService, never()).create(any());
+    }
+
+    @Test
+    void testCreate_ConcurrentDuplicateName_ReturnsBadRequest() {
+        // Given
+        ProductDto productDto = ProductDto.builder().name("Raced Product").build();
+        when(productService.getByName("Raced Product")).thenReturn(Mono.empty());
+        when(productService.create(any(Product.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key")));
+
+        // When & Then
+        StepVerifier.create(productController.create(productDto))
+                .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST))
+                .verifyComplete();
+    }
+
+    // ==================== PAGINATION TESTS ====================
+
+    @Test
+    void testGetAll_MoreThanPageSize_SetsNextCursor() {
+        // Given
+        Product[] products = IntStream.range(0, 3)
+                .mapToObj(i -> Product.builder().id("id-" + i).name("P" + i).build())
+                .toArray(Product[]::new);
+        when(productService.getAllProducts(null, 3)).thenReturn(Flux.just(products));
+
+        // When & Then
+        StepVerifier.create(productController.getAll(null, 2))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody()).extracting(ProductDto::getId).containsExactly("id-0", "id-1");
+                    assertThat(response.getHeaders().getFirst(ProductControllerImpl.NEXT_CURSOR_HEADER)).isEqualTo("id-1");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetAll_InvalidCursor_ReturnsBadRequest() {
+        // When & Then
+        StepVerifier.create(productController.getAll("not-an-object-id", 10))
+                .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST))
+                .verifyComplete();
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void testGetByUserId_LastPage_NoNextCursor() {
+        // Given
+        when(productService.getByUserId("user-123", null, 51)).thenReturn(Flux.just(testProduct));
+
+        // When & Then
+        StepVerifier.create(productController.getByUserId("user-123", null, 50))
+                .assertNext(response -> {
+                    assertThat(response.getBody()).hasSize(1);
+                    assertThat(response.getHeaders().containsKey(ProductControllerImpl.NEXT_CURSOR_HEADER)).isFalse();
+                })
+                .verifyComplete();
+    }
+
+    // ==================== export() TESTS ====================
+
+    @Test
+    void testExport_StreamsDtosOnDemand() {
+        // Given
+        Product other = Product.builder().id("product-456").name("Other").build();
+        when(productService.streamAllProducts()).thenReturn(Flux.just(testProduct, other));
+
+        // When & Then
+        StepVerifier.create(productController.export(), 1)
+                .assertNext(dto -> assertThat(dto.getId()).isEqualTo("product-123"))
+                .thenRequest(1)
+                .assertNext(dto -> assertThat(dto.getId()).isEqualTo("product-456"))
+                .verifyComplete();
+    }
+
+    // ==================== getById() / update() / delete() TESTS ====================
+
+    @Test
+    void testGetById_NotFound_Returns404() {
+        // Given
+        when(productService.getById("missing")).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(productController.getById("missing"))
+                .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND))
+                .verifyComplete();
+    }
+
+    @Test
+    void testUpdate_ExistingProduct_ReturnsOk() {
+        // Given
+        ProductDto productDto = ProductDto.builder().name("Updated").build();
+        when(productService.getById("product-123")).thenReturn(Mono.just(testProduct));
+        when(productService.update(any(Product.class))).thenReturn(Mono.just(testProduct));
+
+        // When & Then
+        StepVerifier.create(productController.update("product-123", productDto))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody().getId()).isEqualTo("product-123");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testUpdate_DuplicateName_ReturnsBadRequest() {
+        // Given
+        ProductDto productDto = ProductDto.builder().name("Taken Name").build();
+        when(productService.getById("product-123")).thenReturn(Mono.just(testProduct));
+        when(productService.update(any(Product.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key")));
+
+        // When & Then
+        StepVerifier.create(productController.update("product-123", productDto))
+                .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST))
+                .verifyComplete();
+    }
+
+    @Test
+    void testDelete_NotFound_Returns404() {
+        // Given
+        when(productService.getById("missing")).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(productController.delete("missing"))
+                .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND))
+                .verifyComplete();
+        verify(productService, never()).delete(any());
+    }
+
+    @Test
+    void testDelete_ExistingProduct_ReturnsOk() {
+        // Given
+        when(productService.getById("product-123")).thenReturn(Mono.just(testProduct));
+        when(productService.delete("product-123")).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(productController.delete("product-123"))
+                .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetByIds_ReturnsFoundProductsKeyedById() {
+        // Given
+        when(productService.getByIds(Set.of("product-123", "missing"))).thenReturn(Flux.just(testProduct));
+
+        // When & Then
+        StepVerifier.create(productController.getByIds(List.of("product-123", "missing")))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody()).containsOnlyKeys("product-123");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetByIds_TooManyIds_ReturnsBadRequest() {
+        // Given
+        List<String> ids = IntStream.rangeClosed(0, ProductControllerImpl.MAX_BATCH_SIZE)
+                .mapToObj(String::valueOf)
+                .toList();
+
+        // When & Then
+        StepVerifier.create(productController.getByIds(ids))
+                .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST))
+                .verifyComplete();
+        verifyNoInteractions(productService);
+    }
+}
@@ -0,0 +1,33 @@
+package com.cgl.userservice.config;
+
+import com.cgl.userservice.data.entities.TokenRevocation;
+import com.cgl.userservice.data.entities.User;
+import com.example.common.services.MongoIndexVerifier;
+import com.example.common.services.MongoIndexVerifier.HotQuery;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Configuration
+@ConditionalOnProperty(name = "mongo.index-verification.enabled", havingValue = "true")
+public class MongoIndexConfig {
+
+    static final String PROBE = "index-verification-probe";
+
+    @Bean
+    public MongoIndexVerifier mongoIndexVerifier(MongoTemplate mongoTemplate) {
+        return new MongoIndexVerifier(mongoTemplate, List.of(
+                new HotQuery("UserRepository.findByEmail", User.class, query(where("email").is(PROBE))),
+                new HotQuery("UserRepository.existsByEmail", User.class, query(where("email").is(PROBE))),
+                new HotQuery("TokenRevocationService.syncFromStore", TokenRevocation.class,
+                        query(where("expiresAt").gt(Instant.EPOCH)))
+        ));
+    }
+}
@@ -0,0 +1,12 @@
+package com.cgl.userservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active la resynchronisation périodique des révocations de tokens depuis MongoDB.
+ */
+@Configuration
+@EnableScheduling
+public class TokenRevocationConfig {
+}
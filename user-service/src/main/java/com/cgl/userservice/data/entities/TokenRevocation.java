@@ -0,0 +1,26 @@
+package com.cgl.userservice.data.entities;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Révocation des tokens d'un utilisateur : ceux émis avant {@code revokedBefore} sont refusés.
+ * Le document est supprimé par MongoDB (index TTL) une fois que tous ces tokens ont expiré.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "token_revocations")
+public class TokenRevocation {
+    @Id
+    private String userId;
+    private Instant revokedBefore;
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
@@ -0,0 +1,25 @@
+package com.cgl.userservice.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Levée quand l'executor de hachage des mots de passe est saturé : le client reçoit un 429
+ * avec {@code Retry-After} au lieu d'occuper un thread de requête de plus.
+ */
+public class PasswordHashingRejectedException extends ResponseStatusException {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    public PasswordHashingRejectedException() {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Too many authentication requests, retry later");
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return headers;
+    }
+}
@@ -0,0 +1,39 @@
+package com.cgl.userservice.messaging;
+
+import com.cgl.userservice.services.TokenRevocationService;
+import com.example.common.events.EventEnvelope;
+import com.example.common.events.EventType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationConsumer {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Chaque instance a son propre groupe pour recevoir toutes les révocations.
+     * C'est le chemin rapide : une révocation publiée avant le démarrage de l'instance, ou manquée,
+     * est rattrapée depuis MongoDB par {@code TokenRevocationService}.
+     * La date de révocation est celle de l'événement ; pour un message de l'ancien format,
+     * qui n'en porte pas, c'est celle de l'enregistrement Kafka.
+     */
+    @KafkaListener(topics = "user-tokens-revoked",
+            groupId = "user-service-revocation-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void revokeTokens(EventEnvelope event, @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp) {
+        Instant revokedAt = event.type() == EventType.LEGACY ? Instant.ofEpochMilli(timestamp) : event.occurredAt();
+        for (String userId : event.ids()) {
+            log.debug("Tokens revoked for user: {}", userId);
+            tokenRevocationService.recordRevocation(userId, revokedAt);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.cgl.userservice.services;
+
+import com.cgl.userservice.utils.TokenClaims;
+
+import java.time.Instant;
+
+public interface TokenRevocationService {
+
+    /**
+     * Invalide tous les tokens émis jusqu'ici pour cet utilisateur, sur cette instance
+     * et sur les autres (via Kafka).
+     */
+    void revokeTokens(String userId);
+
+    /**
+     * Enregistre localement une révocation reçue d'une autre instance (déjà persistée par celle-ci).
+     */
+    void recordRevocation(String userId, Instant revokedAt);
+
+    boolean isRevoked(TokenClaims claims);
+}
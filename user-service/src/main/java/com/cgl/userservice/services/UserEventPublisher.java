@@ -1,8 +1,22 @@
 package com.cgl.userservice.services;
 
+import com.example.common.events.EventEnvelope;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public interface UserEventPublisher {
-    void sendDeleteEvent(String userId);
+    CompletableFuture<SendResult<String, EventEnvelope>> sendDeleteEvent(String userId);
+
+    /**
+     * Suppression en masse : les ids sont regroupés en quelques messages au lieu d'un message par utilisateur.
+     *
+     * @return complété quand tous les messages ont été acquittés
+     */
+    CompletableFuture<Void> sendDeleteEvents(Collection<String> userIds);
+
+    CompletableFuture<SendResult<String, EventEnvelope>> sendTokensRevokedEvent(String userId);
 }
@@ -4,6 +4,7 @@ import com.cgl.userservice.data.entities.User;
 import com.cgl.userservice.web.dto.ChangePasswordRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -12,6 +13,13 @@ public interface UserService {
 
     User getById(String id);
 
+    /**
+     * Utilisateurs dont l'id figure dans {@code ids}, lus en une seule requête {@code _id: {$in: [...]}}.
+     *
+     * @return les utilisateurs trouvés indexés par id ; les ids inconnus sont absents
+     */
+    Map<String, User> getByIds(Collection<String> ids);
+
     User getByEmail(String email);
 
     User create(User user);
@@ -25,4 +33,9 @@ public interface UserService {
     User updateAvatar(MultipartFile imageFile, String userId);
 
     Map<String, Object> updatePassword(String id, ChangePasswordRequest request);
+
+    /**
+     * Re-hache le mot de passe avec le facteur de coût courant, sans révoquer les tokens.
+     */
+    User upgradePasswordHash(User user, String rawPassword);
 }
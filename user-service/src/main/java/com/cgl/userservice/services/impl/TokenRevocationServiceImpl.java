@@ -0,0 +1,97 @@
+package com.cgl.userservice.services.impl;
+
+import com.cgl.userservice.data.entities.TokenRevocation;
+import com.cgl.userservice.services.TokenRevocationService;
+import com.cgl.userservice.services.UserEventPublisher;
+import com.cgl.userservice.utils.TokenClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Garde, par utilisateur, la date avant laquelle ses tokens ne sont plus acceptés.
+ * <p>
+ * La référence est la collection {@code token_revocations} : une instance qui démarre la charge avant
+ * d'accepter des requêtes, puis la relit toutes les {@code revocation-sync-interval} pour rattraper
+ * un événement Kafka manqué. Les vérifications se font sur la copie locale, sans requête Mongo.
+ * Une entrée n'est jamais évincée avant l'expiration des tokens qu'elle révoque : la copie locale
+ * n'a pas de taille maximale, elle ne contient que les révocations de la dernière durée de vie d'un token.
+ */
+@Slf4j
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService, InitializingBean {
+
+    private final UserEventPublisher userEventPublisher;
+    private final MongoTemplate mongoTemplate;
+    private final Duration tokenLifetime;
+    private final Cache<String, Instant> revokedBefore;
+
+    public TokenRevocationServiceImpl(UserEventPublisher userEventPublisher,
+                                      MongoTemplate mongoTemplate,
+                                      @Value("${application.security.jwt.expiration-ms}") long tokenExpirationMs) {
+        this.userEventPublisher = userEventPublisher;
+        this.mongoTemplate = mongoTemplate;
+        this.tokenLifetime = Duration.ofMillis(tokenExpirationMs);
+        // Écrite au plus tôt à la date de révocation : l'entrée vit au moins jusqu'à l'expiration des tokens révoqués
+        this.revokedBefore = Caffeine.newBuilder()
+                .expireAfterWrite(tokenLifetime)
+                .build();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        syncFromStore();
+    }
+
+    /**
+     * Recopie les révocations encore actives enregistrées par toutes les instances.
+     */
+    @Scheduled(fixedDelayString = "${application.security.jwt.revocation-sync-interval:30s}",
+            initialDelayString = "${application.security.jwt.revocation-sync-interval:30s}")
+    public void syncFromStore() {
+        List<TokenRevocation> active = mongoTemplate.find(query(where("expiresAt").gt(Instant.now())), TokenRevocation.class);
+        active.forEach(revocation -> recordRevocation(revocation.getUserId(), revocation.getRevokedBefore()));
+        log.debug("Synchronized {} active token revocations", active.size());
+    }
+
+    @Override
+    public void revokeTokens(String userId) {
+        Instant revokedAt = truncate(Instant.now());
+        // $max : une révocation plus ancienne, écrite en retard, ne recule pas la date
+        mongoTemplate.upsert(query(where("_id").is(userId)),
+                new Update().max("revokedBefore", revokedAt).max("expiresAt", revokedAt.plus(tokenLifetime)),
+                TokenRevocation.class);
+        recordRevocation(userId, revokedAt);
+        userEventPublisher.sendTokensRevokedEvent(userId);
+    }
+
+    @Override
+    public void recordRevocation(String userId, Instant revokedAt) {
+        revokedBefore.asMap().merge(userId, truncate(revokedAt), (current, candidate) -> current.isAfter(candidate) ? current : candidate);
+    }
+
+    @Override
+    public boolean isRevoked(TokenClaims claims) {
+        Instant revokedAt = revokedBefore.getIfPresent(claims.userId());
+        return revokedAt != null && claims.issuedAt() != null && claims.issuedAt().isBefore(revokedAt);
+    }
+
+    // "iat" est à la seconde près : un token émis dans la même seconde que la révocation reste valide
+    private static Instant truncate(Instant instant) {
+        return instant.truncatedTo(ChronoUnit.SECONDS);
+    }
+}
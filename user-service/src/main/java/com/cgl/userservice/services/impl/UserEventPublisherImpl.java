@@ -1,18 +1,40 @@
 package com.cgl.userservice.services.impl;
 
 import com.cgl.userservice.services.UserEventPublisher;
+import com.example.common.events.EventEnvelope;
+import com.example.common.events.EventPublisher;
+import com.example.common.events.EventType;
 import lombok.RequiredArgsConstructor;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class UserEventPublisherImpl implements UserEventPublisher {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    static final String DELETE_USER_PRODUCTS_TOPIC = "delete-user-products";
+    static final String USER_TOKENS_REVOKED_TOPIC = "user-tokens-revoked";
+    static final int IDS_PER_MESSAGE = 500;
+
+    private final EventPublisher eventPublisher;
+
+    @Override
+    public CompletableFuture<SendResult<String, EventEnvelope>> sendDeleteEvent(String userId) {
+        return eventPublisher.publish(DELETE_USER_PRODUCTS_TOPIC, EventEnvelope.idempotent(EventType.USER_DELETED, List.of(userId)));
+    }
+
+    @Override
+    public CompletableFuture<Void> sendDeleteEvents(Collection<String> userIds) {
+        return eventPublisher.publishAll(DELETE_USER_PRODUCTS_TOPIC,
+                EventEnvelope.idempotentBatches(EventType.USER_DELETED, userIds, IDS_PER_MESSAGE));
+    }
 
     @Override
-    public void sendDeleteEvent(String userId) {
-        kafkaTemplate.send("delete-user-products", userId);
+    public CompletableFuture<SendResult<String, EventEnvelope>> sendTokensRevokedEvent(String userId) {
+        return eventPublisher.publish(USER_TOKENS_REVOKED_TOPIC, EventEnvelope.of(EventType.USER_TOKENS_REVOKED, userId));
     }
 }
@@ -3,6 +3,7 @@ package com.cgl.userservice.services.impl;
 import com.cgl.userservice.data.entities.User;
 import com.cgl.userservice.data.repositories.UserRepository;
 import com.cgl.userservice.exception.UnauthorizedException;
+import com.cgl.userservice.services.TokenRevocationService;
 import com.cgl.userservice.services.UserEventPublisher;
 import com.cgl.userservice.services.UserService;
 import com.cgl.userservice.web.dto.ChangePasswordRequest;
@@ -15,9 +16,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +33,7 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final UserEventPublisher userEventPublisher;
     private final S3Service s3Service;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     public List<User> getAllUsers() {
@@ -40,6 +45,16 @@ public class UserServiceImpl implements UserService {
         return userRepository.findById(id).orElse(null);
     }
 
+    @Override
+    public Map<String, User> getByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, User> users = new LinkedHashMap<>();
+        userRepository.findAllById(ids).forEach(user -> users.put(user.getId(), user));
+        return users;
+    }
+
     @Override
     public User getByEmail(String email) {
         return userRepository.findByEmail(email).orElse(null);
@@ -54,13 +69,19 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User update(User user) {
+        User existing = userRepository.findById(user.getId()).orElse(null);
         userRepository.save(user);
+        // Les tokens portent l'email et le rôle : ils ne doivent plus être acceptés s'ils ont changé
+        if (existing != null && (!Objects.equals(existing.getEmail(), user.getEmail()) || existing.getRole() != user.getRole())) {
+            tokenRevocationService.revokeTokens(user.getId());
+        }
         return user;
     }
 
     @Override
     public User delete(User user) {
         userRepository.delete(user);
+        tokenRevocationService.revokeTokens(user.getId());
         userEventPublisher.sendDeleteEvent(user.getId());
         return user;
     }
@@ -101,11 +122,18 @@ public class UserServiceImpl implements UserService {
         String encodedNewPassword = passwordEncoder.encode(request.getNewPassword());
         user.setPassword(encodedNewPassword);
         userRepository.save(user);
+        tokenRevocationService.revokeTokens(user.getId());
         response.put(MESSAGE_KEY, "Le mot de passe a été changé");
         response.put("user", user);
         return response;
     }
 
+    @Override
+    public User upgradePasswordHash(User user, String rawPassword) {
+        user.setPassword(passwordEncoder.encode(rawPassword));
+        return userRepository.save(user);
+    }
+
     private String getCurrentUserEmail() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
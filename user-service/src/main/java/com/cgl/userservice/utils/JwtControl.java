@@ -2,18 +2,20 @@ package com.cgl.userservice.utils;
 
 
 import com.cgl.userservice.data.entities.User;
+import com.cgl.userservice.data.enums.Role;
 import com.cgl.userservice.services.LoginService;
+import com.cgl.userservice.services.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -27,6 +29,14 @@ public class JwtControl extends OncePerRequestFilter {
 
     private final JwtTools jwtTools;
     private final LoginService loginService;
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * En mode stateless, le principal est construit à partir des claims du token
+     * (déjà vérifiés) au lieu d'être rechargé depuis Mongo à chaque requête.
+     */
+    @Value("${application.security.jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
@@ -44,12 +54,13 @@ public class JwtControl extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                String email = jwtTools.extractEmail(token);
-                if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = loginService.loadUserByUsername(email);
-                    User user = (User) userDetails;
-                    if (jwtTools.validateToken(token, user)) {
-                        Collection<? extends GrantedAuthority> authorities = jwtTools.extractAuthorities(token);
+                TokenClaims claims = jwtTools.parseToken(token);
+                String email = claims.email();
+                if (email != null && SecurityContextHolder.getContext().getAuthentication() == null
+                        && !tokenRevocationService.isRevoked(claims)) {
+                    User user = stateless ? userFromClaims(claims) : (User) loginService.loadUserByUsername(email);
+                    if (stateless || jwtTools.validateToken(claims, user)) {
+                        Collection<? extends GrantedAuthority> authorities = jwtTools.extractAuthorities(claims);
                         UsernamePasswordAuthenticationToken authToken =
                                 new UsernamePasswordAuthenticationToken(
                                         user, null, authorities);
@@ -63,4 +74,12 @@ public class JwtControl extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private static User userFromClaims(TokenClaims claims) {
+        return User.builder()
+                .id(claims.userId())
+                .email(claims.email())
+                .role(Role.valueOf(claims.role()))
+                .build();
+    }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.cgl.userservice.utils;
 
 import com.cgl.userservice.data.entities.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
@@ -11,9 +14,14 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Component
 public class JwtTools {
@@ -23,8 +31,13 @@ public class JwtTools {
     @Value("${application.security.jwt.expiration-ms}")
     private long expiration;
 
+    @Value("${application.security.jwt.claims-cache.maximum-size:10000}")
+    private long claimsCacheMaximumSize = 10_000;
+
     private SecretKey signingKey;
 
+    private volatile Cache<String, TokenClaims> claimsCache;
+
     public String generateToken(User user) {
         return Jwts.builder()
                 .subject(user.getEmail())
@@ -47,17 +60,47 @@ public class JwtTools {
         return signingKey;
     }
 
+    /**
+     * Vérifie la signature du token une seule fois et met ses claims en cache jusqu'à son expiration.
+     * Les appels suivants avec le même token ne font qu'un hash SHA-256 et une lecture du cache.
+     *
+     * @throws io.jsonwebtoken.JwtException si le token est invalide, expiré ou mal signé
+     */
+    public TokenClaims parseToken(String token) {
+        String key = hash(token);
+        TokenClaims cached = getClaimsCache().getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = extractClaims(token);
+        TokenClaims tokenClaims = new TokenClaims(
+                claims.get("userId", String.class),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+        // Sans date d'expiration, on ne saurait pas quand retirer l'entrée du cache
+        if (tokenClaims.expiresAt() != null) {
+            getClaimsCache().put(key, tokenClaims);
+        }
+        return tokenClaims;
+    }
+
     public String extractEmail(String token) {
-        return extractClaims(token).getSubject();
+        return parseToken(token).email();
     }
 
     public String extractRole(String token) {
-        return extractClaims(token).get("role", String.class);
+        return parseToken(token).role();
     }
 
     public Collection<GrantedAuthority> extractAuthorities(String token) {
-        String role = extractRole(token);
-        return Collections.singletonList(new SimpleGrantedAuthority(role));
+        return extractAuthorities(parseToken(token));
+    }
+
+    public Collection<GrantedAuthority> extractAuthorities(TokenClaims claims) {
+        return Collections.singletonList(new SimpleGrantedAuthority(claims.role()));
     }
 
     private Claims extractClaims(String token) {
@@ -69,6 +112,55 @@ public class JwtTools {
     }
 
     public boolean validateToken(String token, User user) {
-        return extractEmail(token).equals(user.getEmail()) && extractRole(token).equals(user.getRole().name());
+        return validateToken(parseToken(token), user);
+    }
+
+    public boolean validateToken(TokenClaims claims, User user) {
+        return claims.email().equals(user.getEmail()) && claims.role().equals(user.getRole().name());
+    }
+
+    private Cache<String, TokenClaims> getClaimsCache() {
+        Cache<String, TokenClaims> cache = claimsCache;
+        if (cache == null) {
+            synchronized (this) {
+                if (claimsCache == null) {
+                    claimsCache = Caffeine.newBuilder()
+                            .maximumSize(claimsCacheMaximumSize)
+                            .expireAfter(new ExpireAtTokenExpiration())
+                            .build();
+                }
+                cache = claimsCache;
+            }
+        }
+        return cache;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 non disponible", e);
+        }
+    }
+
+    /**
+     * Chaque entrée expire à la date {@code exp} de son token.
+     */
+    private static final class ExpireAtTokenExpiration implements Expiry<String, TokenClaims> {
+        @Override
+        public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.cgl.userservice.utils;
+
+import java.time.Instant;
+
+/**
+ * Claims d'un JWT dont la signature a déjà été vérifiée.
+ */
+public record TokenClaims(String userId, String email, String role, Instant issuedAt, Instant expiresAt) {
+}
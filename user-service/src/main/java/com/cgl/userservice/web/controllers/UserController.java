@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
 import java.util.Map;
 
 
@@ -17,6 +18,12 @@ public interface UserController {
     @GetMapping("")
     ResponseEntity<Map<String, Object>> getAllUsers();
 
+    /**
+     * Utilisateurs demandés ({@code ?ids=a,b,c}, au plus 100), indexés par id sous {@code users} ; les ids inconnus sont absents.
+     */
+    @GetMapping("/batch")
+    ResponseEntity<Map<String, Object>> getUsersByIds(@RequestParam("ids") List<String> ids);
+
     @GetMapping("/{id}")
     ResponseEntity<Map<String, Object>> getUserById(@PathVariable String id);
 
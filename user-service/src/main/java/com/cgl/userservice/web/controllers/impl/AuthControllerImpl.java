@@ -1,6 +1,7 @@
 package com.cgl.userservice.web.controllers.impl;
 
 import com.cgl.userservice.data.entities.User;
+import com.cgl.userservice.exception.PasswordHashingRejectedException;
 import com.cgl.userservice.services.UserService;
 import com.cgl.userservice.utils.JwtTools;
 import com.cgl.userservice.utils.mapper.MapperUser;
@@ -39,6 +40,7 @@ public class AuthControllerImpl implements AuthController {
         }
 
         if (passwordEncoder.matches(userLoginDTO.getPassword(), checkUser.getPassword())) {
+            upgradePasswordHashIfNeeded(checkUser, userLoginDTO.getPassword());
             String token = jwtTools.generateToken(checkUser);
             return ResponseEntity.ok()
                     .header(HttpHeaders.CACHE_CONTROL, "no-store")
@@ -48,6 +50,18 @@ public class AuthControllerImpl implements AuthController {
         }
     }
 
+    private void upgradePasswordHashIfNeeded(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            userService.upgradePasswordHash(user, rawPassword);
+        } catch (PasswordHashingRejectedException e) {
+            // Executor saturé : la connexion réussit quand même, le re-hachage sera retenté au prochain login
+            log.debug("Password rehash skipped for user {}", user.getId());
+        }
+    }
+
     @Override
     public ResponseEntity<Map<String, Object>> register(UserDto userRegisterDTO) {
         Map<String, Object> response = new HashMap<>();
@@ -5,6 +5,7 @@ import com.cgl.userservice.services.UserService;
 import com.cgl.userservice.utils.mapper.MapperUser;
 import com.cgl.userservice.web.controllers.UserController;
 import com.cgl.userservice.web.dto.ChangePasswordRequest;
+import com.cgl.userservice.web.dto.UserAllResponse;
 import com.cgl.userservice.web.dto.UserDto;
 import com.cgl.userservice.web.dto.UserOneResponse;
 import com.example.common.services.S3Service;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -24,6 +27,7 @@ public class UserControllerImpl implements UserController {
 
     static final String USER_NOT_FOUND_MESSAGE = "User not found";
     static final String MESSAGE_KEY = "message";
+    static final int MAX_BATCH_SIZE = 100;
 
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
@@ -45,6 +49,21 @@ public class UserControllerImpl implements UserController {
         return ResponseEntity.status(200).body(response);
     }
 
+    @Override
+    public ResponseEntity<Map<String, Object>> getUsersByIds(List<String> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(MESSAGE_KEY, "You can't request more than " + MAX_BATCH_SIZE + " users"));
+        }
+        Map<String, UserAllResponse> users = new LinkedHashMap<>();
+        userService.getByIds(new LinkedHashSet<>(ids))
+                .forEach((id, user) -> users.put(id, MapperUser.toDtoSecond(user)));
+        Map<String, Object> response = new HashMap<>();
+        response.put(MESSAGE_KEY, "Users found");
+        response.put("users", users);
+        return ResponseEntity.status(200).body(response);
+    }
+
     @Override
     public ResponseEntity<Map<String, Object>> getUserById(String id) {
         Map<String, Object> response = new HashMap<>();
@@ -26,7 +26,7 @@ class SecurityConfigConstructorTest {
     @Test
     void testSecurityConfigConstructorWithRealFilter() {
         // Given
-        JwtControl realFilter = new JwtControl(null, null);
+        JwtControl realFilter = new JwtControl(null, null, null);
 
         // When
         SecurityConfig securityConfig = new SecurityConfig(realFilter);
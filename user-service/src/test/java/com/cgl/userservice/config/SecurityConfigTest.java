@@ -135,29 +135,6 @@ class SecurityConfigTest {
 
     // ==================== NEW TESTS FOR SecurityConfig BEANS ====================
 
-    @Test
-    void testPasswordEncoderBean_CreatesBCryptPasswordEncoder() {
-        // When
-        PasswordEncoder encoder = securityConfig.passwordEncoder();
-
-        // Then
-        assertThat(encoder).isNotNull().isInstanceOf(BCryptPasswordEncoder.class);
-    }
-
-    @Test
-    void testPasswordEncoderBean_FunctionalTest() {
-        // Given
-        PasswordEncoder encoder = securityConfig.passwordEncoder();
-        String rawPassword = "MySecurePassword123!";
-
-        // When
-        String encoded = encoder.encode(rawPassword);
-
-        // Then
-        assertThat(encoder.matches(rawPassword, encoded)).isTrue();
-        assertThat(encoder.matches("WrongPassword", encoded)).isFalse();
-    }
-
     @Test
     void testAuthenticationManagerBean() throws Exception {
         // Given
@@ -210,20 +187,6 @@ class SecurityConfigTest {
         assertThat(config).isNotNull();
     }
 
-    @Test
-    void testPasswordEncoderBean_IsSingleton() {
-        // When - Call multiple times
-        PasswordEncoder encoder1 = securityConfig.passwordEncoder();
-        PasswordEncoder encoder2 = securityConfig.passwordEncoder();
-
-        // Then - Each call creates a new instance (not managed by Spring in this test)
-        assertThat(encoder1).isNotNull();
-        assertThat(encoder2).isNotNull();
-        // Both are BCryptPasswordEncoder
-        assertThat(encoder1).isInstanceOf(BCryptPasswordEncoder.class);
-        assertThat(encoder2).isInstanceOf(BCryptPasswordEncoder.class);
-    }
-
     @Test
     void testMethodSecurityExpressionHandlerBean_WithDifferentContext() {
         // Given
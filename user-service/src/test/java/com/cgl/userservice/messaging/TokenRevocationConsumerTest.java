@@ -0,0 +1,52 @@
+package com.cgl.userservice.messaging;
+
+import com.cgl.userservice.services.TokenRevocationService;
+import com.example.common.events.EventEnvelope;
+import com.example.common.events.EventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationConsumerTest {
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @InjectMocks
+    private TokenRevocationConsumer tokenRevocationConsumer;
+
+    @Test
+    void testRevokeTokens_RecordsRevocationAtEventTime() {
+        // Given
+        Instant occurredAt = Instant.ofEpochMilli(1735725600000L);
+        EventEnvelope event = new EventEnvelope(UUID.randomUUID(), EventType.USER_TOKENS_REVOKED, occurredAt,
+                List.of("user-123"));
+
+        // When
+        tokenRevocationConsumer.revokeTokens(event, 1735725605000L);
+
+        // Then
+        verify(tokenRevocationService, times(1)).recordRevocation("user-123", occurredAt);
+    }
+
+    @Test
+    void testRevokeTokens_LegacyMessage_RecordsRevocationAtRecordTimestamp() {
+        // Given
+        EventEnvelope event = new EventEnvelope(UUID.randomUUID(), EventType.LEGACY, Instant.now(), List.of("user-123"));
+
+        // When
+        tokenRevocationConsumer.revokeTokens(event, 1735725600000L);
+
+        // Then
+        verify(tokenRevocationService, times(1)).recordRevocation("user-123", Instant.ofEpochMilli(1735725600000L));
+    }
+}
@@ -0,0 +1,151 @@
+package com.cgl.userservice.services.impl;
+
+import com.cgl.userservice.data.entities.TokenRevocation;
+import com.cgl.userservice.services.UserEventPublisher;
+import com.cgl.userservice.utils.TokenClaims;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceImplTest {
+
+    @Mock
+    private UserEventPublisher userEventPublisher;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationServiceImpl(userEventPublisher, mongoTemplate, 3600000L);
+    }
+
+    private static TokenClaims claimsIssuedAt(String userId, Instant issuedAt) {
+        return new TokenClaims(userId, "test@example.com", "CLIENT", issuedAt, issuedAt.plusSeconds(3600));
+    }
+
+    @Test
+    void testIsRevoked_NoRevocation_ReturnsFalse() {
+        // When & Then
+        assertThat(tokenRevocationService.isRevoked(claimsIssuedAt("user-123", Instant.now()))).isFalse();
+    }
+
+    @Test
+    void testRevokeTokens_RejectsOlderTokensAndPublishesEvent() {
+        // Given
+        TokenClaims oldToken = claimsIssuedAt("user-123", Instant.now().minusSeconds(60));
+
+        // When
+        tokenRevocationService.revokeTokens("user-123");
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(oldToken)).isTrue();
+        verify(userEventPublisher, times(1)).sendTokensRevokedEvent("user-123");
+    }
+
+    @Test
+    void testRecordRevocation_TokenIssuedAfter_StillValid() {
+        // Given
+        Instant revokedAt = Instant.parse("2025-01-01T10:00:00.500Z");
+        tokenRevocationService.recordRevocation("user-123", revokedAt);
+
+        // When & Then - Same second as the revocation and later are accepted
+        assertThat(tokenRevocationService.isRevoked(claimsIssuedAt("user-123", Instant.parse("2025-01-01T10:00:00Z")))).isFalse();
+        assertThat(tokenRevocationService.isRevoked(claimsIssuedAt("user-123", Instant.parse("2025-01-01T10:00:05Z")))).isFalse();
+        assertThat(tokenRevocationService.isRevoked(claimsIssuedAt("user-123", Instant.parse("2025-01-01T09:59:59Z")))).isTrue();
+        verifyNoInteractions(userEventPublisher);
+    }
+
+    @Test
+    void testRecordRevocation_KeepsLatestRevocation() {
+        // Given
+        tokenRevocationService.recordRevocation("user-123", Instant.parse("2025-01-01T10:00:00Z"));
+
+        // When - An older, late-delivered revocation must not move the date backwards
+        tokenRevocationService.recordRevocation("user-123", Instant.parse("2025-01-01T09:00:00Z"));
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(claimsIssuedAt("user-123", Instant.parse("2025-01-01T09:30:00Z")))).isTrue();
+    }
+
+    @Test
+    void testIsRevoked_OtherUser_ReturnsFalse() {
+        // Given
+        tokenRevocationService.recordRevocation("user-123", Instant.now());
+
+        // When & Then
+        assertThat(tokenRevocationService.isRevoked(claimsIssuedAt("user-456", Instant.now().minusSeconds(60)))).isFalse();
+    }
+
+    @Test
+    void testRevokeTokens_PersistsRevocationUntilTokensExpire() {
+        // When
+        tokenRevocationService.revokeTokens("user-123");
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(1)).upsert(any(Query.class), update.capture(), eq(TokenRevocation.class));
+        Document max = update.getValue().getUpdateObject().get("$max", Document.class);
+        Instant revokedBefore = ((Instant) max.get("revokedBefore"));
+        assertThat(max.get("expiresAt")).isEqualTo(revokedBefore.plusSeconds(3600));
+    }
+
+    @Test
+    void testAfterPropertiesSet_RestartedReplica_LoadsPersistedRevocations() {
+        // Given - révocation enregistrée par une autre instance avant le démarrage de celle-ci
+        Instant revokedAt = Instant.now().minusSeconds(120);
+        when(mongoTemplate.find(any(Query.class), eq(TokenRevocation.class))).thenReturn(List.of(
+                new TokenRevocation("user-123", revokedAt, revokedAt.plusSeconds(3600))));
+
+        // When
+        tokenRevocationService.afterPropertiesSet();
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(claimsIssuedAt("user-123", revokedAt.minusSeconds(60)))).isTrue();
+        verifyNoInteractions(userEventPublisher);
+    }
+
+    @Test
+    void testSyncFromStore_MissedEvent_IsCaughtUp() {
+        // Given
+        tokenRevocationService.afterPropertiesSet();
+        Instant revokedAt = Instant.now().minusSeconds(10);
+        when(mongoTemplate.find(any(Query.class), eq(TokenRevocation.class))).thenReturn(List.of(
+                new TokenRevocation("user-456", revokedAt, revokedAt.plusSeconds(3600))));
+
+        // When
+        tokenRevocationService.syncFromStore();
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(claimsIssuedAt("user-456", revokedAt.minusSeconds(60)))).isTrue();
+    }
+
+    @Test
+    void testRecordRevocation_ManyRevocations_NoneEvicted() {
+        // Given - plus que l'ancienne taille maximale du cache (10000)
+        Instant revokedAt = Instant.now();
+        IntStream.range(0, 10_001).forEach(i -> tokenRevocationService.recordRevocation("user-" + i, revokedAt));
+
+        // When & Then - la première révocation s'applique toujours
+        assertThat(tokenRevocationService.isRevoked(claimsIssuedAt("user-0", revokedAt.minusSeconds(60)))).isTrue();
+    }
+}
@@ -1,6 +1,9 @@
 package com.cgl.userservice.services.impl;
 
 import com.cgl.userservice.services.UserEventPublisher;
+import com.example.common.events.EventEnvelope;
+import com.example.common.events.EventPublisher;
+import com.example.common.events.EventType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -9,7 +12,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -19,7 +26,7 @@ import static org.mockito.Mockito.*;
 class UserEventPublisherImplTest {
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private EventPublisher eventPublisher;
 
     @InjectMocks
     private UserEventPublisherImpl userEventPublisher;
@@ -27,109 +34,96 @@ class UserEventPublisherImplTest {
     @ParameterizedTest
     @ValueSource(strings = {"user-123", "user-456", "user-789"})
     void testSendDeleteEvent_WithVariousUserIds_SendsToKafka(String userId) {
-        // Given
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
-
         // When
         userEventPublisher.sendDeleteEvent(userId);
 
         // Then
-        verify(kafkaTemplate, times(1)).send("delete-user-products", userId);
+        verify(eventPublisher, times(1)).publish(eq("delete-user-products"), argThat(event -> event.ids().equals(List.of(userId))));
     }
 
     @Test
-    void testSendDeleteEvent_VerifyTopicAndUserId() {
+    void testSendDeleteEvent_VerifyTopicAndEnvelope() {
         // Given
-        String userId = "specific-user-123";
         ArgumentCaptor<String> topicCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<String> userIdCaptor = ArgumentCaptor.forClass(String.class);
-
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
+        ArgumentCaptor<EventEnvelope> eventCaptor = ArgumentCaptor.forClass(EventEnvelope.class);
 
         // When
-        userEventPublisher.sendDeleteEvent(userId);
+        userEventPublisher.sendDeleteEvent("specific-user-123");
 
         // Then
-        verify(kafkaTemplate, times(1)).send(topicCaptor.capture(), userIdCaptor.capture());
+        verify(eventPublisher, times(1)).publish(topicCaptor.capture(), eventCaptor.capture());
 
         assertThat(topicCaptor.getValue()).isEqualTo("delete-user-products");
-        assertThat(userIdCaptor.getValue()).isEqualTo("specific-user-123");
+        assertThat(eventCaptor.getValue().type()).isEqualTo(EventType.USER_DELETED);
+        assertThat(eventCaptor.getValue().ids()).containsExactly("specific-user-123");
+        assertThat(eventCaptor.getValue().eventId()).isNotNull();
+        assertThat(eventCaptor.getValue().occurredAt()).isNotNull();
     }
 
     @Test
-    void testSendDeleteEvent_WithNullUserId() {
+    void testSendDeleteEvent_ReturnsBrokerAcknowledgement() {
         // Given
-        String userId = null;
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
+        CompletableFuture<SendResult<String, EventEnvelope>> sent = new CompletableFuture<>();
+        when(eventPublisher.publish(eq("delete-user-products"), any(EventEnvelope.class))).thenReturn(sent);
 
         // When
-        userEventPublisher.sendDeleteEvent(userId);
+        CompletableFuture<SendResult<String, EventEnvelope>> result = userEventPublisher.sendDeleteEvent("user-1");
 
         // Then
-        verify(kafkaTemplate, times(1)).send("delete-user-products", null);
+        assertThat(result).isSameAs(sent);
     }
 
     @Test
-    void testSendDeleteEvent_WithEmptyUserId() {
-        // Given
-        String userId = "";
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
+    void testSendDeleteEvent_WithNullUserId_IsRejected() {
+        // When & Then - L'enveloppe n'accepte pas d'id null
+        assertThatThrownBy(() -> userEventPublisher.sendDeleteEvent(null))
+                .isInstanceOf(NullPointerException.class);
 
-        // When
-        userEventPublisher.sendDeleteEvent(userId);
-
-        // Then
-        verify(kafkaTemplate, times(1)).send("delete-user-products", "");
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void testSendDeleteEvent_KafkaTemplateThrowsException() {
+    void testSendDeleteEvent_PublisherThrowsException() {
         // Given
-        String userId = "user-error";
-        when(kafkaTemplate.send(anyString(), nullable(String.class)))
+        when(eventPublisher.publish(anyString(), any(EventEnvelope.class)))
                 .thenThrow(new RuntimeException("Kafka connection error"));
 
         // When & Then
-        assertThatThrownBy(() -> userEventPublisher.sendDeleteEvent(userId))
+        assertThatThrownBy(() -> userEventPublisher.sendDeleteEvent("user-error"))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Kafka connection error");
-
-        verify(kafkaTemplate, times(1)).send("delete-user-products", userId);
     }
 
     @Test
-    void testSendDeleteEvent_MultipleInvocations() {
+    void testSendDeleteEvent_SameUser_SameEventId() {
         // Given
-        String userId1 = "user-111";
-        String userId2 = "user-222";
-        String userId3 = "user-333";
-
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
+        ArgumentCaptor<EventEnvelope> eventCaptor = ArgumentCaptor.forClass(EventEnvelope.class);
 
-        // When
-        userEventPublisher.sendDeleteEvent(userId1);
-        userEventPublisher.sendDeleteEvent(userId2);
-        userEventPublisher.sendDeleteEvent(userId3);
+        // When - Renvoi de la même suppression
+        userEventPublisher.sendDeleteEvent("user-111");
+        userEventPublisher.sendDeleteEvent("user-111");
 
         // Then
-        verify(kafkaTemplate, times(3)).send(eq("delete-user-products"), nullable(String.class));
-        verify(kafkaTemplate, times(1)).send("delete-user-products", userId1);
-        verify(kafkaTemplate, times(1)).send("delete-user-products", userId2);
-        verify(kafkaTemplate, times(1)).send("delete-user-products", userId3);
+        verify(eventPublisher, times(2)).publish(eq("delete-user-products"), eventCaptor.capture());
+        assertThat(eventCaptor.getAllValues()).extracting(EventEnvelope::eventId).containsOnly(
+                eventCaptor.getValue().eventId());
     }
 
     @Test
-    void testSendDeleteEvent_VerifyCorrectTopic() {
+    void testSendDeleteEvents_GroupsIdsIntoFewMessages() {
         // Given
-        String userId = "test-user";
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
+        List<String> userIds = IntStream.range(0, UserEventPublisherImpl.IDS_PER_MESSAGE + 1)
+                .mapToObj(i -> "user-" + i)
+                .toList();
+        when(eventPublisher.publishAll(eq("delete-user-products"), anyList())).thenReturn(CompletableFuture.completedFuture(null));
 
         // When
-        userEventPublisher.sendDeleteEvent(userId);
+        CompletableFuture<Void> result = userEventPublisher.sendDeleteEvents(userIds);
 
-        // Then - Verify topic is exactly "delete-user-products"
-        verify(kafkaTemplate, times(1)).send(eq("delete-user-products"), nullable(String.class));
-        verify(kafkaTemplate, never()).send(eq("wrong-topic"), nullable(String.class));
+        // Then
+        assertThat(result).isCompleted();
+        verify(eventPublisher, times(1)).publishAll(eq("delete-user-products"), argThat(events ->
+                events.size() == 2 && events.get(0).ids().size() == UserEventPublisherImpl.IDS_PER_MESSAGE));
     }
 
     @Test
@@ -144,7 +138,7 @@ class UserEventPublisherImplTest {
     @Test
     void testConstructor() {
         // When
-        UserEventPublisherImpl publisher = new UserEventPublisherImpl(kafkaTemplate);
+        UserEventPublisherImpl publisher = new UserEventPublisherImpl(eventPublisher);
 
         // Then
         assertThat(publisher).isNotNull();
@@ -157,17 +151,12 @@ class UserEventPublisherImplTest {
     }
 
     @Test
-    void testSendDeleteEvent_VerifyExactParameters() {
-        // Given
-        String userId = "exact-user-id";
-        when(kafkaTemplate.send(anyString(), nullable(String.class))).thenReturn(null);
-
+    void testSendTokensRevokedEvent_SendsToRevocationTopic() {
         // When
-        userEventPublisher.sendDeleteEvent(userId);
+        userEventPublisher.sendTokensRevokedEvent("user-123");
 
-        // Then - Verify exact parameters
-        verify(kafkaTemplate, times(1)).send("delete-user-products", userId);
-        verify(kafkaTemplate, never()).send(argThat(topic -> !"delete-user-products".equals(topic)), anyString());
+        // Then
+        verify(eventPublisher, times(1)).publish(eq("user-tokens-revoked"), argThat(event ->
+                event.type() == EventType.USER_TOKENS_REVOKED && event.ids().equals(List.of("user-123"))));
     }
 }
-
@@ -4,6 +4,7 @@ import com.cgl.userservice.data.entities.User;
 import com.cgl.userservice.data.enums.Role;
 import com.cgl.userservice.data.repositories.UserRepository;
 import com.cgl.userservice.exception.UnauthorizedException;
+import com.cgl.userservice.services.TokenRevocationService;
 import com.cgl.userservice.services.UserEventPublisher;
 import com.cgl.userservice.web.dto.ChangePasswordRequest;
 import com.example.common.services.S3Service;
@@ -45,6 +46,9 @@ class UserServiceImplTest {
     @Mock
     private S3Service s3Service;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -127,6 +131,29 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).findById("non-existent");
     }
 
+    @Test
+    void testGetByIds_SingleQueryKeyedById() {
+        // Given
+        when(userRepository.findAllById(List.of("user-123", "missing"))).thenReturn(List.of(testUser));
+
+        // When
+        Map<String, User> result = userService.getByIds(List.of("user-123", "missing"));
+
+        // Then
+        assertThat(result).containsOnlyKeys("user-123");
+        verify(userRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void testGetByIds_NoIds_NoQuery() {
+        // When
+        Map<String, User> result = userService.getByIds(List.of());
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(userRepository);
+    }
+
     // ==================== getByEmail() TESTS ====================
 
     @Test
@@ -194,6 +221,34 @@ class UserServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo("user-123");
         verify(userRepository, times(1)).save(testUser);
+        verify(tokenRevocationService, never()).revokeTokens(anyString());
+    }
+
+    @Test
+    void testUpdate_EmailChanged_RevokesTokens() {
+        // Given
+        User stored = User.builder().id("user-123").email("old@example.com").role(testUser.getRole()).build();
+        when(userRepository.findById("user-123")).thenReturn(Optional.of(stored));
+
+        // When
+        userService.update(testUser);
+
+        // Then
+        verify(userRepository, times(1)).save(testUser);
+        verify(tokenRevocationService, times(1)).revokeTokens("user-123");
+    }
+
+    @Test
+    void testUpdate_SameEmailAndRole_KeepsTokens() {
+        // Given
+        User stored = User.builder().id("user-123").email(testUser.getEmail()).role(testUser.getRole()).name("Old name").build();
+        when(userRepository.findById("user-123")).thenReturn(Optional.of(stored));
+
+        // When
+        userService.update(testUser);
+
+        // Then
+        verify(tokenRevocationService, never()).revokeTokens(anyString());
     }
 
     // ==================== delete() TESTS ====================
@@ -202,7 +257,6 @@ class UserServiceImplTest {
     void testDelete_DeletesUserAndPublishesEvent() {
         // Given
         doNothing().when(userRepository).delete(testUser);
-        doNothing().when(userEventPublisher).sendDeleteEvent("user-123");
 
         // When
         User result = userService.delete(testUser);
@@ -212,6 +266,7 @@ class UserServiceImplTest {
         assertThat(result.getId()).isEqualTo("user-123");
         verify(userRepository, times(1)).delete(testUser);
         verify(userEventPublisher, times(1)).sendDeleteEvent("user-123");
+        verify(tokenRevocationService, times(1)).revokeTokens("user-123");
     }
 
     // ==================== getCurrentUser() TESTS ====================
@@ -335,6 +390,7 @@ class UserServiceImplTest {
         verify(passwordEncoder, times(1)).matches("oldPassword", "encodedPassword");
         verify(passwordEncoder, times(1)).encode("newPassword123!");
         verify(userRepository, times(1)).save(testUser);
+        verify(tokenRevocationService, times(1)).revokeTokens("user-123");
     }
 
     @Test
@@ -376,6 +432,23 @@ class UserServiceImplTest {
         verify(userRepository, never()).save(any());
     }
 
+    // ==================== upgradePasswordHash() TESTS ====================
+
+    @Test
+    void testUpgradePasswordHash_SavesNewHashWithoutRevokingTokens() {
+        // Given
+        when(passwordEncoder.encode("plainPassword")).thenReturn("strongerEncodedPassword");
+        when(userRepository.save(testUser)).thenReturn(testUser);
+
+        // When
+        User result = userService.upgradePasswordHash(testUser, "plainPassword");
+
+        // Then
+        assertThat(result.getPassword()).isEqualTo("strongerEncodedPassword");
+        verify(userRepository, times(1)).save(testUser);
+        verify(tokenRevocationService, never()).revokeTokens(anyString());
+    }
+
     // ==================== ADDITIONAL INTEGRATION TESTS ====================
 
     @Test
@@ -387,7 +460,7 @@ class UserServiceImplTest {
     @Test
     void testConstructor() {
         // When
-        UserServiceImpl service = new UserServiceImpl(userRepository, passwordEncoder, userEventPublisher, s3Service);
+        UserServiceImpl service = new UserServiceImpl(userRepository, passwordEncoder, userEventPublisher, s3Service, tokenRevocationService);
 
         // Then
         assertThat(service).isNotNull();
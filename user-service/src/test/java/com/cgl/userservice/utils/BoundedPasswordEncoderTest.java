@@ -0,0 +1,105 @@
+package com.cgl.userservice.utils;
+
+import com.cgl.userservice.config.PasswordHashingConfig;
+import com.cgl.userservice.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingConfig().passwordHashingExecutor(1, 1, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // ==================== HASHING TESTS ====================
+
+    @Test
+    void testEncodeAndMatches_RunOnHashingExecutor() {
+        // Given
+        PasswordEncoder encoder = new PasswordHashingConfig().passwordEncoder(4, executor, meterRegistry);
+
+        // When
+        String encoded = encoder.encode("password123");
+
+        // Then
+        assertThat(encoded).startsWith("$2a$04$");
+        assertThat(encoder.matches("password123", encoded)).isTrue();
+        assertThat(encoder.matches("wrong", encoded)).isFalse();
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.HASH_TIMER).tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.HASH_TIMER).tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testUpgradeEncoding_LowerStrength_ReturnsTrue() {
+        // Given
+        String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+        PasswordEncoder encoder = new PasswordHashingConfig().passwordEncoder(5, executor, meterRegistry);
+
+        // When & Then
+        assertThat(encoder.upgradeEncoding(weakHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("password123"))).isFalse();
+    }
+
+    @Test
+    void testExecutorMetrics_AreRegistered() {
+        // Then
+        assertThat(meterRegistry.find("executor.queued").tag("name", "password-hashing").gauge()).isNotNull();
+    }
+
+    // ==================== SATURATION TESTS ====================
+
+    @Test
+    void testEncode_ExecutorSaturated_ThrowsTooManyRequests() throws InterruptedException {
+        // Given - un thread occupé et une file pleine
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(release));
+        executor.execute(() -> awaitQuietly(release));
+        PasswordEncoder encoder = new PasswordHashingConfig().passwordEncoder(4, executor, meterRegistry);
+
+        try {
+            // When & Then
+            assertThatThrownBy(() -> encoder.encode("password123"))
+                    .isInstanceOf(PasswordHashingRejectedException.class)
+                    .satisfies(exception -> {
+                        PasswordHashingRejectedException rejected = (PasswordHashingRejectedException) exception;
+                        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                        assertThat(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+                    });
+            assertThat(meterRegistry.get(BoundedPasswordEncoder.REJECTED_COUNTER).counter().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
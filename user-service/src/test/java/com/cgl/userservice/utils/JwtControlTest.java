@@ -3,6 +3,7 @@ package com.cgl.userservice.utils;
 import com.cgl.userservice.data.entities.User;
 import com.cgl.userservice.data.enums.Role;
 import com.cgl.userservice.services.LoginService;
+import com.cgl.userservice.services.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,11 +19,14 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -36,6 +40,9 @@ class JwtControlTest {
     @Mock
     private LoginService loginService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @Mock
     private HttpServletRequest request;
 
@@ -66,6 +73,10 @@ class JwtControlTest {
         SecurityContextHolder.clearContext();
     }
 
+    private static TokenClaims claimsFor(String email) {
+        return new TokenClaims("user-123", email, "CLIENT", Instant.now(), Instant.now().plusSeconds(3600));
+    }
+
     @Test
     void testDoFilterInternal_LoginEndpoint_SkipsJwtValidation() throws ServletException, IOException {
         // Condition 1: requestPath equals /api/v1/auth/login
@@ -123,20 +134,21 @@ class JwtControlTest {
 
         when(request.getRequestURI()).thenReturn("/api/v1/users/profile");
         when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtTools.extractEmail(token)).thenReturn("test@example.com");
+        TokenClaims claims = claimsFor("test@example.com");
+        when(jwtTools.parseToken(token)).thenReturn(claims);
 
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(null);
         when(loginService.loadUserByUsername("test@example.com")).thenReturn(testUser);
-        when(jwtTools.validateToken(token, testUser)).thenReturn(true);
-        doReturn(authorities).when(jwtTools).extractAuthorities(token);
+        when(jwtTools.validateToken(claims, testUser)).thenReturn(true);
+        doReturn(authorities).when(jwtTools).extractAuthorities(claims);
 
         jwtControl.doFilterInternal(request, response, filterChain);
 
-        verify(jwtTools, times(1)).extractEmail(token);
+        verify(jwtTools, times(1)).parseToken(token);
         verify(loginService, times(1)).loadUserByUsername("test@example.com");
-        verify(jwtTools, times(1)).validateToken(token, testUser);
-        verify(jwtTools, times(1)).extractAuthorities(token);
+        verify(jwtTools, times(1)).validateToken(claims, testUser);
+        verify(jwtTools, times(1)).extractAuthorities(claims);
         verify(securityContext, times(1)).setAuthentication(any());
         verify(filterChain, times(1)).doFilter(request, response);
     }
@@ -147,11 +159,12 @@ class JwtControlTest {
         String token = "invalid.jwt.token";
         when(request.getRequestURI()).thenReturn("/api/v1/users/profile");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTools.extractEmail(token)).thenReturn(null);
+        TokenClaims claims = claimsFor(null);
+        when(jwtTools.parseToken(token)).thenReturn(claims);
 
         jwtControl.doFilterInternal(request, response, filterChain);
 
-        verify(jwtTools, times(1)).extractEmail(token);
+        verify(jwtTools, times(1)).parseToken(token);
         verify(loginService, never()).loadUserByUsername(anyString());
         verify(filterChain, times(1)).doFilter(request, response);
     }
@@ -164,14 +177,15 @@ class JwtControlTest {
 
         when(request.getRequestURI()).thenReturn("/api/v1/users/profile");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTools.extractEmail(token)).thenReturn("test@example.com");
+        TokenClaims claims = claimsFor("test@example.com");
+        when(jwtTools.parseToken(token)).thenReturn(claims);
 
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(existingAuth);
 
         jwtControl.doFilterInternal(request, response, filterChain);
 
-        verify(jwtTools, times(1)).extractEmail(token);
+        verify(jwtTools, times(1)).parseToken(token);
         verify(loginService, never()).loadUserByUsername(anyString());
         verify(filterChain, times(1)).doFilter(request, response);
     }
@@ -183,17 +197,18 @@ class JwtControlTest {
 
         when(request.getRequestURI()).thenReturn("/api/v1/users/profile");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTools.extractEmail(token)).thenReturn("test@example.com");
+        TokenClaims claims = claimsFor("test@example.com");
+        when(jwtTools.parseToken(token)).thenReturn(claims);
 
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(null);
         when(loginService.loadUserByUsername("test@example.com")).thenReturn(testUser);
-        when(jwtTools.validateToken(token, testUser)).thenReturn(false);
+        when(jwtTools.validateToken(claims, testUser)).thenReturn(false);
 
         jwtControl.doFilterInternal(request, response, filterChain);
 
-        verify(jwtTools, times(1)).validateToken(token, testUser);
-        verify(jwtTools, never()).extractAuthorities(anyString());
+        verify(jwtTools, times(1)).validateToken(claims, testUser);
+        verify(jwtTools, never()).extractAuthorities(any(TokenClaims.class));
         verify(securityContext, never()).setAuthentication(any());
         verify(filterChain, times(1)).doFilter(request, response);
     }
@@ -205,7 +220,7 @@ class JwtControlTest {
 
         when(request.getRequestURI()).thenReturn("/api/v1/users/profile");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTools.extractEmail(token)).thenThrow(new RuntimeException("Token parsing error"));
+        when(jwtTools.parseToken(token)).thenThrow(new RuntimeException("Token parsing error"));
 
         jwtControl.doFilterInternal(request, response, filterChain);
 
@@ -218,11 +233,11 @@ class JwtControlTest {
         // Verify substring(7) extracts token correctly
         when(request.getRequestURI()).thenReturn("/api/v1/test");
         when(request.getHeader("Authorization")).thenReturn("Bearer 1234567890abcdef");
-        when(jwtTools.extractEmail("1234567890abcdef")).thenReturn(null);
+        when(jwtTools.parseToken("1234567890abcdef")).thenReturn(claimsFor(null));
 
         jwtControl.doFilterInternal(request, response, filterChain);
 
-        verify(jwtTools, times(1)).extractEmail("1234567890abcdef");
+        verify(jwtTools, times(1)).parseToken("1234567890abcdef");
     }
 
     @Test
@@ -239,13 +254,14 @@ class JwtControlTest {
 
         when(request.getRequestURI()).thenReturn("/api/v1/products");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTools.extractEmail(token)).thenReturn("seller@example.com");
+        TokenClaims claims = claimsFor("seller@example.com");
+        when(jwtTools.parseToken(token)).thenReturn(claims);
 
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(null);
         when(loginService.loadUserByUsername("seller@example.com")).thenReturn(seller);
-        when(jwtTools.validateToken(token, seller)).thenReturn(true);
-        doReturn(authorities).when(jwtTools).extractAuthorities(token);
+        when(jwtTools.validateToken(claims, seller)).thenReturn(true);
+        doReturn(authorities).when(jwtTools).extractAuthorities(claims);
 
         jwtControl.doFilterInternal(request, response, filterChain);
 
@@ -284,17 +300,18 @@ class JwtControlTest {
 
         when(request.getRequestURI()).thenReturn("/api/v1/premium/feature");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTools.extractEmail(token)).thenReturn("premium@example.com");
+        TokenClaims claims = claimsFor("premium@example.com");
+        when(jwtTools.parseToken(token)).thenReturn(claims);
 
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(null);
         when(loginService.loadUserByUsername("premium@example.com")).thenReturn(testUser);
-        when(jwtTools.validateToken(token, testUser)).thenReturn(true);
-        doReturn(authorities).when(jwtTools).extractAuthorities(token);
+        when(jwtTools.validateToken(claims, testUser)).thenReturn(true);
+        doReturn(authorities).when(jwtTools).extractAuthorities(claims);
 
         jwtControl.doFilterInternal(request, response, filterChain);
 
-        verify(jwtTools, times(1)).extractAuthorities(token);
+        verify(jwtTools, times(1)).extractAuthorities(claims);
         verify(securityContext, times(1)).setAuthentication(any());
     }
 
@@ -307,5 +324,74 @@ class JwtControlTest {
 
         verify(filterChain, times(1)).doFilter(request, response);
     }
-}
 
+    // ==================== STATELESS MODE & REVOCATION TESTS ====================
+
+    @Test
+    void testDoFilterInternal_StatelessMode_BuildsPrincipalFromClaims() throws ServletException, IOException {
+        // Given
+        ReflectionTestUtils.setField(jwtControl, "stateless", true);
+        String token = "valid.jwt.token";
+        TokenClaims claims = claimsFor("test@example.com");
+        Collection<? extends GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("CLIENT"));
+
+        when(request.getRequestURI()).thenReturn("/api/v1/users/me");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTools.parseToken(token)).thenReturn(claims);
+        doReturn(authorities).when(jwtTools).extractAuthorities(claims);
+
+        // When
+        jwtControl.doFilterInternal(request, response, filterChain);
+
+        // Then - No database lookup, principal carries the token claims
+        verifyNoInteractions(loginService);
+        verify(jwtTools, never()).validateToken(any(TokenClaims.class), any(User.class));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        User principal = (User) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo("user-123");
+        assertThat(principal.getEmail()).isEqualTo("test@example.com");
+        assertThat(principal.getRole()).isEqualTo(Role.CLIENT);
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
+
+    @Test
+    void testDoFilterInternal_RevokedToken_NotAuthenticated() throws ServletException, IOException {
+        // Given
+        ReflectionTestUtils.setField(jwtControl, "stateless", true);
+        String token = "revoked.jwt.token";
+        TokenClaims claims = claimsFor("test@example.com");
+
+        when(request.getRequestURI()).thenReturn("/api/v1/users/me");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTools.parseToken(token)).thenReturn(claims);
+        when(tokenRevocationService.isRevoked(claims)).thenReturn(true);
+
+        // When
+        jwtControl.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(loginService);
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
+
+    @Test
+    void testDoFilterInternal_StatelessMode_UnknownRole_NotAuthenticated() throws ServletException, IOException {
+        // Given
+        ReflectionTestUtils.setField(jwtControl, "stateless", true);
+        String token = "bad-role.jwt.token";
+        TokenClaims claims = new TokenClaims("user-123", "test@example.com", "ADMIN", Instant.now(), Instant.now().plusSeconds(3600));
+
+        when(request.getRequestURI()).thenReturn("/api/v1/users/me");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTools.parseToken(token)).thenReturn(claims);
+
+        // When
+        jwtControl.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
+}
@@ -2,14 +2,18 @@ package com.cgl.userservice.utils;
 
 import com.cgl.userservice.data.entities.User;
 import com.cgl.userservice.data.enums.Role;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
 import java.util.Collection;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JwtToolsTest {
 
@@ -121,6 +125,67 @@ class JwtToolsTest {
         assertThat(isValid).isFalse();
     }
 
+    // ==================== TESTS FOR CLAIMS CACHE ====================
+
+    @Test
+    void testParseToken_ReturnsAllClaims() {
+        // Given
+        String token = jwtTools.generateToken(testUser);
+
+        // When
+        TokenClaims claims = jwtTools.parseToken(token);
+
+        // Then
+        assertThat(claims.userId()).isEqualTo("user123");
+        assertThat(claims.email()).isEqualTo("test@example.com");
+        assertThat(claims.role()).isEqualTo("CLIENT");
+        assertThat(claims.expiresAt()).isAfter(Instant.now());
+    }
+
+    @Test
+    void testParseToken_SameToken_ServedFromCache() {
+        // Given
+        String token = jwtTools.generateToken(testUser);
+
+        // When
+        TokenClaims first = jwtTools.parseToken(token);
+        TokenClaims second = jwtTools.parseToken(token);
+
+        // Then - The second call returns the cached instance instead of parsing again
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void testParseToken_TamperedToken_Rejected() {
+        // Given
+        String token = jwtTools.generateToken(testUser);
+        jwtTools.parseToken(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When & Then - A cached token never validates a different one
+        assertThatThrownBy(() -> jwtTools.parseToken(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void testParseToken_ExpiredToken_Rejected() {
+        // Given
+        ReflectionTestUtils.setField(jwtTools, "expiration", -60000L);
+        String token = jwtTools.generateToken(testUser);
+
+        // When & Then
+        assertThatThrownBy(() -> jwtTools.parseToken(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void testValidateToken_WithClaims() {
+        // Given
+        TokenClaims claims = jwtTools.parseToken(jwtTools.generateToken(testUser));
+
+        // When & Then
+        assertThat(jwtTools.validateToken(claims, testUser)).isTrue();
+        assertThat(jwtTools.extractAuthorities(claims)).extracting(GrantedAuthority::getAuthority).containsExactly("CLIENT");
+    }
+
     // ==================== TESTS FOR SIGNING KEY CONDITIONS ====================
 
     @Test
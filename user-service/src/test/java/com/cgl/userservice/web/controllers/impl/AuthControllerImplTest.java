@@ -2,6 +2,7 @@ package com.cgl.userservice.web.controllers.impl;
 
 import com.cgl.userservice.data.entities.User;
 import com.cgl.userservice.data.enums.Role;
+import com.cgl.userservice.exception.PasswordHashingRejectedException;
 import com.cgl.userservice.services.UserService;
 import com.cgl.userservice.utils.JwtTools;
 import com.cgl.userservice.web.dto.RequestDto;
@@ -161,6 +162,39 @@ class AuthControllerImplTest {
                 .hasMessageContaining("Incorrect password");
     }
 
+    @Test
+    void testLogin_OutdatedHash_UpgradesPasswordHash() {
+        // Given
+        when(userService.getByEmail("test@example.com")).thenReturn(testUser);
+        when(passwordEncoder.matches("plainPassword", "$2a$10$encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$encodedPassword")).thenReturn(true);
+        when(jwtTools.generateToken(testUser)).thenReturn("jwt.token.here");
+
+        // When
+        ResponseEntity<ResponseDto> response = authController.login(loginRequest);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(userService, times(1)).upgradePasswordHash(testUser, "plainPassword");
+    }
+
+    @Test
+    void testLogin_UpgradeRejected_StillLogsIn() {
+        // Given
+        when(userService.getByEmail("test@example.com")).thenReturn(testUser);
+        when(passwordEncoder.matches("plainPassword", "$2a$10$encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$encodedPassword")).thenReturn(true);
+        when(userService.upgradePasswordHash(testUser, "plainPassword")).thenThrow(new PasswordHashingRejectedException());
+        when(jwtTools.generateToken(testUser)).thenReturn("jwt.token.here");
+
+        // When
+        ResponseEntity<ResponseDto> response = authController.login(loginRequest);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getToken()).isEqualTo("jwt.token.here");
+    }
+
     // ==================== REGISTER TESTS ====================
 
     @Test
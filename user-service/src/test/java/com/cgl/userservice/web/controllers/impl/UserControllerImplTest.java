@@ -7,6 +7,7 @@ import com.cgl.userservice.web.dto.ChangePasswordRequest;
 import com.cgl.userservice.web.dto.UserDto;
 import com.cgl.userservice.web.dto.UserOneResponse;
 import com.example.common.services.S3Service;
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,6 +23,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -60,6 +63,37 @@ class UserControllerImplTest {
         testUserList.add(testUser);
     }
 
+    // ==================== getUsersByIds() TESTS ====================
+
+    @Test
+    void testGetUsersByIds_ReturnsFoundUsersKeyedById() {
+        // Given
+        when(userService.getByIds(Set.of("user-123", "missing"))).thenReturn(Map.of("user-123", testUser));
+
+        // When
+        ResponseEntity<Map<String, Object>> response = userController.getUsersByIds(List.of("user-123", "missing"));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().get("users")).asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsOnlyKeys("user-123");
+    }
+
+    @Test
+    void testGetUsersByIds_TooManyIds_ReturnsBadRequest() {
+        // Given
+        List<String> ids = IntStream.rangeClosed(0, UserControllerImpl.MAX_BATCH_SIZE)
+                .mapToObj(String::valueOf)
+                .toList();
+
+        // When
+        ResponseEntity<Map<String, Object>> response = userController.getUsersByIds(ids);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(userService);
+    }
+
     // ==================== getAllUsers() TESTS ====================
 
     @Test